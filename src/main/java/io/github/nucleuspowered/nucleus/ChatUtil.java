@@ -5,9 +5,12 @@
 package io.github.nucleuspowered.nucleus;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
@@ -33,20 +36,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
+
 public class ChatUtil {
 
     private final Map<String, BiFunction<CommandSource, String, Text>> tokens;
     private final Map<String, BiFunction<CommandSource, String, Text>> serverTokens;
 
-    private final Pattern playerAndServerTokenMatcher;
-    private final Pattern playerAndServerTokenSplitter;
+    private final Map<String, BiFunction<CommandSource, String, Text>> playerAndServerTokens;
+
+    private final TemplateCache playerAndServerTemplates;
+    private final TemplateCache serverTemplates;
 
-    private final Pattern serverTokenMatcher;
-    private final Pattern serverTokenSplitter;
+    // Caches for templates that use custom tokens, keyed on the token names they were parsed with.
+    private final Map<Set<String>, TemplateCache> customTemplates = new ConcurrentHashMap<>();
 
     private final NucleusPlugin plugin;
     private final Pattern urlParser =
@@ -61,19 +70,24 @@ public class ChatUtil {
         tokens = createTokens();
         serverTokens = createServerTokens();
 
-        Set<String> t = Sets.newHashSet(tokens.keySet());
-        t.addAll(serverTokens.keySet());
-        String m = getRegex(t);
-        playerAndServerTokenMatcher = Pattern.compile(m, Pattern.CASE_INSENSITIVE);
-        playerAndServerTokenSplitter = Pattern.compile(MessageFormat.format("(?<={0})|(?={0})", m), Pattern.CASE_INSENSITIVE);
+        playerAndServerTokens = Maps.newHashMap(tokens);
+        playerAndServerTokens.putAll(serverTokens);
 
-        m = getRegex(serverTokens.keySet());
-        serverTokenMatcher = Pattern.compile(m, Pattern.CASE_INSENSITIVE);
-        serverTokenSplitter = Pattern.compile(MessageFormat.format("(?<={0})|(?={0})", m), Pattern.CASE_INSENSITIVE);
+        playerAndServerTemplates = new TemplateCache(playerAndServerTokens.keySet());
+        serverTemplates = new TemplateCache(serverTokens.keySet());
 
         this.plugin = plugin;
     }
 
+    /**
+     * Clears all parsed templates, so they are parsed again from the configuration on next use.
+     */
+    public void clearTemplateCache() {
+        playerAndServerTemplates.cache.invalidateAll();
+        serverTemplates.cache.invalidateAll();
+        customTemplates.clear();
+    }
+
     private String getRegex(Set<String> keys) {
         StringBuilder sb = new StringBuilder("(");
         keys.forEach(k -> sb.append(k.replaceAll("\\{\\{", "\\\\{\\\\{").replaceAll("\\}\\}", "\\\\}\\\\}")).append("|"));
@@ -84,6 +98,11 @@ public class ChatUtil {
     public final Text getMessageFromTokens(String template, CommandSource cs, boolean trimTrailingSpace,
                                            boolean includePlayer, boolean includeServer, Map<String, BiFunction<CommandSource, String, Text>>... customTokens) {
 
+        // Nothing to merge, so use the tokens as they are.
+        if (!includePlayer && !includeServer && customTokens.length == 1) {
+            return getCustomTemplateCache(customTokens[0]).get(template).render(cs, trimTrailingSpace, customTokens[0]);
+        }
+
         Map<String, BiFunction<CommandSource, String, Text>> map = Maps.newHashMap();
         if (includePlayer) {
             map.putAll(tokens);
@@ -97,79 +116,32 @@ public class ChatUtil {
             map.putAll(customToken);
         }
 
-        String m = getRegex(map.keySet());
-        return getMessageFromTemplate(template, cs, trimTrailingSpace,
-                Pattern.compile(MessageFormat.format("(?<={0})|(?={0})", m), Pattern.CASE_INSENSITIVE),
-                Pattern.compile(m, Pattern.CASE_INSENSITIVE), map);
+        return getCustomTemplateCache(map).get(template).render(cs, trimTrailingSpace, map);
+    }
+
+    private TemplateCache getCustomTemplateCache(Map<String, BiFunction<CommandSource, String, Text>> map) {
+        TemplateCache cache = customTemplates.get(map.keySet());
+        if (cache == null) {
+            cache = customTemplates.computeIfAbsent(ImmutableSet.copyOf(map.keySet()), TemplateCache::new);
+        }
+
+        return cache;
     }
 
     // String -> Text parser. Should split on all {{}} tags, but keep the tags in. We can then use the target map
     // to do the replacements!
     public Text getPlayerMessageFromTemplate(String template, CommandSource cs, boolean trimTrailingSpace) {
-        return getMessageFromTemplate(template, cs, trimTrailingSpace, playerAndServerTokenSplitter, playerAndServerTokenMatcher, tokens, serverTokens);
+        return playerAndServerTemplates.get(template).render(cs, trimTrailingSpace, playerAndServerTokens);
     }
 
     public List<Text> getPlayerMessageFromTemplate(List<String> template, CommandSource cs, boolean trimTrailingSpace) {
-        return getMessageFromTemplate(template, cs, trimTrailingSpace, playerAndServerTokenSplitter, playerAndServerTokenMatcher, tokens, serverTokens);
+        List<Text> texts = Lists.newArrayList();
+        template.forEach(x -> texts.add(getPlayerMessageFromTemplate(x, cs, trimTrailingSpace)));
+        return texts;
     }
 
     public Text getServerMessageFromTemplate(String template, CommandSource cs, boolean trimTrailingSpace) {
-        return getMessageFromTemplate(template, cs, trimTrailingSpace, serverTokenSplitter, serverTokenMatcher, serverTokens);
-    }
-
-    @SafeVarargs
-    private final Text getMessageFromTemplate(String template, CommandSource cs, boolean trimTrailingSpace,
-        Pattern splitter, Pattern matcher, Map<String, BiFunction<CommandSource, String, Text>>... tokensArray) {
-        return getMessageFromTemplate(Lists.newArrayList(template), cs, trimTrailingSpace, splitter, matcher, tokensArray).get(0);
-    }
-
-    @SafeVarargs
-    private final List<Text> getMessageFromTemplate(List<String> templates, CommandSource cs, final boolean trimTrailingSpace,
-                                              Pattern splitter, Pattern matcher, Map<String, BiFunction<CommandSource, String, Text>>... tokensArray) {
-        Map<String, BiFunction<CommandSource, String, Text>> tokens = Maps.newHashMap();
-        for (Map<String, BiFunction<CommandSource, String, Text>> stringFunctionMap : tokensArray) {
-            tokens.putAll(stringFunctionMap);
-        }
-
-        List<Text> texts = Lists.newArrayList();
-        templates.forEach(template -> {
-            StyleTuple st = new StyleTuple(TextColors.WHITE, TextStyles.NONE);
-            boolean trimNext = trimTrailingSpace;
-
-            Text.Builder tb = Text.builder();
-            for (String textElement : splitter.split(template)) {
-                if (matcher.matcher(textElement).matches()) {
-
-                    // Bit hacky, but it allows the rest of the token system to work. If we get something beginning with
-                    // {{o: then we get the specific function out.
-                    String elementToUse = textElement.toLowerCase().startsWith("{{o:") ? this.customPrefixPatten : textElement.toLowerCase();
-
-                    // If we have a token, do the replacement as specified by the function
-                    Text message = Text.builder().color(st.colour).style(st.style)
-                        .append(tokens.get(elementToUse).apply(cs, textElement)).build();
-                    if (!message.isEmpty()) {
-                        trimNext = false;
-                        tb.append(message);
-                    }
-                } else {
-                    if (trimNext) {
-                        textElement = textElement.replaceAll("^\\s+", "");
-                    }
-
-                    if (!textElement.isEmpty()) {
-                        // Just convert the colour codes, but that's it.
-                        Text r = TextSerializers.FORMATTING_CODE.deserialize(textElement);
-                        tb.append(Text.of(st.colour, st.style, r));
-                        st = getLastColourAndStyle(r, st);
-                        trimNext = false;
-                    }
-                }
-            }
-
-            texts.add(tb.build());
-        });
-
-        return texts;
+        return serverTemplates.get(template).render(cs, trimTrailingSpace, serverTokens);
     }
 
     public Text addUrlsToText(Text message) {
@@ -417,6 +389,112 @@ public class ChatUtil {
         }
     }
 
+    /**
+     * Parses and holds templates for a specific set of tokens.
+     */
+    private final class TemplateCache {
+
+        private final Pattern matcher;
+        private final Pattern splitter;
+        private final Cache<String, CompiledTemplate> cache = CacheBuilder.newBuilder().maximumSize(1000).build();
+
+        private TemplateCache(Set<String> tokenKeys) {
+            String m = getRegex(tokenKeys);
+            matcher = Pattern.compile(m, Pattern.CASE_INSENSITIVE);
+            splitter = Pattern.compile(MessageFormat.format("(?<={0})|(?={0})", m), Pattern.CASE_INSENSITIVE);
+        }
+
+        private CompiledTemplate get(String template) {
+            try {
+                return cache.get(template, () -> new CompiledTemplate(template, splitter, matcher));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * A template that has been split into its literal text and tokens. As the literal text does not depend on the
+     * tokens, it is deserialised and styled once, so rendering only needs to evaluate the tokens.
+     */
+    private final class CompiledTemplate {
+
+        private final List<Segment> segments;
+
+        private CompiledTemplate(String template, Pattern splitter, Pattern matcher) {
+            ImmutableList.Builder<Segment> builder = ImmutableList.builder();
+            StyleTuple st = new StyleTuple(TextColors.WHITE, TextStyles.NONE);
+            for (String textElement : splitter.split(template)) {
+                if (matcher.matcher(textElement).matches()) {
+
+                    // Bit hacky, but it allows the rest of the token system to work. If we get something beginning with
+                    // {{o: then we get the specific function out.
+                    String elementToUse = textElement.toLowerCase().startsWith("{{o:") ? customPrefixPatten : textElement.toLowerCase();
+                    builder.add(new Segment(elementToUse, textElement, st, null, null));
+                } else if (!textElement.isEmpty()) {
+                    // Just convert the colour codes, but that's it.
+                    Text r = TextSerializers.FORMATTING_CODE.deserialize(textElement);
+                    Text text = Text.of(st.colour, st.style, r);
+
+                    // Used if the previous tokens were empty and we're trimming.
+                    String trimmedElement = textElement.replaceAll("^\\s+", "");
+                    Text trimmed = null;
+                    if (!trimmedElement.isEmpty()) {
+                        trimmed = trimmedElement.length() == textElement.length() ? text :
+                                Text.of(st.colour, st.style, TextSerializers.FORMATTING_CODE.deserialize(trimmedElement));
+                    }
+
+                    builder.add(new Segment(null, textElement, st, text, trimmed));
+                    st = getLastColourAndStyle(r, st);
+                }
+            }
+
+            segments = builder.build();
+        }
+
+        private Text render(CommandSource cs, boolean trimTrailingSpace, Map<String, BiFunction<CommandSource, String, Text>> tokens) {
+            boolean trimNext = trimTrailingSpace;
+            Text.Builder tb = Text.builder();
+            for (Segment segment : segments) {
+                if (segment.token != null) {
+                    // If we have a token, do the replacement as specified by the function
+                    Text message = Text.builder().color(segment.style.colour).style(segment.style.style)
+                            .append(tokens.get(segment.token).apply(cs, segment.raw)).build();
+                    if (!message.isEmpty()) {
+                        trimNext = false;
+                        tb.append(message);
+                    }
+                } else {
+                    Text text = trimNext ? segment.trimmed : segment.text;
+                    if (text != null) {
+                        tb.append(text);
+                        trimNext = false;
+                    }
+                }
+            }
+
+            return tb.build();
+        }
+    }
+
+    private static final class Segment {
+
+        // The token key, or null if this is literal text.
+        @Nullable private final String token;
+        private final String raw;
+        private final StyleTuple style;
+        @Nullable private final Text text;
+        @Nullable private final Text trimmed;
+
+        private Segment(@Nullable String token, String raw, StyleTuple style, @Nullable Text text, @Nullable Text trimmed) {
+            this.token = token;
+            this.raw = raw;
+            this.style = style;
+            this.text = text;
+            this.trimmed = trimmed;
+        }
+    }
+
     public static final class StyleTuple {
         public final TextColor colour;
         public final TextStyle style;
@@ -12,6 +12,8 @@ import io.github.nucleuspowered.nucleus.internal.EconHelper;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import org.slf4j.Logger;
 import uk.co.drnaylor.quickstart.modulecontainers.DiscoveryModuleContainer;
@@ -50,6 +52,10 @@ public abstract class Nucleus {
 
     public abstract PermissionRegistry getPermissionRegistry();
 
+    public abstract Profiler getProfiler();
+
+    public abstract NameIndex getNameIndex();
+
     public abstract DiscoveryModuleContainer getModuleContainer();
 
     public abstract InternalServiceManager getInternalServiceManager();
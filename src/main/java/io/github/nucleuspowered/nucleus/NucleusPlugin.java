@@ -10,6 +10,7 @@ import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Key;
+import io.github.nucleuspowered.nucleus.api.service.NucleusCooldownService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusModuleService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusUserLoaderService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
@@ -17,6 +18,7 @@ import io.github.nucleuspowered.nucleus.api.service.NucleusWorldLoaderService;
 import io.github.nucleuspowered.nucleus.config.CommandsConfig;
 import io.github.nucleuspowered.nucleus.config.MessageConfig;
 import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
+import io.github.nucleuspowered.nucleus.dataservices.DataSaveQueue;
 import io.github.nucleuspowered.nucleus.dataservices.GeneralService;
 import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
@@ -34,15 +36,23 @@ import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.internal.qsml.ModuleRegistrationProxyService;
+import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusLoggerProxy;
 import io.github.nucleuspowered.nucleus.internal.qsml.QuickStartModuleConstructor;
 import io.github.nucleuspowered.nucleus.internal.qsml.event.BaseModuleEvent;
+import io.github.nucleuspowered.nucleus.internal.qsml.module.ModuleClassIndex;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownManager;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerSpatialIndex;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.core.events.NucleusReloadConfigEvent;
 import io.github.nucleuspowered.nucleus.util.ThrowableAction;
 import ninja.leaping.configurate.hocon.HoconConfigurationLoader;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import org.slf4j.Logger;
 import org.spongepowered.api.Game;
 import org.spongepowered.api.Sponge;
@@ -56,6 +66,7 @@ import org.spongepowered.api.event.game.state.GameStoppedServerEvent;
 import org.spongepowered.api.plugin.Plugin;
 import org.spongepowered.api.service.permission.PermissionDescription;
 import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.user.UserStorageService;
 import uk.co.drnaylor.quickstart.enums.ConstructionPhase;
 import uk.co.drnaylor.quickstart.exceptions.IncorrectAdapterTypeException;
 import uk.co.drnaylor.quickstart.exceptions.NoModuleException;
@@ -71,6 +82,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static io.github.nucleuspowered.nucleus.PluginInfo.*;
 
@@ -85,11 +97,14 @@ public class NucleusPlugin extends Nucleus {
     private ItemDataService itemDataService;
     private UserDataManager userDataManager;
     private WorldDataManager worldDataManager;
+    private DataSaveQueue dataSaveQueue;
+    private DataProviders dataProviders;
     private ChatUtil chatUtil;
     private NameUtil nameUtil;
     private Injector injector;
     private SubInjectorModule subInjectorModule = new SubInjectorModule();
     private List<ThrowableAction<? extends Exception>> reloadableList = Lists.newArrayList();
+    private final List<NucleusConfigAdapter<?>> configAdapters = Lists.newArrayList();
     private DocGenCache docGenCache = null;
 
     private InternalServiceManager serviceManager = new InternalServiceManager(this);
@@ -97,10 +112,14 @@ public class NucleusPlugin extends Nucleus {
     private MessageProvider commandMessageProvider = new ResourceMessageProvider(ResourceMessageProvider.commandMessagesBundle);
 
     private WarmupManager warmupManager;
+    private CooldownManager cooldownManager;
     private EconHelper econHelper = new EconHelper(this);
     private PermissionRegistry permissionRegistry = new PermissionRegistry();
+    private final Profiler profiler = new Profiler();
+    private final NameIndex nameIndex = new NameIndex();
 
     private DiscoveryModuleContainer moduleContainer;
+    private ModuleClassIndex moduleClassIndex;
 
     private final Map<String, TextFileController> textFileControllers = Maps.newHashMap();
 
@@ -127,13 +146,17 @@ public class NucleusPlugin extends Nucleus {
             Files.createDirectories(dataDir);
             commandsConfig = new CommandsConfig(Paths.get(configDir.toString(), "commands.conf"));
 
-            DataProviders d = new DataProviders(this);
-            generalService = new GeneralService(d.getGeneralDataProvider());
-            userDataManager = new UserDataManager(this, d::getUserFileDataProviders);
-            worldDataManager = new WorldDataManager(this, d::getWorldFileDataProvider);
-            itemDataService = new ItemDataService(d.getItemDataProvider());
+            dataProviders = new DataProviders(this);
+            generalService = new GeneralService(dataProviders.getGeneralDataProvider());
+            userDataManager = new UserDataManager(this, dataProviders::getUserFileDataProviders);
+            worldDataManager = new WorldDataManager(this, dataProviders::getWorldFileDataProvider);
+            itemDataService = new ItemDataService(dataProviders.getItemDataProvider());
+            dataSaveQueue = new DataSaveQueue(logger, 1024);
             warmupManager = new WarmupManager();
+            cooldownManager = new CooldownManager(this);
+            registerReloadable(cooldownManager::onReload);
             chatUtil = new ChatUtil(this);
+            registerReloadable(chatUtil::clearTemplateCache);
             nameUtil = new NameUtil(this);
         } catch (Exception e) {
             isErrored = true;
@@ -144,8 +167,12 @@ public class NucleusPlugin extends Nucleus {
         // We register the ModuleService NOW so that others can hook into it.
         game.getServiceManager().setProvider(this, NucleusModuleService.class, new ModuleRegistrationProxyService(this));
         game.getServiceManager().setProvider(this, NucleusWarmupManagerService.class, warmupManager);
+        game.getServiceManager().setProvider(this, NucleusCooldownService.class, cooldownManager);
         this.injector = Guice.createInjector(new QuickStartInjectorModule(this));
         serviceManager.registerService(WarmupManager.class, warmupManager);
+        serviceManager.registerService(CooldownManager.class, cooldownManager);
+        serviceManager.registerService(ExpiryScheduler.class, new ExpiryScheduler());
+        serviceManager.registerService(PlayerSpatialIndex.class, new PlayerSpatialIndex());
 
         try {
             HoconConfigurationLoader.Builder builder = HoconConfigurationLoader.builder();
@@ -195,10 +222,12 @@ public class NucleusPlugin extends Nucleus {
             return;
         }
 
+        long moduleLoadStart = System.nanoTime();
         try {
             Sponge.getEventManager().post(new BaseModuleEvent.AboutToConstructEvent(this));
             logger.info(messageProvider.getMessageWithFormat("startup.moduleloading", PluginInfo.NAME));
             moduleContainer.loadModules(false);
+            moduleClassIndex = null;
         } catch (QuickStartModuleLoaderException.Construction | QuickStartModuleLoaderException.Enabling construction) {
             logger.info(messageProvider.getMessageWithFormat("startup.modulenotloaded", PluginInfo.NAME));
             construction.printStackTrace();
@@ -206,7 +235,17 @@ public class NucleusPlugin extends Nucleus {
             return;
         }
 
-        logger.info(messageProvider.getMessageWithFormat("startup.moduleloaded", PluginInfo.NAME));
+        // Every module has merged the defaults for its commands, so write them all at once.
+        try {
+            commandsConfig.save();
+        } catch (IOException | ObjectMappingException e) {
+            logger.error("Could not save defaults.");
+            e.printStackTrace();
+        }
+
+        logger.info(messageProvider.getMessageWithFormat("startup.moduleloaded", PluginInfo.NAME,
+                String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - moduleLoadStart))));
+        refreshConfigSnapshots();
         registerPermissions();
         modulesLoaded = true;
         Sponge.getEventManager().post(new BaseModuleEvent.Complete(this));
@@ -221,6 +260,15 @@ public class NucleusPlugin extends Nucleus {
     public void onGameStarted(GameStartedServerEvent event) {
         if (!isErrored) {
             Sponge.getScheduler().createSyncExecutor(this).submit(() -> this.gameStartedTime = Instant.now());
+
+            // Reading every profile can take a while on an old server, so build the name index off the main thread.
+            // Players who join in the meantime are added by the core module.
+            Sponge.getScheduler().createAsyncExecutor(this).submit(() -> {
+                Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
+                        .forEach(x -> x.getName().ifPresent(y -> nameIndex.addNameIfAbsent(x.getUniqueId(), y)));
+                nameIndex.setReady();
+                logger.info(messageProvider.getMessageWithFormat("startup.nameindex", String.valueOf(nameIndex.size())));
+            });
         }
     }
 
@@ -229,7 +277,11 @@ public class NucleusPlugin extends Nucleus {
         if (!isErrored) {
             this.gameStartedTime = null;
             logger.info(messageProvider.getMessageWithFormat("startup.stopped", PluginInfo.NAME));
+
+            // Let anything already queued finish, then write everything on this thread.
+            dataSaveQueue.drain(30, TimeUnit.SECONDS);
             saveData();
+            dataProviders.close();
         }
     }
 
@@ -244,6 +296,24 @@ public class NucleusPlugin extends Nucleus {
         }
     }
 
+    /**
+     * Queues any data that has changed since it was last saved to be written off the main thread. This must be called
+     * on the main thread, as the data is serialised here.
+     */
+    public void queueDirtyData() {
+        userDataManager.queueDirty(dataSaveQueue);
+        worldDataManager.queueDirty(dataSaveQueue);
+        dataSaveQueue.offer(generalService);
+    }
+
+    public DataProviders getDataProviders() {
+        return dataProviders;
+    }
+
+    public DataSaveQueue getDataSaveQueue() {
+        return dataSaveQueue;
+    }
+
     public Injector getInjector() {
         return injector;
     }
@@ -289,6 +359,7 @@ public class NucleusPlugin extends Nucleus {
     public void reload() {
         try {
             moduleContainer.reloadSystemConfig();
+            refreshConfigSnapshots();
             reloadMessages();
             commandsConfig.load();
             itemDataService.load();
@@ -338,6 +409,16 @@ public class NucleusPlugin extends Nucleus {
         return permissionRegistry;
     }
 
+    @Override
+    public Profiler getProfiler() {
+        return profiler;
+    }
+
+    @Override
+    public NameIndex getNameIndex() {
+        return nameIndex;
+    }
+
     @Override
     public DiscoveryModuleContainer getModuleContainer() {
         return moduleContainer;
@@ -410,6 +491,37 @@ public class NucleusPlugin extends Nucleus {
         reloadableList.add(reloadable);
     }
 
+    /**
+     * Gets the commands, listeners and tasks of the modules, sorted by package. Only available while modules are
+     * loading.
+     *
+     * @return The {@link ModuleClassIndex}.
+     */
+    public ModuleClassIndex getModuleClassIndex() {
+        if (moduleClassIndex == null) {
+            try {
+                moduleClassIndex = ModuleClassIndex.fromIndexFile(getClass().getClassLoader()).orElse(null);
+            } catch (IOException | ClassNotFoundException e) {
+                logger.warn(messageProvider.getMessageWithFormat("startup.moduleindexfailed", e.getMessage()));
+            }
+
+            if (moduleClassIndex == null) {
+                moduleClassIndex = new ModuleClassIndex(moduleContainer.getLoadedClasses());
+            }
+        }
+
+        return moduleClassIndex;
+    }
+
+    public void registerConfigAdapter(NucleusConfigAdapter<?> adapter) {
+        configAdapters.add(adapter);
+    }
+
+    private void refreshConfigSnapshots() {
+        // Before anything else reloads, so that everything sees the new config.
+        configAdapters.forEach(NucleusConfigAdapter::refreshSnapshot);
+    }
+
     public Optional<DocGenCache> getDocGenCache() {
         return Optional.ofNullable(docGenCache);
     }
@@ -19,7 +19,8 @@ import java.util.stream.Collectors;
  */
 public interface Kit {
     /**
-     * Gets the stacks that would be given out by this kit.
+     * Gets the stacks that would be given out by this kit. Changing the returned list does not change the kit, use
+     * {@link #setStacks(List)} to do that.
      *
      * @return The {@link List} of {@link ItemStackSnapshot}s.
      */
@@ -30,11 +30,11 @@ public final class BetweenInstantsData {
     }
 
     public Optional<Instant> from() {
-        return Optional.ofNullable(Instant.ofEpochSecond(from));
+        return from == null ? Optional.empty() : Optional.of(Instant.ofEpochSecond(from));
     }
 
     public Optional<Instant> to() {
-        return Optional.ofNullable(Instant.ofEpochSecond(to));
+        return to == null ? Optional.empty() : Optional.of(Instant.ofEpochSecond(to));
     }
 
     public Optional<Duration> duration() {
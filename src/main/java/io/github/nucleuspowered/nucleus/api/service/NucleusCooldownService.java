@@ -0,0 +1,48 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.api.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Manages cooldowns, such as those applied to commands.
+ *
+ * <p>
+ *     Cooldowns are identified by the player they apply to, and an identifier for the action that is cooling
+ *     down. Nucleus commands use the command path, such as <code>home</code> or <code>nucleus.reload</code>. This service is
+ *     thread safe.
+ * </p>
+ */
+public interface NucleusCooldownService {
+
+    /**
+     * Gets the time remaining on a cooldown.
+     *
+     * @param player The {@link UUID} of the player.
+     * @param id The identifier of the cooldown.
+     * @return The remaining {@link Duration}, or {@link Optional#empty()} if the player is not cooling down.
+     */
+    Optional<Duration> getCooldown(UUID player, String id);
+
+    /**
+     * Starts a cooldown, replacing any existing cooldown with the same identifier.
+     *
+     * @param player The {@link UUID} of the player.
+     * @param id The identifier of the cooldown.
+     * @param duration The length of the cooldown.
+     */
+    void setCooldown(UUID player, String id, Duration duration);
+
+    /**
+     * Removes a cooldown.
+     *
+     * @param player The {@link UUID} of the player.
+     * @param id The identifier of the cooldown.
+     * @return <code>true</code> if the player was cooling down.
+     */
+    boolean removeCooldown(UUID player, String id);
+}
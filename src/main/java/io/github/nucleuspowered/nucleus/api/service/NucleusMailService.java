@@ -28,6 +28,32 @@ public interface NucleusMailService {
      */
     List<MailData> getMail(User player, MailFilter... filters);
 
+    /**
+     * Gets a page of mail for a specific player, optionally including a list of filters. The mail is ordered
+     * from oldest to newest.
+     *
+     * <p>
+     *     Only the requested mail is copied, so this should be preferred over {@link #getMail(User, MailFilter...)}
+     *     for players who may have a lot of mail.
+     * </p>
+     *
+     * @param player The {@link User} of the player to get the mail of.
+     * @param offset The number of matching mail to skip.
+     * @param limit The maximum number of mail to return.
+     * @param filters The {@link MailFilter}s
+     * @return A list of mail.
+     */
+    List<MailData> getMail(User player, int offset, int limit, MailFilter... filters);
+
+    /**
+     * Gets the number of mail a specific player has, optionally including a list of filters.
+     *
+     * @param player The {@link User} of the player to count the mail of.
+     * @param filters The {@link MailFilter}s
+     * @return The number of mail.
+     */
+    int getMailCount(User player, MailFilter... filters);
+
     /**
      * Removes a specific mail for a specific player.
      *
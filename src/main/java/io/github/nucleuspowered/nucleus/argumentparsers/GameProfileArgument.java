@@ -4,20 +4,22 @@
  */
 package io.github.nucleuspowered.nucleus.argumentparsers;
 
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
 import org.spongepowered.api.command.args.CommandArgs;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.text.Text;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -37,9 +39,14 @@ public class GameProfileArgument extends CommandElement {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.gameprofile.format"));
         }
 
-        List<GameProfile> lgp = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
-                .stream().filter(x -> x.getName().isPresent() && x.getName().get().equalsIgnoreCase(name))
-                .collect(Collectors.toList());
+        UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
+        NameIndex nameIndex = Nucleus.getNucleus().getNameIndex();
+        List<GameProfile> lgp = nameIndex.getNamesExactly(name).stream().map(x -> uss.get(x.getUniqueId())).filter(Optional::isPresent)
+                .map(x -> x.get().getProfile()).collect(Collectors.toList());
+        if (lgp.isEmpty() && !nameIndex.isReady()) {
+            // The index is still being built, so ask for the name directly.
+            uss.get(name).map(User::getProfile).ifPresent(lgp::add);
+        }
 
         if (lgp.isEmpty()) {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.gameprofile.none", name));
@@ -54,6 +61,14 @@ public class GameProfileArgument extends CommandElement {
 
     @Override
     public List<String> complete(CommandSource src, CommandArgs args, CommandContext context) {
-        return Lists.newArrayList();
+        String name;
+        try {
+            name = args.peek();
+        } catch (ArgumentParseException e) {
+            name = "";
+        }
+
+        return Nucleus.getNucleus().getNameIndex().getNames(name, NameIndex.COMPLETION_LIMIT).stream().map(NameIndex.Entry::getName)
+                .collect(Collectors.toList());
     }
 }
@@ -7,8 +7,8 @@ package io.github.nucleuspowered.nucleus.argumentparsers;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.dataservices.UserService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
 import io.github.nucleuspowered.nucleus.util.ThrownBiFunction;
 import io.github.nucleuspowered.nucleus.util.TriFunction;
 import org.spongepowered.api.Sponge;
@@ -20,12 +20,10 @@ import org.spongepowered.api.command.args.CommandElement;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.text.Text;
-import org.spongepowered.api.text.serializer.TextSerializers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -33,6 +31,7 @@ import java.util.stream.Collectors;
 public class NicknameArgument extends CommandElement {
 
     private final UserDataManager userDataManager;
+    private final NameIndex nameIndex;
     private final ThrownBiFunction<String, CommandArgs, List<?>, ArgumentParseException> parser;
     private final TriFunction<String, CommandArgs, CommandContext, List<String>> completer;
     private final boolean onlyOne;
@@ -48,15 +47,13 @@ public class NicknameArgument extends CommandElement {
         Preconditions.checkNotNull(userDataManager);
         this.onlyOne = onlyOne;
         this.userDataManager = userDataManager;
+        this.nameIndex = Nucleus.getNucleus().getNameIndex();
         this.type = type;
 
         if (type == UnderlyingType.USER) {
-            parser = new UserParser(onlyOne, () -> Sponge.getServiceManager().provideUnchecked(UserStorageService.class));
-            completer = (s, a, c) -> Sponge.getServiceManager().provideUnchecked(UserStorageService.class)
-                    .getAll()
-                    .stream()
-                    .filter(x -> x.getName().isPresent() && x.getName().get().toLowerCase().startsWith(s))
-                    .map(x -> x.getName().get()).collect(Collectors.toList());
+            parser = new UserParser(onlyOne, () -> Sponge.getServiceManager().provideUnchecked(UserStorageService.class), nameIndex);
+            completer = (s, a, c) -> nameIndex.getNames(s, NameIndex.COMPLETION_LIMIT).stream()
+                    .map(NameIndex.Entry::getName).collect(Collectors.toList());
         } else {
             PlayerConsoleArgument pca = new PlayerConsoleArgument(key, type == UnderlyingType.PLAYER_CONSOLE);
             parser = pca::parseInternal;
@@ -89,18 +86,13 @@ public class NicknameArgument extends CommandElement {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.user.nouser", fName));
         }
 
-        // Now check user names
-        Map<String, UserService> allPlayers = userDataManager.getOnlineUsersInternal().stream()
-                .filter(x -> x.getUser().isOnline() && x.getNicknameAsString().isPresent())
-                .collect(Collectors.toMap(s -> TextSerializers.FORMATTING_CODE.stripCodes(s.getNicknameAsString().get().toLowerCase()), s -> s));
-        if (allPlayers.containsKey(fName.toLowerCase())) {
-            return Lists.newArrayList(allPlayers.get(fName.toLowerCase()).getUser());
+        // Now check nicknames, which are only indexed while the player is online.
+        List<User> exact = toPlayers(nameIndex.getNicknamesExactly(fName));
+        if (exact.size() == 1) {
+            return exact;
         }
 
-        List<User> players = allPlayers.entrySet().stream().filter(x -> x.getKey().toLowerCase().startsWith(fName))
-                .sorted((x, y) -> x.getKey().compareTo(y.getKey()))
-                .map(x -> x.getValue().getUser())
-                .collect(Collectors.toList());
+        List<User> players = toPlayers(nameIndex.getNicknames(fName, this.onlyOne ? 2 : NameIndex.COMPLETION_LIMIT));
 
         if (players.isEmpty()) {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat(type == UnderlyingType.PLAYER_CONSOLE ? "args.playerconsole.nouser" : "args.user.nouser", fName));
@@ -133,14 +125,17 @@ public class NicknameArgument extends CommandElement {
         if (playerOnly) {
             return original.stream().map(x -> "p:" + x).collect(Collectors.toList());
         } else {
-            original.addAll(userDataManager.getOnlineUsersInternal().stream()
-                    .filter(x -> x.getUser().isOnline() && x.getNicknameAsString().isPresent() &&
-                            TextSerializers.FORMATTING_CODE.stripCodes(x.getNicknameAsString().get()).toLowerCase().startsWith(fName))
-                    .map(x -> TextSerializers.FORMATTING_CODE.stripCodes(x.getNicknameAsString().get())).collect(Collectors.toList()));
+            original.addAll(nameIndex.getNicknames(fName, NameIndex.COMPLETION_LIMIT).stream().map(NameIndex.Entry::getName)
+                    .collect(Collectors.toList()));
             return original;
         }
     }
 
+    private static List<User> toPlayers(List<NameIndex.Entry> entries) {
+        return entries.stream().map(x -> Sponge.getServer().getPlayer(x.getUniqueId())).filter(Optional::isPresent).<User>map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
     public enum UnderlyingType {
         PLAYER,
         PLAYER_CONSOLE,
@@ -151,30 +146,31 @@ public class NicknameArgument extends CommandElement {
 
         private final boolean onlyOne;
         private final Supplier<UserStorageService> userStorageServiceSupplier;
+        private final NameIndex nameIndex;
 
-        public UserParser(boolean onlyOne, Supplier<UserStorageService> userStorageServiceSupplier) {
+        public UserParser(boolean onlyOne, Supplier<UserStorageService> userStorageServiceSupplier, NameIndex nameIndex) {
             this.onlyOne = onlyOne;
             this.userStorageServiceSupplier = userStorageServiceSupplier;
+            this.nameIndex = nameIndex;
         }
 
         @Override
         public List<?> accept(String s, CommandArgs a) throws ArgumentParseException {
             try {
                 UserStorageService uss = userStorageServiceSupplier.get();
-                List<User> users = uss.getAll().stream()
-                        // Get the players who start with the string.
-                        .filter(x -> x.getName().filter(y -> y.toLowerCase().startsWith(s.toLowerCase())).isPresent())
-                        .map(uss::get)
-                        // Remove players who have no user
-                        .filter(Optional::isPresent)
-                        .map(Optional::get)
-                        .collect(Collectors.toList());
+                List<User> exactUser = toUsers(uss, nameIndex.getNamesExactly(s));
+                if (exactUser.size() == 1) {
+                    return exactUser;
+                }
+
+                // Only two are needed to know that there are too many.
+                List<User> users = toUsers(uss, nameIndex.getNames(s, this.onlyOne ? 2 : NameIndex.COMPLETION_LIMIT));
+                if (users.isEmpty() && !nameIndex.isReady()) {
+                    // The index is still being built, so ask for the name directly.
+                    uss.get(s).ifPresent(users::add);
+                }
 
                 if (!users.isEmpty()) {
-                    List<User> exactUser = users.stream().filter(x -> x.getName().equalsIgnoreCase(s)).collect(Collectors.toList());
-                    if (exactUser.size() == 1) {
-                        return exactUser;
-                    }
 
                     if (users.size() > 1 && this.onlyOne) {
                         throw a.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.user.toomany", s));
@@ -191,5 +187,13 @@ public class NicknameArgument extends CommandElement {
 
             return Lists.newArrayList();
         }
+
+        private static List<User> toUsers(UserStorageService uss, List<NameIndex.Entry> entries) {
+            return entries.stream().map(x -> uss.get(x.getUniqueId()))
+                    // Remove players who have no user
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toList());
+        }
     }
 }
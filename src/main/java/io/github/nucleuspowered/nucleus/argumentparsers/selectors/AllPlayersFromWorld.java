@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.argumentparsers.selectors;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.internal.interfaces.SelectorParser;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerSpatialIndex;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
@@ -14,6 +15,7 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.world.World;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -42,6 +44,8 @@ public class AllPlayersFromWorld implements SelectorParser<Collection<Player>> {
 
         World spongeWorld = Sponge.getServer().getWorld(world).orElseThrow(() -> args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.selector.noworld", world)));
 
-        return Sponge.getServer().getOnlinePlayers().stream().filter(x -> x.getLocation().getExtent().getUniqueId().equals(spongeWorld.getUniqueId())).collect(Collectors.toList());
+        return Nucleus.getNucleus().getInternalServiceManager().getService(PlayerSpatialIndex.class).get()
+                .getPlayersInWorld(spongeWorld.getUniqueId()).stream()
+                .map(x -> Sponge.getServer().getPlayer(x)).filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
     }
 }
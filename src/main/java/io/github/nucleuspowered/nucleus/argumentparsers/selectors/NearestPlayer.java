@@ -5,23 +5,24 @@
 package io.github.nucleuspowered.nucleus.argumentparsers.selectors;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.internal.interfaces.SelectorParser;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerSpatialIndex;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
 import org.spongepowered.api.command.args.CommandArgs;
 import org.spongepowered.api.command.source.LocatedSource;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.util.Tuple;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 
-import java.util.Collection;
-import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
+
 /**
  * Obtains the nearest player to the locatable object.
  */
@@ -47,22 +48,25 @@ public class NearestPlayer implements SelectorParser<Player> {
         LocatedSource locatedSource = (LocatedSource)source;
 
         // We don't want the executing player.
-        List<Player> playerCollection = Lists.newArrayList(Sponge.getServer().getOnlinePlayers());
-        if (locatedSource instanceof Player) {
-            playerCollection.remove(locatedSource);
-        }
-
-        // Remove players "out of this world", then sort players by distance from current location.
-        return getNearestPlayerFromLocation(playerCollection, locatedSource.getLocation(), args);
+        UUID exclude = locatedSource instanceof Player ? ((Player) locatedSource).getUniqueId() : null;
+        return getNearestPlayerFromLocation(locatedSource.getLocation(), exclude, args);
     }
 
-    static Player getNearestPlayerFromLocation(Collection<Player> playerCollection, Location<World> locationInWorld, CommandArgs args) throws ArgumentParseException {
+    static Player getNearestPlayerFromLocation(Location<World> locationInWorld, @Nullable UUID exclude, CommandArgs args) throws ArgumentParseException {
         Vector3d currentLocation = locationInWorld.getPosition();
-        return playerCollection.parallelStream()
-                .filter(x -> x.getWorld().getUniqueId().equals(locationInWorld.getExtent().getUniqueId()))
-                .map(x -> new Tuple<>(x, x.getLocation().getPosition().distanceSquared(currentLocation)))
-                .min((x, y) -> x.getSecond().compareTo(y.getSecond()))
-                .orElseThrow(() -> args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.selector.notarget")))
-                .getFirst();
+        UUID world = locationInWorld.getExtent().getUniqueId();
+
+        // Only the players in the chunks around the location are looked at, nearest chunks first.
+        PlayerSpatialIndex index = Nucleus.getNucleus().getInternalServiceManager().getService(PlayerSpatialIndex.class).get();
+        return index.getNearestPlayer(world, currentLocation.getX(), currentLocation.getZ(), x -> !x.equals(exclude), x -> {
+                    Optional<Player> player = Sponge.getServer().getPlayer(x);
+                    if (!player.isPresent() || !player.get().getWorld().getUniqueId().equals(world)) {
+                        return Double.MAX_VALUE;
+                    }
+
+                    return player.get().getLocation().getPosition().distanceSquared(currentLocation);
+                })
+                .flatMap(x -> Sponge.getServer().getPlayer(x))
+                .orElseThrow(() -> args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.selector.notarget")));
     }
 }
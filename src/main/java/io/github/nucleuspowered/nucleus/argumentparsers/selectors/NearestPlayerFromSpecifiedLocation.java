@@ -45,7 +45,7 @@ public class NearestPlayerFromSpecifiedLocation implements SelectorParser<Player
 
         World spongeWorld = Sponge.getServer().getWorld(world).orElseThrow(() -> args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.selector.noworld", world)));
 
-        // Remove players "out of this world", then sort players by distance from current location.
-        return NearestPlayer.getNearestPlayerFromLocation(Sponge.getServer().getOnlinePlayers(), new Location<>(spongeWorld, x, y, z), args);
+        // Find the nearest player in that world.
+        return NearestPlayer.getNearestPlayerFromLocation(new Location<>(spongeWorld, x, y, z), null, args);
     }
 }
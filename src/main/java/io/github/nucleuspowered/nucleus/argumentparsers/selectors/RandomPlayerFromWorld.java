@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.argumentparsers.selectors;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.internal.interfaces.SelectorParser;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerSpatialIndex;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
@@ -14,6 +15,7 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.world.World;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -44,7 +46,9 @@ public class RandomPlayerFromWorld implements SelectorParser<Player> {
 
         World spongeWorld = Sponge.getServer().getWorld(world).orElseThrow(() -> args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.selector.noworld", world)));
 
-        List<Player> players = Sponge.getServer().getOnlinePlayers().stream().filter(x -> x.getWorld().getUniqueId().equals(spongeWorld.getUniqueId()))
+        List<Player> players = Nucleus.getNucleus().getInternalServiceManager().getService(PlayerSpatialIndex.class).get()
+                .getPlayersInWorld(spongeWorld.getUniqueId()).stream()
+                .map(x -> Sponge.getServer().getPlayer(x)).filter(Optional::isPresent).map(Optional::get)
                 .filter(x -> !(source instanceof Player) || ((Player) source).getUniqueId().equals(x.getUniqueId()))
                 .sorted((x, y) -> x.getName().compareTo(y.getName())).collect(Collectors.toList());
         if (players.isEmpty()) {
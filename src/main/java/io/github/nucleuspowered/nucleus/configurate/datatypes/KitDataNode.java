@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.configurate.datatypes;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.api.data.Kit;
 import io.github.nucleuspowered.nucleus.configurate.typeserialisers.ItemStackSnapshotSerialiser;
@@ -15,6 +16,8 @@ import org.spongepowered.api.item.inventory.ItemStackSnapshot;
 import java.time.Duration;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 @ConfigSerializable
 public class KitDataNode implements Kit {
 
@@ -29,14 +32,34 @@ public class KitDataNode implements Kit {
 
     @Setting private boolean oneTime = false;
 
+    /**
+     * The stacks, deserialised the first time they are asked for, and cleared when they are set.
+     */
+    @Nullable private List<ItemStackSnapshot> snapshots = null;
+
     @Override
     public List<ItemStackSnapshot> getStacks() {
-        return ItemStackSnapshotSerialiser.INSTANCE.deserializeList(stacks);
+        return Lists.newArrayList(getSharedStacks());
+    }
+
+    /**
+     * Gets the stacks without copying them. The same list is returned until the stacks are set again, and it cannot be
+     * changed.
+     *
+     * @return The {@link List} of {@link ItemStackSnapshot}s.
+     */
+    public List<ItemStackSnapshot> getSharedStacks() {
+        if (snapshots == null) {
+            snapshots = ImmutableList.copyOf(ItemStackSnapshotSerialiser.INSTANCE.deserializeList(stacks));
+        }
+
+        return snapshots;
     }
 
     @Override
     public Kit setStacks(List<ItemStackSnapshot> stacks) {
         this.stacks = ItemStackSnapshotSerialiser.INSTANCE.serializeList(stacks);
+        this.snapshots = null;
         return this;
     }
 
@@ -0,0 +1,52 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.configurate.datatypes;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+/**
+ * Records how far a world border pre-generation got, so that it can be resumed.
+ */
+@ConfigSerializable
+public class PregenDataNode {
+
+    @Setting("centre-chunk-x")
+    private int centreX;
+
+    @Setting("centre-chunk-z")
+    private int centreZ;
+
+    @Setting("radius")
+    private int radius;
+
+    @Setting("index")
+    private long index;
+
+    public PregenDataNode() { }
+
+    public PregenDataNode(int centreX, int centreZ, int radius, long index) {
+        this.centreX = centreX;
+        this.centreZ = centreZ;
+        this.radius = radius;
+        this.index = index;
+    }
+
+    public int getCentreX() {
+        return centreX;
+    }
+
+    public int getCentreZ() {
+        return centreZ;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+}
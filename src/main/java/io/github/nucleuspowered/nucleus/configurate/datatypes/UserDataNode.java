@@ -71,6 +71,9 @@ public class UserDataNode {
     @Setting
     private Map<String, Long> kitLastUsedTime = Maps.newHashMap();
 
+    // The kit usage map that has had any problematic data removed, so that it is only checked once after loading.
+    private Map<String, Long> checkedKitLastUsedTime = null;
+
     @Setting
     private boolean powertoolToggle = true;
 
@@ -86,6 +89,9 @@ public class UserDataNode {
     @Setting
     private LocationNode lastLocation;
 
+    @Setting
+    private Map<String, Long> cooldowns = Maps.newHashMap();
+
     public MuteData getMuteData() {
         return muteData;
     }
@@ -208,7 +214,11 @@ public class UserDataNode {
 
     public Map<String, Long> getKitLastUsedTime() {
         // Remove any problematic data
-        kitLastUsedTime.entrySet().removeIf(x -> x.getKey().matches(".*[A-Z].*"));
+        if (checkedKitLastUsedTime != kitLastUsedTime) {
+            kitLastUsedTime.entrySet().removeIf(x -> x.getKey().matches(".*[A-Z].*"));
+            checkedKitLastUsedTime = kitLastUsedTime;
+        }
+
         return kitLastUsedTime;
     }
 
@@ -257,4 +267,12 @@ public class UserDataNode {
     public void setLastLocation(LocationNode lastLocation) {
         this.lastLocation = lastLocation;
     }
+
+    public Map<String, Long> getCooldowns() {
+        return cooldowns;
+    }
+
+    public void setCooldowns(Map<String, Long> cooldowns) {
+        this.cooldowns = cooldowns;
+    }
 }
@@ -23,6 +23,10 @@ public class WorldDataNode {
     @Nullable
     private Vector3d spawnRotation = null;
 
+    @Setting("pregen-progress")
+    @Nullable
+    private PregenDataNode pregenProgress = null;
+
     public boolean isLockWeather() {
         return lockWeather;
     }
@@ -38,4 +42,12 @@ public class WorldDataNode {
     public void setSpawnRotation(@Nullable Vector3d spawnRotation) {
         this.spawnRotation = spawnRotation;
     }
+
+    public Optional<PregenDataNode> getPregenProgress() {
+        return Optional.ofNullable(pregenProgress);
+    }
+
+    public void setPregenProgress(@Nullable PregenDataNode pregenProgress) {
+        this.pregenProgress = pregenProgress;
+    }
 }
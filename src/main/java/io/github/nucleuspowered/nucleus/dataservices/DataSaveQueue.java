@@ -0,0 +1,142 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes changed {@link Service}s to disk on a dedicated I/O thread.
+ *
+ * <p>The data is serialised by {@link #offer(Service)} on the thread that changes it, and only the serialised copy
+ * is written on the I/O thread, so the data can carry on changing while it is written. If a service is already
+ * waiting to be written, its new copy replaces the waiting one, so many changes to the same data between flushes
+ * result in a single write. If the queue is full, the thread that requested the save writes the data itself, which
+ * slows down producers rather than dropping data.</p>
+ */
+public class DataSaveQueue {
+
+    private final Logger logger;
+    private final ThreadPoolExecutor executor;
+    private final Map<Service<?>, Service<?>.PendingWrite> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    public DataSaveQueue(Logger logger, int capacity) {
+        this.logger = logger;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(capacity),
+                new ThreadFactoryBuilder().setNameFormat("Nucleus Data Writer").setDaemon(true).build(),
+                (r, e) -> {
+                    if (e.isShutdown()) {
+                        throw new RejectedExecutionException("The data writer has been shut down.");
+                    }
+
+                    // Back-pressure: write on the calling thread.
+                    callerRuns.incrementAndGet();
+                    r.run();
+                });
+    }
+
+    /**
+     * Queues the service to be written if it has unsaved changes. This must be called on the thread that changes the
+     * data of the service, which is normally the main thread.
+     *
+     * @param service The {@link Service} to write.
+     */
+    public void offer(Service<?> service) {
+        if (!service.isDirty()) {
+            return;
+        }
+
+        Service<?>.PendingWrite write;
+        try {
+            write = service.snapshot();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.error("Could not serialise data to be written.", e);
+            return;
+        }
+
+        if (pending.put(service, write) != null) {
+            coalesced.incrementAndGet();
+            return;
+        }
+
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> write(service));
+        } catch (RejectedExecutionException e) {
+            // Shutting down, the final synchronous save will pick this up.
+            pending.remove(service);
+        }
+    }
+
+    /**
+     * Stops accepting new work and waits for anything already queued to be written.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The {@link TimeUnit} of the timeout.
+     */
+    public void drain(long timeout, TimeUnit unit) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, unit)) {
+                logger.warn("Timed out waiting for " + executor.getQueue().size() + " queued data files to be written.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public long getQueuedCount() {
+        return queued.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRuns.get();
+    }
+
+    private void write(Service<?> service) {
+        // Remove before writing, so that changes offered during the write queue the service again.
+        Service<?>.PendingWrite write = pending.remove(service);
+        if (write == null) {
+            return;
+        }
+
+        if (write.write()) {
+            written.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.data.Kit;
 import io.github.nucleuspowered.nucleus.api.data.LocationData;
@@ -26,9 +27,11 @@ import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -50,19 +53,48 @@ public class GeneralService extends Service<GeneralDataNode> {
         }
     };
 
+    // A read only copy of the blacklist for event listeners, replaced whenever the blacklist changes.
+    private volatile Set<ItemType> blacklist = Collections.emptySet();
+
     public GeneralService(DataProvider<GeneralDataNode> provider) throws Exception {
         // This gets set up early, but we don't want to load it until post-init.
         super(provider, false);
     }
 
+    @Override
+    public boolean load() {
+        boolean result = super.load();
+        if (data != null) {
+            updateBlacklist();
+        }
+
+        return result;
+    }
+
     public List<ItemType> getBlacklistedTypes() {
         return ImmutableList.copyOf(data.getBlacklistedTypes());
     }
 
+    /**
+     * Returns whether an {@link ItemType} is blacklisted, without copying the blacklist.
+     *
+     * @param type The {@link ItemType} to check.
+     * @return <code>true</code> if the type is blacklisted.
+     */
+    public boolean isBlacklisted(ItemType type) {
+        return blacklist.contains(type);
+    }
+
+    public boolean hasBlacklistedTypes() {
+        return !blacklist.isEmpty();
+    }
+
     public boolean addBlacklistedType(ItemType type) {
         List<ItemType> types = data.getBlacklistedTypes();
         if (!types.contains(type)) {
             types.add(type);
+            markDirty();
+            updateBlacklist();
             return true;
         }
 
@@ -70,7 +102,20 @@ public class GeneralService extends Service<GeneralDataNode> {
     }
 
     public boolean removeBlacklistedType(ItemType type) {
-        return data.getBlacklistedTypes().remove(type);
+        if (data.getBlacklistedTypes().remove(type)) {
+            markDirty();
+            updateBlacklist();
+            return true;
+        }
+
+        return false;
+    }
+
+    private void updateBlacklist() {
+        // Item types are registry singletons, so they can be compared by identity.
+        Set<ItemType> types = Sets.newIdentityHashSet();
+        types.addAll(data.getBlacklistedTypes());
+        blacklist = Collections.unmodifiableSet(types);
     }
 
     public Optional<KitDataNode> getKit(String name) {
@@ -93,13 +138,19 @@ public class GeneralService extends Service<GeneralDataNode> {
         }
 
         data.getKits().put(name, kit);
+        markDirty();
         return true;
     }
 
     public boolean removeKit(String name) {
         Map<String, KitDataNode> msk = data.getKits();
         Optional<String> key = msk.keySet().stream().filter(name::equalsIgnoreCase).findFirst();
-        return key.isPresent() && data.getKits().remove(key.get()) != null;
+        if (key.isPresent() && data.getKits().remove(key.get()) != null) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
     public List<ItemStackSnapshot> getFirstKit() {
@@ -112,6 +163,7 @@ public class GeneralService extends Service<GeneralDataNode> {
         }
 
         data.setFirstKit(stack);
+        markDirty();
     }
 
     public Optional<LocationData> getJailLocation(String name) {
@@ -145,6 +197,7 @@ public class GeneralService extends Service<GeneralDataNode> {
         }
 
         m.put(name, new WarpNode(loc, rot));
+        markDirty();
         return true;
     }
 
@@ -153,8 +206,9 @@ public class GeneralService extends Service<GeneralDataNode> {
         Map<String, WarpNode> m = data.getWarps();
         Optional<WarpNode> os = Util.getValueIgnoreCase(m, name);
         if (os.isPresent()) {
-            // No need to put it back - it's saved automatically.
+            // No need to put it back - it's saved with the node.
             os.get().setCost(cost);
+            markDirty();
             return true;
         }
 
@@ -166,6 +220,7 @@ public class GeneralService extends Service<GeneralDataNode> {
         Optional<String> os = Util.getKeyIgnoreCase(m, name);
         if (os.isPresent()) {
             m.remove(os.get());
+            markDirty();
             return true;
         }
 
@@ -188,10 +243,12 @@ public class GeneralService extends Service<GeneralDataNode> {
 
     public void setFirstSpawn(Location<World> location, Vector3d rot) {
         data.setFirstSpawnLocation(new LocationNode(location, rot));
+        markDirty();
     }
 
     public void removeFirstSpawn() {
         data.setFirstSpawnLocation(null);
+        markDirty();
     }
 
     // Helper methods for warp based systems
@@ -226,11 +283,17 @@ public class GeneralService extends Service<GeneralDataNode> {
         }
 
         m.put(name, new LocationNode(loc, rot));
+        markDirty();
         return true;
     }
 
     private boolean removeLocation(String name, Map<String, LocationNode> m) {
         Optional<Map.Entry<String, LocationNode>> o = m.entrySet().stream().filter(k -> k.getKey().equalsIgnoreCase(name)).findFirst();
-        return o.isPresent() && m.remove(o.get().getKey()) != null;
+        if (o.isPresent() && m.remove(o.get().getKey()) != null) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 }
@@ -6,25 +6,51 @@ package io.github.nucleuspowered.nucleus.dataservices;
 
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public abstract class Service<T> {
 
-    T data;
+    protected T data;
     private final DataProvider<T> dataProvider;
 
-    Service(DataProvider<T> dataProvider) throws Exception {
+    // Incremented by every mutator, compared against the generation that was last written to disk.
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long savedGeneration = 0;
+
+    // Held while a snapshot is written, so that an older snapshot is never written over a newer one.
+    private final Object writeLock = new Object();
+
+    protected Service(DataProvider<T> dataProvider) throws Exception {
         this(dataProvider, true);
     }
 
-    Service(DataProvider<T> dataProvider, boolean loadNow) throws Exception {
+    protected Service(DataProvider<T> dataProvider, boolean loadNow) throws Exception {
         this.dataProvider = dataProvider;
         if (loadNow) {
             data = dataProvider.load();
         }
     }
 
+    /**
+     * Marks the data held by this service as changed, so that the next flush will write it.
+     */
+    protected final void markDirty() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Gets whether the data has changed since it was last loaded or saved.
+     *
+     * @return <code>true</code> if there are unsaved changes.
+     */
+    public final boolean isDirty() {
+        return generation.get() != savedGeneration;
+    }
+
     public boolean load() {
         try {
             data = dataProvider.load();
+            savedGeneration = generation.get();
             return true;
         } catch (Exception e) {
             e.printStackTrace();
@@ -34,14 +60,35 @@ public abstract class Service<T> {
 
     public boolean save() {
         try {
-            dataProvider.save(data);
-            return true;
+            return snapshot().write();
         } catch (Exception e) {
             e.printStackTrace();
             return false;
         }
     }
 
+    /**
+     * Serialises the data as it is now, so that it can be written on another thread while the data carries on
+     * changing. This must be called on the thread that changes the data.
+     *
+     * @return The {@link PendingWrite}.
+     * @throws Exception if the data could not be serialised.
+     */
+    public PendingWrite snapshot() throws Exception {
+        // Anything that changes after this point will be picked up by the next flush.
+        long gen = generation.get();
+        return new PendingWrite(gen, dataProvider.snapshot(data));
+    }
+
+    /**
+     * Saves the data only if it has changed since it was last written.
+     *
+     * @return <code>false</code> if a save was attempted and failed.
+     */
+    public boolean saveIfDirty() {
+        return !isDirty() || save();
+    }
+
     public boolean delete() {
         try {
             dataProvider.delete();
@@ -51,4 +98,40 @@ public abstract class Service<T> {
             return false;
         }
     }
+
+    /**
+     * Data that has been serialised by {@link #snapshot()} and is waiting to be written.
+     */
+    public final class PendingWrite {
+
+        private final long generation;
+        private final DataProvider.Snapshot snapshot;
+
+        private PendingWrite(long generation, DataProvider.Snapshot snapshot) {
+            this.generation = generation;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Writes the data, unless a newer snapshot has already been written.
+         *
+         * @return <code>false</code> if the write failed.
+         */
+        public boolean write() {
+            synchronized (writeLock) {
+                if (generation < savedGeneration) {
+                    return true;
+                }
+
+                try {
+                    snapshot.write();
+                    savedGeneration = generation;
+                    return true;
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    return false;
+                }
+            }
+        }
+    }
 }
@@ -67,7 +67,6 @@ public class UserService extends Service<UserDataNode>
 
     public UserService(NucleusPlugin plugin, DataProvider<UserDataNode> provider, User user) throws Exception {
         super(provider);
-        data = provider.load();
         Preconditions.checkNotNull("user", user);
         Preconditions.checkNotNull("plugin", plugin);
         this.plugin = plugin;
@@ -85,10 +84,12 @@ public class UserService extends Service<UserDataNode>
 
     public void setMuteData(MuteData mData) {
         data.setMuteData(mData);
+        markDirty();
     }
 
     public void removeMuteData() {
         data.setMuteData(null);
+        markDirty();
     }
 
     @Override
@@ -98,6 +99,7 @@ public class UserService extends Service<UserDataNode>
 
     public void setWarnings(List<WarnData> warnings) {
         data.setWarnings(warnings);
+        markDirty();
     }
 
     @Override
@@ -110,6 +112,7 @@ public class UserService extends Service<UserDataNode>
         warnings.add(warning);
         warnings.sort((x, y) -> Boolean.compare(x.isExpired(), y.isExpired()));
         data.setWarnings(warnings);
+        markDirty();
     }
 
     @Override
@@ -121,6 +124,7 @@ public class UserService extends Service<UserDataNode>
                 x.getWarner().equals(warning.getWarner()) &&
                 x.getDate().equals(warning.getDate()))) {
             data.setWarnings(warnings);
+            markDirty();
             return true;
         }
 
@@ -131,6 +135,7 @@ public class UserService extends Service<UserDataNode>
     public boolean clearWarnings() {
         if (!data.getWarnings().isEmpty()) {
             data.setWarnings(Lists.newArrayList());
+            markDirty();
             return true;
         } else {
             return false;
@@ -149,12 +154,14 @@ public class UserService extends Service<UserDataNode>
 
         notes.add(note);
         data.setNotes(notes);
+        markDirty();
     }
 
     public boolean removeNote(NoteData note) {
         List<NoteData> notes = data.getNotes();
         if (notes.removeIf(x -> x.getNoter().equals(note.getNoter()) && x.getNote().equals(note.getNote()))) {
             data.setNotes(notes);
+            markDirty();
             return true;
         }
 
@@ -164,6 +171,7 @@ public class UserService extends Service<UserDataNode>
     public boolean clearNotes() {
         if (!data.getNotes().isEmpty()) {
             data.setNotes(Lists.newArrayList());
+            markDirty();
             return true;
         } else {
             return false;
@@ -172,11 +180,12 @@ public class UserService extends Service<UserDataNode>
 
     public boolean isSocialSpy() {
         // Only a spy if they have the permission!
-        return plugin.getPermissionRegistry().getService(SocialSpyCommand.class).testBase(user);
+        return data.isSocialspy() && plugin.getPermissionRegistry().getService(SocialSpyCommand.class).testBase(user);
     }
 
     public boolean setSocialSpy(boolean socialSpy) {
         data.setSocialspy(socialSpy);
+        markDirty();
 
         // Permission checks! Return true if it's what we wanted.
         return isSocialSpy() == socialSpy;
@@ -190,12 +199,17 @@ public class UserService extends Service<UserDataNode>
     @Override
     public void setInvulnerable(boolean invuln) {
         data.setInvulnerable(invuln);
+        markDirty();
     }
 
     @Override
     public boolean isFlying() {
         if (user.isOnline()) {
-            data.setFly(user.getPlayer().get().get(Keys.CAN_FLY).orElse(false));
+            boolean fly = user.getPlayer().get().get(Keys.CAN_FLY).orElse(false);
+            if (fly != data.isFly()) {
+                data.setFly(fly);
+                markDirty();
+            }
         }
 
         return data.isFly();
@@ -204,6 +218,7 @@ public class UserService extends Service<UserDataNode>
     @Override
     public void setFlying(boolean fly) {
         data.setFly(fly);
+        markDirty();
     }
 
     @Override
@@ -218,6 +233,7 @@ public class UserService extends Service<UserDataNode>
 
     public void setLastLogin(Instant login) {
         data.setLogin(login.toEpochMilli());
+        markDirty();
     }
 
     @Override
@@ -275,6 +291,7 @@ public class UserService extends Service<UserDataNode>
 
         homeData.put(home, new LocationNode(location, rotation));
         data.setHomeData(homeData);
+        markDirty();
         return true;
     }
 
@@ -289,6 +306,7 @@ public class UserService extends Service<UserDataNode>
         if (os.isPresent()) {
             homeData.remove(os.get());
             data.setHomeData(homeData);
+            markDirty();
             return true;
         }
 
@@ -303,6 +321,7 @@ public class UserService extends Service<UserDataNode>
     @Override
     public void setTeleportToggled(boolean toggle) {
         data.setTeleportToggled(toggle);
+        markDirty();
     }
 
     @Override
@@ -342,6 +361,7 @@ public class UserService extends Service<UserDataNode>
     @Override
     public void setNickname(String nickname) {
         data.setNickname(nickname);
+        markDirty();
         this.nickname = null;
         String p = getNickPrefix();
         if (p != null && !p.isEmpty()) {
@@ -349,7 +369,10 @@ public class UserService extends Service<UserDataNode>
         }
 
         Text nick = TextSerializers.FORMATTING_CODE.deserialize(nickname);
-        user.getPlayer().ifPresent(x -> x.offer(Keys.DISPLAY_NAME, nick));
+        user.getPlayer().ifPresent(x -> {
+            x.offer(Keys.DISPLAY_NAME, nick);
+            plugin.getNameIndex().setNickname(user.getUniqueId(), TextSerializers.FORMATTING_CODE.stripCodes(data.getNickname()));
+        });
     }
 
     @Override
@@ -357,36 +380,25 @@ public class UserService extends Service<UserDataNode>
         nickname = null;
         user.remove(Keys.DISPLAY_NAME);
         data.setNickname(null);
+        markDirty();
+        if (user.isOnline()) {
+            plugin.getNameIndex().setNickname(user.getUniqueId(), null);
+        }
     }
 
+    /**
+     * Gets the mail that was stored in the user data, before the mail module had its own store.
+     *
+     * @return The mail.
+     */
     public List<MailData> getMail() {
         return ImmutableList.copyOf(data.getMailDataList());
     }
 
-    public void addMail(MailData mailData) {
-        List<MailData> mailDataList = data.getMailDataList();
-        if (mailDataList == null) {
-            mailDataList = Lists.newArrayList();
-        }
-
-        mailDataList.add(mailData);
-        data.setMailDataList(mailDataList);
-    }
-
-    public boolean removeMail(MailData mailData) {
-        List<MailData> lmd = data.getMailDataList();
-        if (lmd.removeIf(x -> x.getDate().equals(mailData.getDate()) &&
-                x.getMessage().equals(mailData.getMessage()) && x.getUuid().equals(mailData.getUuid()))) {
-            data.setMailDataList(lmd);
-            return true;
-        }
-
-        return false;
-    }
-
     public boolean clearMail() {
         if (!data.getMailDataList().isEmpty()) {
             data.setMailDataList(Lists.newArrayList());
+            markDirty();
             return true;
         } else {
             return false;
@@ -399,6 +411,7 @@ public class UserService extends Service<UserDataNode>
 
     public void setJailData(JailData jdata) {
         data.setJailData(jdata);
+        markDirty();
     }
 
     public void removeJailData() {
@@ -408,6 +421,7 @@ public class UserService extends Service<UserDataNode>
     public void setOnLogout(Location<World> location) {
         setLastLogout(Instant.now());
         data.setLastLocation(new LocationNode(location));
+        markDirty();
 
         // Set data based toggles.
         isFlying();
@@ -429,14 +443,17 @@ public class UserService extends Service<UserDataNode>
 
     public void sendToLocationOnLogin(Location<World> worldLocation) {
         data.setLocationOnLogin(new LocationNode(worldLocation));
+        markDirty();
     }
 
     public void removeLocationOnLogin() {
         data.setLocationOnLogin(null);
+        markDirty();
     }
 
     public void setLastLogout(Instant logout) {
         data.setLogout(logout.toEpochMilli());
+        markDirty();
     }
 
     @Override
@@ -450,24 +467,55 @@ public class UserService extends Service<UserDataNode>
 
     public void setJailOnNextLogin(boolean set) {
         data.setJailOffline(!user.isOnline() && set);
+        markDirty();
     }
 
-    public Map<String, Instant> getKitLastUsedTime() {
-        final Map<String, Instant> r = Maps.newHashMap();
-        data.getKitLastUsedTime().forEach((k, v) -> r.put(k.toLowerCase(), Instant.ofEpochSecond(v)));
-        return r;
+    /**
+     * Gets when the user last redeemed the given kit. The times are stored as epoch seconds against the lower case
+     * kit name, so this is a single lookup.
+     *
+     * @param kitName The name of the kit, in any case.
+     * @return The time, if the kit has been redeemed.
+     */
+    public Optional<Instant> getKitLastUsedTime(String kitName) {
+        Long time = data.getKitLastUsedTime().get(kitName.toLowerCase());
+        return time == null ? Optional.empty() : Optional.of(Instant.ofEpochSecond(time));
     }
 
     public void addKitLastUsedTime(String kitName, Instant lastTime) {
-        Map<String, Long> kitLastUsedTime = data.getKitLastUsedTime();
-        kitLastUsedTime.put(kitName.toLowerCase(), lastTime.getEpochSecond());
-        data.setKitLastUsedTime(kitLastUsedTime);
+        data.getKitLastUsedTime().put(kitName.toLowerCase(), lastTime.getEpochSecond());
+        markDirty();
     }
 
-    public void removeKitLastUsedTime(String kitName) {
-        Map<String, Long> kitLastUsedTime = data.getKitLastUsedTime();
-        kitLastUsedTime.remove(kitName.toLowerCase());
-        data.setKitLastUsedTime(kitLastUsedTime);
+    public boolean removeKitLastUsedTime(String kitName) {
+        if (data.getKitLastUsedTime().remove(kitName.toLowerCase()) != null) {
+            markDirty();
+            return true;
+        }
+
+        return false;
+    }
+
+    // -- Cooldowns
+    public Map<String, Long> getCooldowns() {
+        return ImmutableMap.copyOf(data.getCooldowns());
+    }
+
+    public void setCooldown(String id, long endEpochMillis) {
+        data.getCooldowns().put(id, endEpochMillis);
+        markDirty();
+    }
+
+    public void removeCooldown(String id) {
+        if (data.getCooldowns().remove(id) != null) {
+            markDirty();
+        }
+    }
+
+    public void removeExpiredCooldowns(long nowEpochMillis) {
+        if (data.getCooldowns().values().removeIf(x -> x <= nowEpochMillis)) {
+            markDirty();
+        }
     }
 
     // -- Powertools
@@ -487,14 +535,20 @@ public class UserService extends Service<UserDataNode>
 
     public void setPowertool(ItemType type, List<String> commands) {
         data.getPowertools().put(type.getId(), commands);
+        markDirty();
+        updatePowertools();
     }
 
     public void clearPowertool(ItemType type) {
         data.getPowertools().remove(type.getId());
+        markDirty();
+        updatePowertools();
     }
 
     public void clearPowertool(String type) {
         data.getPowertools().remove(type);
+        markDirty();
+        updatePowertools();
     }
 
     @Override
@@ -505,6 +559,12 @@ public class UserService extends Service<UserDataNode>
     @Override
     public void setPowertoolToggle(boolean set) {
         data.setPowertoolToggle(set);
+        markDirty();
+        updatePowertools();
+    }
+
+    private void updatePowertools() {
+        plugin.getUserDataManager().onPowertoolsChanged(this);
     }
 
     @Override
@@ -516,6 +576,8 @@ public class UserService extends Service<UserDataNode>
     public boolean addToIgnoreList(UUID uuid) {
         if (!data.getIgnoreList().contains(uuid)) {
             data.getIgnoreList().add(uuid);
+            markDirty();
+            plugin.getUserDataManager().onIgnoreListChanged(this);
             return true;
         }
 
@@ -524,7 +586,13 @@ public class UserService extends Service<UserDataNode>
 
     @Override
     public boolean removeFromIgnoreList(UUID uuid) {
-        return data.getIgnoreList().remove(uuid);
+        if (data.getIgnoreList().remove(uuid)) {
+            markDirty();
+            plugin.getUserDataManager().onIgnoreListChanged(this);
+            return true;
+        }
+
+        return false;
     }
 
     @Override
@@ -535,6 +603,7 @@ public class UserService extends Service<UserDataNode>
     @Override
     public void setFrozen(boolean value) {
         data.setFrozen(value);
+        markDirty();
     }
 
     public Optional<Transform<World>> getLastLocation() {
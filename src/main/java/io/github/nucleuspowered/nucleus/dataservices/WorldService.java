@@ -10,6 +10,7 @@ import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.api.data.NucleusWorld;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.PregenDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.WorldDataNode;
 import io.github.nucleuspowered.nucleus.configurate.typeserialisers.Vector3dTypeSerialiser;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
@@ -53,6 +54,7 @@ public class WorldService extends Service<WorldDataNode> implements NucleusWorld
     @Override
     public void setLockWeather(boolean lockWeather) {
         data.setLockWeather(lockWeather);
+        markDirty();
     }
 
     @Override
@@ -63,10 +65,28 @@ public class WorldService extends Service<WorldDataNode> implements NucleusWorld
     @Override
     public void setSpawnRotation(Vector3d rotation) {
         data.setSpawnRotation(rotation);
+        markDirty();
     }
 
     @Override
     public void clearSpawnRotation() {
         data.setSpawnRotation(null);
+        markDirty();
+    }
+
+    public Optional<PregenDataNode> getPregenProgress() {
+        return data.getPregenProgress();
+    }
+
+    public void setPregenProgress(PregenDataNode progress) {
+        data.setPregenProgress(progress);
+        markDirty();
+    }
+
+    public void clearPregenProgress() {
+        if (data.getPregenProgress().isPresent()) {
+            data.setPregenProgress(null);
+            markDirty();
+        }
     }
 }
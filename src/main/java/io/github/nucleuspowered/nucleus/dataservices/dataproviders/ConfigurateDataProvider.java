@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
 
 import com.google.common.reflect.TypeToken;
+import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
 import ninja.leaping.configurate.loader.ConfigurationLoader;
 
@@ -43,8 +44,10 @@ public class ConfigurateDataProvider<T> implements DataProvider<T> {
     }
 
     @Override
-    public void save(T info) throws Exception {
-        loader.save(SimpleCommentedConfigurationNode.root(loader.getDefaultOptions()).setValue(typeToken, info));
+    public Snapshot snapshot(T info) throws Exception {
+        // The node holds its own copy of the values, so only the node is used when it is written.
+        ConfigurationNode node = SimpleCommentedConfigurationNode.root(loader.getDefaultOptions()).setValue(typeToken, info);
+        return () -> loader.save(node);
     }
 
     @Override
@@ -8,7 +8,29 @@ public interface DataProvider<T> {
 
     T load() throws Exception;
 
-    void save(T info) throws Exception;
+    /**
+     * Serialises the data so that it can be written later. The returned {@link Snapshot} does not refer to the data,
+     * so the data may carry on changing while the snapshot is written on another thread. This must be called on the
+     * thread that changes the data.
+     *
+     * @param info The data to serialise.
+     * @return The {@link Snapshot} to write.
+     * @throws Exception if the data could not be serialised.
+     */
+    Snapshot snapshot(T info) throws Exception;
+
+    default void save(T info) throws Exception {
+        snapshot(info).write();
+    }
 
     void delete() throws Exception;
+
+    /**
+     * Serialised data, ready to be written to disk.
+     */
+    @FunctionalInterface
+    interface Snapshot {
+
+        void write() throws Exception;
+    }
 }
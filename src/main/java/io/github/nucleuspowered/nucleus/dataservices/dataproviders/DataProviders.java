@@ -11,10 +11,12 @@ import io.github.nucleuspowered.nucleus.configurate.datatypes.GeneralDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.ItemDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.WorldDataNode;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import ninja.leaping.configurate.gson.GsonConfigurationLoader;
 import ninja.leaping.configurate.hocon.HoconConfigurationLoader;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
@@ -29,13 +31,20 @@ public class DataProviders {
     private final TypeToken<GeneralDataNode> ttg = TypeToken.of(GeneralDataNode.class);
     private final TypeToken<Map<String, ItemDataNode>> ttmsi = new TypeToken<Map<String, ItemDataNode>>() {};
 
+    // The store type is read once, changing it requires a restart.
+    private Boolean useSingleFileUserStore = null;
+    private SingleFileStore userStore = null;
+
     public DataProviders(NucleusPlugin plugin) {
         this.plugin = plugin;
     }
 
     public DataProvider<UserDataNode> getUserFileDataProviders(UUID uuid) {
-        // For now, just the Configurate one.
         try {
+            if (isSingleFileUserStore()) {
+                return new SingleFileDataProvider<>(ttu, this::getGsonBuilder, UserDataNode::new, getUserStore(), uuid);
+            }
+
             Path p = getFile("userdata%1$s%2$s%1$s%3$s.json", uuid);
             return new ConfigurateDataProvider<>(ttu, getGsonBuilder().setPath(p).build(), p);
         } catch (Exception e) {
@@ -73,6 +82,41 @@ public class DataProviders {
         }
     }
 
+    /**
+     * Gets the single file user data store, opening it if required.
+     *
+     * @return The {@link SingleFileStore}.
+     * @throws IOException if the store could not be opened.
+     */
+    public synchronized SingleFileStore getUserStore() throws IOException {
+        if (userStore == null) {
+            userStore = new SingleFileStore(plugin.getDataPath().resolve("userdata.db"));
+        }
+
+        return userStore;
+    }
+
+    public synchronized void close() {
+        if (userStore != null) {
+            try {
+                userStore.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+
+            userStore = null;
+        }
+    }
+
+    private synchronized boolean isSingleFileUserStore() throws Exception {
+        if (useSingleFileUserStore == null) {
+            useSingleFileUserStore = plugin.getModuleContainer().getConfigAdapterForModule("core", CoreConfigAdapter.class)
+                    .getNodeOrDefault().isSingleFileUserStore();
+        }
+
+        return useSingleFileUserStore;
+    }
+
     private Path getFile(String template, UUID uuid) throws Exception {
         String u = uuid.toString();
         String f = u.substring(0, 2);
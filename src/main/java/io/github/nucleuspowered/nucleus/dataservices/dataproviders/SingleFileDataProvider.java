@@ -0,0 +1,70 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.reflect.TypeToken;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Stores data as a JSON record in a {@link SingleFileStore}, rather than in a file of its own.
+ *
+ * @param <T> The type of data to store.
+ */
+public class SingleFileDataProvider<T> implements DataProvider<T> {
+
+    private final TypeToken<T> typeToken;
+    private final Supplier<GsonConfigurationLoader.Builder> loaderSupplier;
+    private final Supplier<T> defaultSupplier;
+    private final SingleFileStore store;
+    private final UUID key;
+
+    public SingleFileDataProvider(TypeToken<T> type, Supplier<GsonConfigurationLoader.Builder> loaderSupplier, Supplier<T> defaultSupplier,
+            SingleFileStore store, UUID key) {
+        this.typeToken = type;
+        this.loaderSupplier = loaderSupplier;
+        this.defaultSupplier = defaultSupplier;
+        this.store = store;
+        this.key = key;
+    }
+
+    @Override
+    public T load() throws Exception {
+        GsonConfigurationLoader.Builder builder = loaderSupplier.get();
+        Optional<byte[]> record = store.get(key);
+        if (!record.isPresent()) {
+            return SimpleCommentedConfigurationNode.root(builder.getDefaultOptions()).getValue(typeToken, defaultSupplier);
+        }
+
+        ConfigurationNode node = builder.setSource(() ->
+                new BufferedReader(new InputStreamReader(new ByteArrayInputStream(record.get()), StandardCharsets.UTF_8))).build().load();
+        return node.getValue(typeToken, defaultSupplier);
+    }
+
+    @Override
+    public Snapshot snapshot(T info) throws Exception {
+        StringWriter sw = new StringWriter();
+        GsonConfigurationLoader loader = loaderSupplier.get().setSink(() -> new BufferedWriter(sw)).build();
+        loader.save(SimpleCommentedConfigurationNode.root(loader.getDefaultOptions()).setValue(typeToken, info));
+        byte[] record = sw.toString().getBytes(StandardCharsets.UTF_8);
+        return () -> store.put(key, record);
+    }
+
+    @Override
+    public void delete() throws Exception {
+        store.delete(key);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * A log structured key-value store that keeps all records in a single file.
+ *
+ * <p>Each write appends a record to the end of the file, and an in-memory index points to the latest
+ * record for each key. Deleting a key appends a tombstone. Superseded records are removed when the
+ * file is compacted, which happens on open if more than half of the file is no longer in use.</p>
+ */
+public class SingleFileStore implements Closeable {
+
+    private static final byte RECORD_DATA = 1;
+    private static final byte RECORD_DELETED = 0;
+
+    // Type, UUID and payload length.
+    private static final int HEADER_SIZE = 1 + 8 + 8 + 4;
+    private static final long MIN_COMPACT_SIZE = 1024 * 1024;
+
+    private final Path file;
+    private final Map<UUID, Entry> index = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+
+    // Only replaced while opening, reads use positional access and do not need the lock.
+    private FileChannel channel;
+
+    @GuardedBy("writeLock")
+    private long end = 0;
+
+    @GuardedBy("writeLock")
+    private long deadBytes = 0;
+
+    public SingleFileStore(Path file) throws IOException {
+        Preconditions.checkNotNull(file);
+        this.file = file;
+        synchronized (writeLock) {
+            open();
+            if (end > MIN_COMPACT_SIZE && deadBytes * 2 > end) {
+                compact();
+            }
+        }
+    }
+
+    public Optional<byte[]> get(UUID uuid) throws IOException {
+        Entry entry = index.get(uuid);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        readFully(channel, buffer, entry.position);
+        return Optional.of(buffer.array());
+    }
+
+    public boolean contains(UUID uuid) {
+        return index.containsKey(uuid);
+    }
+
+    public Set<UUID> keys() {
+        return index.keySet();
+    }
+
+    public void put(UUID uuid, byte[] payload) throws IOException {
+        Preconditions.checkNotNull(uuid);
+        Preconditions.checkNotNull(payload);
+        synchronized (writeLock) {
+            long position = append(RECORD_DATA, uuid, payload);
+            Entry old = index.put(uuid, new Entry(position, payload.length));
+            if (old != null) {
+                deadBytes += HEADER_SIZE + old.length;
+            }
+        }
+    }
+
+    public boolean delete(UUID uuid) throws IOException {
+        synchronized (writeLock) {
+            Entry old = index.remove(uuid);
+            if (old == null) {
+                return false;
+            }
+
+            append(RECORD_DELETED, uuid, new byte[0]);
+            deadBytes += HEADER_SIZE * 2 + old.length;
+            return true;
+        }
+    }
+
+    /**
+     * Forces any written records to the storage device.
+     *
+     * @throws IOException if the file could not be synced.
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    @GuardedBy("writeLock")
+    private void open() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        deadBytes = 0;
+
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+
+            byte type = header.get();
+            UUID uuid = new UUID(header.getLong(), header.getLong());
+            int length = header.getInt();
+            if ((type != RECORD_DATA && type != RECORD_DELETED) || length < 0 || position + HEADER_SIZE + length > size) {
+                // A partial write at the end of the file, from a crash. Everything after it is discarded.
+                break;
+            }
+
+            Entry old;
+            if (type == RECORD_DATA) {
+                old = index.put(uuid, new Entry(position + HEADER_SIZE, length));
+            } else {
+                old = index.remove(uuid);
+                deadBytes += HEADER_SIZE;
+            }
+
+            if (old != null) {
+                deadBytes += HEADER_SIZE + old.length;
+            }
+
+            position += HEADER_SIZE + length;
+        }
+
+        if (position < size) {
+            channel.truncate(position);
+        }
+
+        end = position;
+    }
+
+    @GuardedBy("writeLock")
+    private long append(byte type, UUID uuid, byte[] payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.put(type).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).putInt(payload.length).put(payload);
+        buffer.flip();
+
+        long position = end;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+
+        long payloadPosition = end + HEADER_SIZE;
+        end = position;
+        return payloadPosition;
+    }
+
+    @GuardedBy("writeLock")
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName().toString() + ".compact");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Map.Entry<UUID, Entry> e : index.entrySet()) {
+                Entry entry = e.getValue();
+                ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + entry.length);
+                buffer.put(RECORD_DATA).putLong(e.getKey().getMostSignificantBits()).putLong(e.getKey().getLeastSignificantBits())
+                        .putInt(entry.length);
+                readFully(channel, buffer, entry.position);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += out.write(buffer, position);
+                }
+            }
+
+            out.force(true);
+        }
+
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException();
+            }
+
+            position += read;
+        }
+    }
+
+    private final static class Entry {
+
+        private final long position;
+        private final int length;
+
+        private Entry(long position, int length) {
+            this.position = position;
+            this.length = length;
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.dataservices.loaders;
 
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.dataservices.DataSaveQueue;
 import io.github.nucleuspowered.nucleus.dataservices.Service;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 
@@ -33,4 +34,13 @@ public abstract class DataManager<I, P, S extends Service> {
             }
         });
     }
+
+    /**
+     * Queues any loaded data that has changed since it was last written.
+     *
+     * @param queue The {@link DataSaveQueue} to write the data on.
+     */
+    public final void queueDirty(DataSaveQueue queue) {
+        dataStore.values().forEach(queue::offer);
+    }
 }
@@ -22,15 +22,56 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class UserDataManager extends DataManager<UUID, UserDataNode, UserService> implements NucleusUserLoaderService {
 
+    private final List<Consumer<UserService>> powertoolListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<UserService>> ignoreListListeners = new CopyOnWriteArrayList<>();
+
     public UserDataManager(NucleusPlugin plugin, Function<UUID, DataProvider<UserDataNode>> dataProviderFactory) {
         super(plugin, dataProviderFactory);
     }
 
+    /**
+     * Registers a listener that is called whenever the powertools of a user are changed or toggled.
+     *
+     * @param listener The listener, which is given the {@link UserService} of the user.
+     */
+    public void registerPowertoolListener(Consumer<UserService> listener) {
+        powertoolListeners.add(listener);
+    }
+
+    /**
+     * Tells the registered listeners that the powertools of a user have changed.
+     *
+     * @param userService The {@link UserService} of the user.
+     */
+    public void onPowertoolsChanged(UserService userService) {
+        powertoolListeners.forEach(x -> x.accept(userService));
+    }
+
+    /**
+     * Registers a listener that is called whenever a user starts or stops ignoring someone.
+     *
+     * @param listener The listener, which is given the {@link UserService} of the user.
+     */
+    public void registerIgnoreListListener(Consumer<UserService> listener) {
+        ignoreListListeners.add(listener);
+    }
+
+    /**
+     * Tells the registered listeners that the ignore list of a user has changed.
+     *
+     * @param userService The {@link UserService} of the user.
+     */
+    public void onIgnoreListChanged(UserService userService) {
+        ignoreListListeners.forEach(x -> x.accept(userService));
+    }
+
     public Optional<UserService> get(User user) {
         return get(user.getUniqueId());
     }
@@ -67,10 +108,17 @@ public class UserDataManager extends DataManager<UUID, UserDataNode, UserService
     }
 
     public void removeOfflinePlayers(boolean allOffline) {
-        saveAll();
-
         // If allOffline is false, then remove only if it was loaded over two minutes ago.
-        this.dataStore.entrySet().removeIf(x -> !x.getValue().getUser().isOnline() && (allOffline || x.getValue().serviceLoadTime().plus(2, ChronoUnit.MINUTES).isBefore(Instant.now())));
+        final Instant cutoff = Instant.now().minus(2, ChronoUnit.MINUTES);
+        this.dataStore.entrySet().removeIf(x -> {
+            if (x.getValue().getUser().isOnline() || (!allOffline && !x.getValue().serviceLoadTime().isBefore(cutoff))) {
+                return false;
+            }
+
+            // Data that has not been written yet is kept until the save queue has written it, as it cannot be
+            // serialised safely from here.
+            return !x.getValue().isDirty();
+        });
     }
 
     public List<UserService> getOnlineUsersInternal() {
@@ -8,6 +8,7 @@ import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 
 import java.util.Map;
 
@@ -18,4 +19,30 @@ public abstract class ListenerBase {
     public Map<String, PermissionInformation> getPermissions() {
         return Maps.newHashMap();
     }
+
+    /**
+     * Creates a {@link Profiler.Timer} for a listener method. Listeners on frequent events should hold one in a field
+     * and time the body of the method with {@link #time(Profiler.Timer, Runnable)}.
+     *
+     * @param method The name of the method.
+     * @return The {@link Profiler.Timer}.
+     */
+    protected final Profiler.Timer createTimer(String method) {
+        return NucleusPlugin.getNucleus().getProfiler().getTimer(Profiler.Category.LISTENER, getClass().getSimpleName() + "." + method);
+    }
+
+    /**
+     * Runs the body of a listener method, timing it with the given {@link Profiler.Timer}.
+     *
+     * @param timer The {@link Profiler.Timer} from {@link #createTimer(String)}.
+     * @param body The body of the method.
+     */
+    protected static void time(Profiler.Timer timer, Runnable body) {
+        long start = timer.start();
+        try {
+            body.run();
+        } finally {
+            timer.stop(start);
+        }
+    }
 }
@@ -23,6 +23,8 @@ import io.github.nucleuspowered.nucleus.internal.annotations.RegisterCommand;
 import io.github.nucleuspowered.nucleus.internal.annotations.RequiresEconomy;
 import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownManager;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.modules.afk.config.AFKConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.afk.handlers.AFKHandler;
@@ -58,8 +60,7 @@ import uk.co.drnaylor.quickstart.exceptions.NoModuleException;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -85,7 +86,6 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     // Null until set, then should be considered immutable.
     private Set<Class<? extends AbstractCommand<?>>> moduleCommands = null;
 
-    private final Map<UUID, Instant> cooldownStore = Maps.newHashMap();
     protected CommandPermissionHandler permissions;
     protected String[] aliases;
     protected String[] forcedAliases;
@@ -96,6 +96,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     private boolean bypassCost;
     private boolean requiresEconomy;
     private String configSection;
+    private volatile CommandSettings settings = null;
     private boolean generateDefaults;
     private CommandSpec cs = null;
     private final List<String> afkArgs = Lists.newArrayList();
@@ -106,6 +107,11 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     @Inject protected NucleusPlugin plugin;
     @Inject private CoreConfigAdapter cca;
     @Inject private WarmupManager warmupService;
+    @Inject private CooldownManager cooldownService;
+    @Inject private Profiler profiler;
+
+    // Created on first use, so that the command path is known.
+    private Profiler.Timer timer = null;
 
     @SuppressWarnings("all")
     private Optional<AFKHandler> afkHandler = null;
@@ -251,6 +257,9 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         permissionSuffixesToRegister().forEach((k, v) -> permissions.registerPermssionSuffix(k, v));
 
         requiresEconomy = this.getClass().isAnnotationPresent(RequiresEconomy.class);
+
+        refreshSettings();
+        plugin.registerReloadable(this::refreshSettings);
         afterPostInit();
     }
 
@@ -373,6 +382,26 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         return "/" + getCommandPath().replaceAll("\\.", " ") + " " + getSpec().getUsage(source).toPlain().replaceAll("\\?\\|", "");
     }
 
+    /**
+     * Gets the settings for this command from commands.conf, as of the last load or reload.
+     *
+     * @return The {@link CommandSettings}.
+     */
+    public final CommandSettings getSettings() {
+        CommandSettings s = settings;
+        if (s == null) {
+            s = refreshSettings();
+        }
+
+        return s;
+    }
+
+    private CommandSettings refreshSettings() {
+        CommandSettings s = CommandSettings.fromNode(plugin.getCommandsConfig().getCommandNode(getCommandConfigAlias()));
+        settings = s;
+        return s;
+    }
+
     String getCommandConfigAlias() {
         if (configSection == null) {
             return getAliases()[0];
@@ -551,7 +580,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
             checkAfk(src, args);
 
             // Execute the command in the specific executor.
-            cr = executeCommand(src, args);
+            cr = timeCommand(src, args);
         } catch (ReturnMessageException e) {
             Text t = e.getText();
             src.sendMessage((t == null) ? NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.error") : t);
@@ -596,6 +625,19 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         return cr;
     }
 
+    private CommandResult timeCommand(T src, CommandContext args) throws Exception {
+        if (timer == null) {
+            timer = profiler.getTimer(Profiler.Category.COMMAND, "/" + getCommandPath().replaceAll("\\.", " "));
+        }
+
+        long start = timer.start();
+        try {
+            return executeCommand(src, args);
+        } finally {
+            timer.stop(start);
+        }
+    }
+
     // -------------------------------------
     // Source Type
     // -------------------------------------
@@ -716,7 +758,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         }
 
         // Get the warmup time.
-        return plugin.getCommandsConfig().getCommandNode(configSection).getNode("warmup").getInt();
+        return getSettings().getWarmup();
     }
 
     @SuppressWarnings("unchecked")
@@ -773,15 +815,15 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     // Cooldowns
     // -------------------------------------
     private ContinueMode checkCooldown(Player src) {
-        // Remove any expired cooldowns.
-        cleanCooldowns();
+        if (bypassCooldown || permissions.testCooldownExempt(src)) {
+            return ContinueMode.CONTINUE;
+        }
 
-        // If they are still in there, then tell them they are still cooling
-        // down.
-        if (!bypassCooldown && !permissions.testCooldownExempt(src) && cooldownStore.containsKey(src.getUniqueId())) {
-            Instant l = cooldownStore.get(src.getUniqueId());
+        // If they are still cooling down, tell them how long they have left.
+        Optional<Duration> remaining = cooldownService.getCooldown(src.getUniqueId(), commandPath);
+        if (remaining.isPresent()) {
             src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("cooldown.message",
-                    Util.getTimeStringFromSeconds(l.until(Instant.now(), ChronoUnit.SECONDS))));
+                    Util.getTimeStringFromSeconds(Math.max(1, remaining.get().getSeconds()))));
             return ContinueMode.STOP;
         }
 
@@ -791,22 +833,15 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     private void setCooldown(Player src) {
         if (!permissions.testCooldownExempt(src)) {
             // Get the cooldown time.
-            int cooldownTime = plugin.getCommandsConfig().getCommandNode(configSection).getNode("cooldown").getInt();
+            int cooldownTime = getSettings().getCooldown();
             if (cooldownTime > 0) {
-                // If there is a cooldown, add the cooldown to the list, with
-                // the end time as an Instant.
-                cooldownStore.put(src.getUniqueId(), Instant.now().plus(cooldownTime, ChronoUnit.SECONDS));
+                cooldownService.setCooldown(src.getUniqueId(), commandPath, Duration.ofSeconds(cooldownTime));
             }
         }
     }
 
     protected void removeCooldown(UUID uuid) {
-        cooldownStore.remove(uuid);
-    }
-
-    private void cleanCooldowns() {
-        // If the cooldown end is in the past, remove it.
-        cooldownStore.entrySet().removeIf(k -> k.getValue().isBefore(Instant.now()));
+        cooldownService.removeCooldown(uuid, commandPath);
     }
 
     // -------------------------------------
@@ -848,13 +883,8 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
             return 0.;
         }
 
-        // Return the cost if positive, else, zero.
-        double cost = plugin.getCommandsConfig().getCommandNode(configSection).getNode("cost").getDouble(0.);
-        if (cost <= 0.) {
-            return 0.;
-        }
-
-        return cost;
+        // Never negative.
+        return getSettings().getCost();
     }
 
     // -------------------------------------
@@ -67,7 +67,7 @@ public class CommandBuilder {
             sn.getNode(c.getCommandConfigAlias()).setValue(c.getDefaults());
         }
 
-        if (plugin.getCommandsConfig().getCommandNode(c.getCommandConfigAlias()).getNode("enabled").getBoolean(true)) {
+        if (c.getSettings().isEnabled()) {
             // Register the commands.
             if (rootCmd) {
                 Sponge.getCommandManager().register(plugin, spec, c.getAliases());
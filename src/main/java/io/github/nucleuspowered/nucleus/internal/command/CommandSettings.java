@@ -0,0 +1,62 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.command;
+
+import ninja.leaping.configurate.ConfigurationNode;
+
+/**
+ * The settings for a command from commands.conf. These are read when the command is set up and again on reload, so
+ * that running a command does not have to look through the config.
+ */
+public final class CommandSettings {
+
+    private final boolean enabled;
+    private final int warmup;
+    private final int cooldown;
+    private final double cost;
+
+    static CommandSettings fromNode(ConfigurationNode node) {
+        return new CommandSettings(node.getNode("enabled").getBoolean(true), node.getNode("warmup").getInt(), node.getNode("cooldown").getInt(),
+                Math.max(0., node.getNode("cost").getDouble(0.)));
+    }
+
+    private CommandSettings(boolean enabled, int warmup, int cooldown, double cost) {
+        this.enabled = enabled;
+        this.warmup = warmup;
+        this.cooldown = cooldown;
+        this.cost = cost;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the warmup, before exemptions.
+     *
+     * @return The warmup, in seconds.
+     */
+    public int getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Gets the cooldown, before exemptions.
+     *
+     * @return The cooldown, in seconds.
+     */
+    public int getCooldown() {
+        return cooldown;
+    }
+
+    /**
+     * Gets the cost, before exemptions. This is never negative.
+     *
+     * @return The cost.
+     */
+    public double getCost() {
+        return cost;
+    }
+}
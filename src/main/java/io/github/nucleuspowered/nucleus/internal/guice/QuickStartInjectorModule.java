@@ -16,6 +16,8 @@ import io.github.nucleuspowered.nucleus.internal.EconHelper;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
 import org.slf4j.Logger;
 import org.spongepowered.api.Game;
 import org.spongepowered.api.Sponge;
@@ -38,6 +40,8 @@ public class QuickStartInjectorModule extends AbstractModule {
         bind(WorldDataManager.class).toProvider(plugin::getWorldDataManager);
         bind(Game.class).toProvider(Sponge::getGame);
         bind(PermissionRegistry.class).toProvider(plugin::getPermissionRegistry);
+        bind(Profiler.class).toProvider(plugin::getProfiler);
+        bind(NameIndex.class).toProvider(plugin::getNameIndex);
         bind(EconHelper.class).toProvider(plugin::getEconHelper);
         bind(ModuleContainer.class).toProvider(plugin::getModuleContainer);
         bind(InternalServiceManager.class).toProvider(plugin::getInternalServiceManager);
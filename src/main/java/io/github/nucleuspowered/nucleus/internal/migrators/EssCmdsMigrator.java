@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.internal.migrators;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.github.hsyyid.essentialcmds.EssentialCmds;
 import io.github.hsyyid.essentialcmds.api.util.config.Configs;
@@ -183,11 +184,11 @@ public class EssCmdsMigrator extends DataMigrator {
 
         // Rules
         if (rca != null) {
-            RulesConfig rc = rca.getNodeOrDefault();
-            List<String> rules = rc.getRuleSet();
+            RulesConfig rc = rca.getNode();
+            List<String> rules = Lists.newArrayList(rc.getRuleSet());
             rules.addAll(Utils.getRules());
             rc.setRuleSet(rules);
-            rca.setNode(rc);
+            rca.update(rc);
             plugin.saveSystemConfig();
 
             src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.migrate.rules"));
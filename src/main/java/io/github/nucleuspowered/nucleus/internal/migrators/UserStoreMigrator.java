@@ -0,0 +1,67 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.migrators;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.SingleFileStore;
+import org.spongepowered.api.command.CommandSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Copies the per-user JSON files into the single file user data store.
+ *
+ * <p>Both formats store the same JSON, so the files are copied as they are. Users that already exist in
+ * the single file store are not overwritten.</p>
+ */
+public class UserStoreMigrator extends DataMigrator {
+
+    @Override
+    public void migrate(CommandSource src) throws Exception {
+        src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.migrate.begin"));
+
+        Path userdata = plugin.getDataPath().resolve("userdata");
+        if (Files.notExists(userdata)) {
+            src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.migrate.userstore.none"));
+            return;
+        }
+
+        // Make sure that the files reflect what is currently loaded.
+        plugin.getUserDataManager().saveAll();
+
+        SingleFileStore store = plugin.getDataProviders().getUserStore();
+        int copied = 0;
+        int skipped = 0;
+        try (Stream<Path> files = Files.walk(userdata)) {
+            Iterator<Path> it = files.filter(x -> x.getFileName().toString().endsWith(".json")).iterator();
+            while (it.hasNext()) {
+                Path file = it.next();
+                String name = file.getFileName().toString();
+                UUID uuid;
+                try {
+                    uuid = UUID.fromString(name.substring(0, name.length() - 5));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Skipping " + file.toString() + " as the file name is not a UUID.");
+                    continue;
+                }
+
+                if (store.contains(uuid)) {
+                    skipped++;
+                } else {
+                    store.put(uuid, Files.readAllBytes(file));
+                    copied++;
+                }
+            }
+        }
+
+        store.flush();
+        src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.migrate.userstore.complete",
+                String.valueOf(copied), String.valueOf(skipped)));
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.profiling;
+
+import com.google.common.collect.Lists;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Times the commands, listeners and tasks that Nucleus runs.
+ *
+ * <p>Each {@link Timer} counts every call, but while profiling is not enabled only one call in
+ * {@link #SAMPLE_RATE} is actually timed, so that the cost is little more than incrementing a counter. When profiling
+ * is enabled, every call is timed. Times are recorded without locking into a histogram with four buckets for each
+ * power of two, so percentiles are accurate to within about 25%.</p>
+ */
+public class Profiler {
+
+    public static final int SAMPLE_RATE = 64;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private volatile boolean enabled = false;
+    private volatile long since = System.currentTimeMillis();
+
+    /**
+     * Gets the timer with the given name, creating it if required. Callers should keep hold of the returned timer
+     * rather than looking it up each time.
+     *
+     * @param category The {@link Category} of the timer.
+     * @param name The name of the timer.
+     * @return The {@link Timer}.
+     */
+    public Timer getTimer(Category category, String name) {
+        return timers.computeIfAbsent(category.name() + ":" + name, k -> new Timer(this, category, name));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether every call is timed, and resets all timers so that the results are not mixed.
+     *
+     * @param enabled <code>true</code> to time every call, <code>false</code> to only sample.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        reset();
+    }
+
+    /**
+     * Gets the time that the timers were last reset.
+     *
+     * @return The time, in milliseconds since the epoch.
+     */
+    public long getSince() {
+        return since;
+    }
+
+    public void reset() {
+        since = System.currentTimeMillis();
+        timers.values().forEach(Timer::reset);
+    }
+
+    /**
+     * Gets the timers in the given category that have been called, with the most total time first.
+     *
+     * @param category The {@link Category}.
+     * @return The timers.
+     */
+    public List<Timer> getTimers(Category category) {
+        return timers.values().stream().filter(x -> x.category == category && x.getCalls() > 0)
+                .sorted(Comparator.comparingLong(Timer::getEstimatedTotalNanos).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets every timer that has been called, as lines of CSV with a header.
+     *
+     * @return The lines.
+     */
+    public List<String> toCsv() {
+        List<String> lines = Lists.newArrayList("category,name,calls,timed_calls,estimated_total_ms,mean_us,p50_us,p99_us,max_us");
+        for (Category category : Category.values()) {
+            for (Timer timer : getTimers(category)) {
+                lines.add(String.format(Locale.ROOT, "%s,\"%s\",%d,%d,%.3f,%.1f,%.1f,%.1f,%.1f", category.name(),
+                        timer.name.replace("\"", "\"\""), timer.getCalls(), timer.getTimedCalls(), timer.getEstimatedTotalNanos() / 1e6,
+                        timer.getMeanNanos() / 1e3, timer.getPercentileNanos(0.5) / 1e3, timer.getPercentileNanos(0.99) / 1e3,
+                        timer.getMaxNanos() / 1e3));
+            }
+        }
+
+        return lines;
+    }
+
+    public enum Category {
+        COMMAND,
+        LISTENER,
+        TASK
+    }
+
+    public static final class Timer {
+
+        // Four buckets for each power of two up to 2^63 nanoseconds.
+        private static final int BUCKETS = 64 * 4;
+
+        private final Profiler profiler;
+        private final Category category;
+        private final String name;
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder timedCalls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        // Only used to decide which calls to sample, so a lost update does not matter.
+        private int counter = 0;
+
+        private Timer(Profiler profiler, Category category, String name) {
+            this.profiler = profiler;
+            this.category = category;
+            this.name = name;
+        }
+
+        /**
+         * Starts timing a call.
+         *
+         * @return The value to pass to {@link #stop(long)}.
+         */
+        public long start() {
+            if (!profiler.enabled && ++counter % SAMPLE_RATE != 0) {
+                return 0;
+            }
+
+            return System.nanoTime();
+        }
+
+        /**
+         * Records a call.
+         *
+         * @param start The value returned by {@link #start()}.
+         */
+        public void stop(long start) {
+            calls.increment();
+            if (start == 0) {
+                return;
+            }
+
+            long nanos = Math.max(0, System.nanoTime() - start);
+            timedCalls.increment();
+            totalNanos.add(nanos);
+            histogram.incrementAndGet(bucket(nanos));
+
+            long max;
+            while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+                // Try again.
+            }
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getTimedCalls() {
+            return timedCalls.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public double getMeanNanos() {
+            long timed = getTimedCalls();
+            return timed == 0 ? 0 : (double) totalNanos.sum() / timed;
+        }
+
+        /**
+         * Gets the total time spent in this timer, scaled up from the calls that were timed if only some were.
+         *
+         * @return The time, in nanoseconds.
+         */
+        public long getEstimatedTotalNanos() {
+            return (long) (getMeanNanos() * getCalls());
+        }
+
+        /**
+         * Gets the upper bound of the histogram bucket that holds the given percentile.
+         *
+         * @param percentile The percentile, between 0 and 1.
+         * @return The time, in nanoseconds.
+         */
+        public double getPercentileNanos(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), getMaxNanos());
+                }
+            }
+
+            return getMaxNanos();
+        }
+
+        private void reset() {
+            calls.reset();
+            timedCalls.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram.set(i, 0);
+            }
+        }
+
+        private static int bucket(long nanos) {
+            if (nanos < 4) {
+                return (int) nanos;
+            }
+
+            int msb = 63 - Long.numberOfLeadingZeros(nanos);
+            return (msb << 2) | (int) ((nanos >>> (msb - 2)) & 3);
+        }
+
+        private static double upperBound(int bucket) {
+            if (bucket < 4) {
+                return bucket;
+            }
+
+            int msb = bucket >>> 2;
+            int sub = bucket & 3;
+            return Math.scalb((double) (4 + sub + 1), msb - 2) - 1;
+        }
+    }
+}
@@ -12,27 +12,67 @@ import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import uk.co.drnaylor.quickstart.config.AbstractAdaptableConfig;
 import uk.co.drnaylor.quickstart.config.AbstractConfigAdapter;
 
+/**
+ * Adapts a section of the main config to an object.
+ *
+ * <p>Mapping the config to an object is slow, so {@link #getNodeOrDefault()} returns a snapshot that is only mapped
+ * again when the config is loaded or reloaded, or is changed through {@link #update(Object)}. The snapshot is shared
+ * by every caller and must not be changed. To change the config, get a fresh copy with {@link #getNode()}.</p>
+ *
+ * @param <R> The type of the config object.
+ */
 public abstract class NucleusConfigAdapter<R> extends AbstractConfigAdapter<R> {
 
     @Inject private NucleusPlugin plugin;
 
+    private volatile R snapshot = null;
+
     @Override
     @SuppressWarnings("unchecked")
     public void onAttach(String module, AbstractAdaptableConfig<?, ?> adapter) {
         plugin.preInjectorUpdate((Class)this.getClass(), this);
+        plugin.registerConfigAdapter(this);
     }
 
     public final R getNodeOrDefault() {
+        R s = snapshot;
+        if (s != null) {
+            return s;
+        }
+
+        return refreshSnapshot();
+    }
+
+    /**
+     * Maps the config to an object again, and swaps it in as the snapshot that {@link #getNodeOrDefault()} returns.
+     *
+     * @return The new snapshot.
+     */
+    public final R refreshSnapshot() {
+        R node = null;
         try {
-            R node = getNode();
-            if (node != null) {
-                return node;
-            }
+            node = getNode();
         } catch (ObjectMappingException e) {
             //
         }
 
-        return getDefaultObject();
+        if (node == null) {
+            node = getDefaultObject();
+        }
+
+        snapshot = node;
+        return node;
+    }
+
+    /**
+     * Writes the object to the config, and makes it the snapshot.
+     *
+     * @param node The config object.
+     * @throws ObjectMappingException if the object could not be written.
+     */
+    public final void update(R node) throws ObjectMappingException {
+        setNode(node);
+        refreshSnapshot();
     }
 
     protected abstract R getDefaultObject();
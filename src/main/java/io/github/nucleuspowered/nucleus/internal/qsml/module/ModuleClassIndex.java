@@ -0,0 +1,79 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.qsml.module;
+
+import com.google.common.collect.Lists;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * The commands, listeners and tasks of the modules, sorted by package, so that each module can find its own without
+ * going through every class that was found.
+ *
+ * <p>The classes normally come from the index that the build writes, see {@link #fromIndexFile(ClassLoader)}. If
+ * there is no index, such as when the plugin has been compiled without the annotation processor, the classes found by
+ * module discovery are used instead.</p>
+ */
+public class ModuleClassIndex {
+
+    // Written by ModuleIndexProcessor, which is only on the compile classpath.
+    private static final String INDEX_FILE = "META-INF/nucleus/module-index";
+
+    private final NavigableMap<String, List<Class<?>>> byPackage = new TreeMap<>();
+
+    /**
+     * Reads the index of module classes written when the plugin was compiled.
+     *
+     * @param classLoader The {@link ClassLoader} to read the index and load the classes with.
+     * @return The {@link ModuleClassIndex}, or {@link Optional#empty()} if there is no index.
+     * @throws IOException if the index could not be read.
+     * @throws ClassNotFoundException if a class in the index does not exist.
+     */
+    public static Optional<ModuleClassIndex> fromIndexFile(ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        InputStream stream = classLoader.getResourceAsStream(INDEX_FILE);
+        if (stream == null) {
+            return Optional.empty();
+        }
+
+        List<Class<?>> classes = Lists.newArrayList();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    classes.add(Class.forName(line, false, classLoader));
+                }
+            }
+        }
+
+        return Optional.of(new ModuleClassIndex(classes));
+    }
+
+    public ModuleClassIndex(Collection<Class<?>> classes) {
+        for (Class<?> clazz : classes) {
+            byPackage.computeIfAbsent(clazz.getPackage().getName() + ".", k -> Lists.newArrayList()).add(clazz);
+        }
+    }
+
+    /**
+     * Gets the classes in the given package and the packages under it.
+     *
+     * @param packageName The package name, ending with a dot.
+     * @return The classes.
+     */
+    public List<Class<?>> getClasses(String packageName) {
+        List<Class<?>> result = Lists.newArrayList();
+        byPackage.subMap(packageName, true, packageName + Character.MAX_VALUE, true).values().forEach(result::addAll);
+        return result;
+    }
+}
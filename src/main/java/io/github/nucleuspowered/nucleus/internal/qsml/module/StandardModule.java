@@ -18,8 +18,8 @@ import io.github.nucleuspowered.nucleus.internal.annotations.SkipOnError;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.CommandBuilder;
 import io.github.nucleuspowered.nucleus.internal.docgen.DocGenCache;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.playerinfo.handlers.SeenHandler;
-import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.User;
@@ -29,8 +29,8 @@ import uk.co.drnaylor.quickstart.Module;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 import uk.co.drnaylor.quickstart.config.AbstractConfigAdapter;
 
-import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -42,6 +42,7 @@ public abstract class StandardModule implements Module {
     private final String moduleId;
     private final String moduleName;
     private String packageName;
+    private List<Class<?>> moduleClasses;
     @Inject protected NucleusPlugin plugin;
     @Inject protected InternalServiceManager serviceManager;
 
@@ -77,11 +78,13 @@ public abstract class StandardModule implements Module {
     @Override
     public void onEnable() {
         packageName = this.getClass().getPackage().getName() + ".";
+        moduleClasses = plugin.getModuleClassIndex().getClasses(packageName);
 
         // Construct commands
         loadCommands();
         loadEvents();
         loadRunnables();
+        moduleClasses = null;
     }
 
     @SuppressWarnings("unchecked")
@@ -102,13 +105,8 @@ public abstract class StandardModule implements Module {
         CommandBuilder builder = new CommandBuilder(plugin, injector, cmds, moduleId, moduleName);
         commandBases.forEach(builder::buildCommand);
 
-        try {
-            commandsConfig.mergeDefaults(builder.getNodeToMerge());
-            commandsConfig.save();
-        } catch (IOException | ObjectMappingException e) {
-            plugin.getLogger().error("Could not save defaults.");
-            e.printStackTrace();
-        }
+        // The plugin saves this once every module has loaded, rather than once for each module.
+        commandsConfig.mergeDefaults(builder.getNodeToMerge());
     }
 
     @SuppressWarnings("unchecked")
@@ -138,7 +136,15 @@ public abstract class StandardModule implements Module {
             c.getPermissions().forEach((k, v) -> plugin.getPermissionRegistry().registerOtherPermission(k, v));
             docGenCache.ifPresent(x -> x.addPermissionDocs(moduleId, c.getPermissions()));
             TaskBase.TimePerRun tpr = c.interval();
-            Task.Builder tb = Sponge.getScheduler().createTaskBuilder().execute(c).interval(tpr.getTime(), tpr.getUnit());
+            Profiler.Timer timer = plugin.getProfiler().getTimer(Profiler.Category.TASK, c.getClass().getSimpleName());
+            Task.Builder tb = Sponge.getScheduler().createTaskBuilder().execute(task -> {
+                long start = timer.start();
+                try {
+                    c.accept(task);
+                } finally {
+                    timer.stop(start);
+                }
+            }).interval(tpr.getTime(), tpr.getUnit());
             if (c.isAsync()) {
                 tb.async();
             }
@@ -149,9 +155,7 @@ public abstract class StandardModule implements Module {
 
     @SuppressWarnings("unchecked")
     private <T> Stream<Class<? extends T>> getStreamForModule(Class<T> assignableClass) {
-        return plugin.getModuleContainer().getLoadedClasses().stream().filter(assignableClass::isAssignableFrom)
-                .filter(x -> x.getPackage().getName().startsWith(packageName))
-                .map(x -> (Class<? extends T>)x);
+        return moduleClasses.stream().filter(assignableClass::isAssignableFrom).map(x -> (Class<? extends T>)x);
     }
 
     protected void performPreTasks() throws Exception { }
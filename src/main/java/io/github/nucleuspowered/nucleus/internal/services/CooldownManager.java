@@ -0,0 +1,220 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.api.service.NucleusCooldownService;
+import io.github.nucleuspowered.nucleus.dataservices.UserService;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the cooldowns for all commands.
+ *
+ * <p>Cooldowns are stored as the epoch millisecond that they end at. Each cooldown is also added to a queue
+ * ordered by end time, and expired cooldowns are taken from the head of the queue as the store is used,
+ * rather than by scanning every entry. A cooldown that is replaced or removed is taken out of the queue too, so
+ * the queue never holds more than one entry for each cooldown.</p>
+ *
+ * <p>Cooldowns at least as long as the configured threshold are also written to the player's data file, and
+ * are restored when the player next logs in.</p>
+ */
+public class CooldownManager implements NucleusCooldownService {
+
+    private final NucleusPlugin plugin;
+
+    private final Map<Key, Expiry> cooldowns = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<Expiry> expiryQueue = new PriorityBlockingQueue<>();
+    private final Set<Key> persisted = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock expiryLock = new ReentrantLock();
+
+    // Milliseconds, -1 until read from the config.
+    private volatile long persistThreshold = -1;
+
+    public CooldownManager(NucleusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public Optional<Duration> getCooldown(UUID player, String id) {
+        long now = System.currentTimeMillis();
+        expire(now);
+
+        Expiry expiry = cooldowns.get(new Key(player, id));
+        if (expiry == null || expiry.end <= now) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Duration.ofMillis(expiry.end - now));
+    }
+
+    @Override
+    public void setCooldown(UUID player, String id, Duration duration) {
+        Preconditions.checkNotNull(player);
+        Preconditions.checkNotNull(id);
+        Preconditions.checkArgument(!duration.isNegative());
+
+        long now = System.currentTimeMillis();
+        expire(now);
+
+        Key key = new Key(player, id);
+        long end = now + duration.toMillis();
+        put(key, end);
+
+        long threshold = getPersistThreshold();
+        if (threshold > 0 && duration.toMillis() >= threshold) {
+            plugin.getUserDataManager().get(player).ifPresent(x -> x.setCooldown(id, end));
+            persisted.add(key);
+        } else if (persisted.remove(key)) {
+            plugin.getUserDataManager().get(player).ifPresent(x -> x.removeCooldown(id));
+        }
+    }
+
+    @Override
+    public boolean removeCooldown(UUID player, String id) {
+        long now = System.currentTimeMillis();
+        Key key = new Key(player, id);
+        Expiry expiry = cooldowns.remove(key);
+        if (expiry != null) {
+            expiryQueue.remove(expiry);
+        }
+
+        if (persisted.remove(key)) {
+            plugin.getUserDataManager().get(player).ifPresent(x -> x.removeCooldown(id));
+        }
+
+        expire(now);
+        return expiry != null && expiry.end > now;
+    }
+
+    /**
+     * Restores the cooldowns that were saved to a player's data file.
+     *
+     * @param userService The {@link UserService} of the player who has logged in.
+     */
+    public void restore(UserService userService) {
+        long now = System.currentTimeMillis();
+        userService.removeExpiredCooldowns(now);
+
+        UUID uuid = userService.getUniqueID();
+        userService.getCooldowns().forEach((id, end) -> {
+            Key key = new Key(uuid, id);
+            put(key, end);
+            persisted.add(key);
+        });
+    }
+
+    /**
+     * Forces the persistence threshold to be read from the config again.
+     */
+    public void onReload() {
+        persistThreshold = -1;
+    }
+
+    private void put(Key key, long end) {
+        Expiry expiry = new Expiry(key, end);
+        Expiry old = cooldowns.put(key, expiry);
+        if (old != null) {
+            expiryQueue.remove(old);
+        }
+
+        expiryQueue.add(expiry);
+    }
+
+    private void expire(long now) {
+        // Only one thread needs to do this, anyone else can carry on.
+        if (!expiryLock.tryLock()) {
+            return;
+        }
+
+        try {
+            Expiry head;
+            while ((head = expiryQueue.peek()) != null && head.end <= now) {
+                expiryQueue.poll();
+
+                // Only remove the cooldown if it has not been replaced since.
+                if (cooldowns.remove(head.key, head)) {
+                    persisted.remove(head.key);
+                }
+            }
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+
+    private long getPersistThreshold() {
+        long threshold = persistThreshold;
+        if (threshold < 0) {
+            try {
+                threshold = TimeUnit.SECONDS.toMillis(plugin.getModuleContainer().getConfigAdapterForModule("core", CoreConfigAdapter.class)
+                        .getNodeOrDefault().getCooldownPersistThreshold());
+            } catch (Exception e) {
+                threshold = 0;
+            }
+
+            persistThreshold = threshold;
+        }
+
+        return threshold;
+    }
+
+    private final static class Key {
+
+        private final UUID player;
+        private final String id;
+
+        private Key(UUID player, String id) {
+            this.player = player;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return player.equals(key.player) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(player, id);
+        }
+    }
+
+    // Equality is identity, so that the entry for one particular cooldown can be taken out of the queue.
+    private final static class Expiry implements Comparable<Expiry> {
+
+        private final Key key;
+        private final long end;
+
+        private Expiry(Key key, long end) {
+            this.key = key;
+            this.end = end;
+        }
+
+        @Override
+        public int compareTo(Expiry o) {
+            return Long.compare(end, o.end);
+        }
+    }
+}
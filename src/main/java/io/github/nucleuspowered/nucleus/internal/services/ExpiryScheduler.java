@@ -0,0 +1,139 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Runs the actions for jails, mutes and warnings that run out at a set time.
+ *
+ * <p>Each user has at most one deadline of each {@link Type}, kept in a queue ordered by time. {@link #tick()} only
+ * looks at the deadlines that have passed, so it costs the same however many players are online. A deadline that has
+ * been replaced or cancelled stays in the queue until it is due, and is then ignored. The actions should check that
+ * the punishment really has run out, as it may have been changed without going through here.</p>
+ */
+public class ExpiryScheduler {
+
+    public enum Type {
+        JAIL,
+        MUTE,
+        WARNING
+    }
+
+    private final Map<Type, Consumer<UUID>> actions = new EnumMap<>(Type.class);
+    private final Map<Key, Deadline> current = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<Deadline> deadlines = new PriorityBlockingQueue<>();
+
+    /**
+     * Sets the action to run when a deadline of the given type passes. Modules should call this while they are
+     * loading.
+     *
+     * @param type The {@link Type}.
+     * @param action The action, which is given the {@link UUID} of the user and is run on the main thread.
+     */
+    public void registerAction(Type type, Consumer<UUID> action) {
+        Preconditions.checkNotNull(type);
+        Preconditions.checkNotNull(action);
+        actions.put(type, action);
+    }
+
+    /**
+     * Sets when the punishment of the given type ends for a user, replacing any earlier deadline.
+     *
+     * @param uuid The {@link UUID} of the user.
+     * @param type The {@link Type}.
+     * @param expiry When the punishment ends.
+     */
+    public void schedule(UUID uuid, Type type, Instant expiry) {
+        Deadline deadline = new Deadline(new Key(uuid, type), expiry.toEpochMilli());
+        current.put(deadline.key, deadline);
+        deadlines.add(deadline);
+    }
+
+    /**
+     * Forgets the deadline of the given type for a user, if there is one.
+     *
+     * @param uuid The {@link UUID} of the user.
+     * @param type The {@link Type}.
+     */
+    public void cancel(UUID uuid, Type type) {
+        current.remove(new Key(uuid, type));
+    }
+
+    /**
+     * Runs the actions for the deadlines that have passed. Must be called on the main thread.
+     */
+    public void tick() {
+        long now = System.currentTimeMillis();
+        Deadline head;
+        while ((head = deadlines.peek()) != null && head.time <= now) {
+            deadlines.poll();
+            if (!current.remove(head.key, head)) {
+                // Replaced or cancelled.
+                continue;
+            }
+
+            Consumer<UUID> action = actions.get(head.key.type);
+            if (action != null) {
+                action.accept(head.key.uuid);
+            }
+        }
+    }
+
+    private static final class Key {
+
+        private final UUID uuid;
+        private final Type type;
+
+        private Key(UUID uuid, Type type) {
+            this.uuid = uuid;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return uuid.equals(key.uuid) && type == key.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uuid, type);
+        }
+    }
+
+    private static final class Deadline implements Comparable<Deadline> {
+
+        private final Key key;
+        private final long time;
+
+        private Deadline(Key key, long time) {
+            this.key = key;
+            this.time = time;
+        }
+
+        @Override
+        public int compareTo(Deadline o) {
+            return Long.compare(time, o.time);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.collect.Lists;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * A sorted, case insensitive index of the names of every known user, and the nicknames of the players that are
+ * online, for looking up users by the start of their name.
+ *
+ * <p>Entries are kept in a skip list keyed on the lower case name, so a prefix lookup only visits the entries that
+ * match, and stops once it has found as many as were asked for. All methods may be called from any thread.</p>
+ */
+public class NameIndex {
+
+    /**
+     * The most suggestions that should be offered for tab completion.
+     */
+    public static final int COMPLETION_LIMIT = 50;
+
+    private final Index names = new Index();
+    private final Index nicknames = new Index();
+    private volatile boolean ready = false;
+
+    /**
+     * Gets whether every known user has been added since the server started.
+     *
+     * @return <code>true</code> if so.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Adds or updates the name of a user.
+     *
+     * @param uuid The {@link UUID} of the user.
+     * @param name The name of the user.
+     */
+    public void setName(UUID uuid, String name) {
+        names.put(uuid, name, true);
+    }
+
+    /**
+     * Adds the name of a user if there is not already one for them, so that a name read from storage does not replace
+     * a newer one from a player who has just logged in.
+     *
+     * @param uuid The {@link UUID} of the user.
+     * @param name The name of the user.
+     */
+    public void addNameIfAbsent(UUID uuid, String name) {
+        names.put(uuid, name, false);
+    }
+
+    /**
+     * Sets the nickname of a player, which should already have had any formatting codes removed.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param nickname The nickname, or <code>null</code> to remove it.
+     */
+    public void setNickname(UUID uuid, @Nullable String nickname) {
+        if (nickname == null || nickname.isEmpty()) {
+            nicknames.remove(uuid);
+        } else {
+            nicknames.put(uuid, nickname, true);
+        }
+    }
+
+    /**
+     * Gets the users whose name starts with the given string, ignoring case, in order of name.
+     *
+     * @param prefix The start of the name.
+     * @param limit The most entries to return.
+     * @return The entries.
+     */
+    public List<Entry> getNames(String prefix, int limit) {
+        return names.startingWith(prefix, limit);
+    }
+
+    /**
+     * Gets the users whose name is the given string, ignoring case.
+     *
+     * @param name The name.
+     * @return The entries.
+     */
+    public List<Entry> getNamesExactly(String name) {
+        return names.exactly(name);
+    }
+
+    /**
+     * Gets the online players whose nickname starts with the given string, ignoring case, in order of nickname.
+     *
+     * @param prefix The start of the nickname.
+     * @param limit The most entries to return.
+     * @return The entries.
+     */
+    public List<Entry> getNicknames(String prefix, int limit) {
+        return nicknames.startingWith(prefix, limit);
+    }
+
+    /**
+     * Gets the online players whose nickname is the given string, ignoring case.
+     *
+     * @param nickname The nickname.
+     * @return The entries.
+     */
+    public List<Entry> getNicknamesExactly(String nickname) {
+        return nicknames.exactly(nickname);
+    }
+
+    public int size() {
+        return names.byKey.size();
+    }
+
+    public static final class Entry {
+
+        private final UUID uuid;
+        private final String name;
+
+        private Entry(UUID uuid, String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+
+        public UUID getUniqueId() {
+            return uuid;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final class Index {
+
+        // The key is the lower case name, then a separator that sorts before any other character, then the UUID, so
+        // that users who share a name are kept together and each user has exactly one key.
+        private static final char SEPARATOR = '\0';
+
+        private final ConcurrentSkipListMap<String, Entry> byKey = new ConcurrentSkipListMap<>();
+        private final Map<UUID, String> keys = new ConcurrentHashMap<>();
+
+        private void put(UUID uuid, String name, boolean replace) {
+            String key = fold(name) + SEPARATOR + uuid;
+            // Changes for one user are serialised by the map, so the old key is always removed.
+            keys.compute(uuid, (k, old) -> {
+                if (old != null) {
+                    if (!replace || old.equals(key)) {
+                        return old;
+                    }
+
+                    byKey.remove(old);
+                }
+
+                byKey.put(key, new Entry(uuid, name));
+                return key;
+            });
+        }
+
+        private void remove(UUID uuid) {
+            keys.computeIfPresent(uuid, (k, old) -> {
+                byKey.remove(old);
+                return null;
+            });
+        }
+
+        private List<Entry> startingWith(String prefix, int limit) {
+            String from = fold(prefix);
+            return take(byKey.subMap(from, true, from + Character.MAX_VALUE, true).values(), limit);
+        }
+
+        private List<Entry> exactly(String name) {
+            String from = fold(name) + SEPARATOR;
+            NavigableMap<String, Entry> matches = byKey.subMap(from, true, from + Character.MAX_VALUE, true);
+            return take(matches.values(), Integer.MAX_VALUE);
+        }
+
+        private static List<Entry> take(Collection<Entry> entries, int limit) {
+            List<Entry> result = Lists.newArrayList();
+            for (Entry entry : entries) {
+                if (result.size() >= limit) {
+                    break;
+                }
+
+                result.add(entry);
+            }
+
+            return result;
+        }
+
+        private static String fold(String name) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+    }
+}
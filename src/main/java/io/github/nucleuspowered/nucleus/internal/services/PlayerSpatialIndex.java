@@ -0,0 +1,265 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.collect.Lists;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps track of which chunk each online player is in, for each world, so that the players in a world or near a point
+ * can be found without looking at every player on the server.
+ *
+ * <p>Only the chunk of each player is stored, so the index only has to change when a player crosses into another
+ * chunk. Queries return the players in the chunks that could be in range, and exact distances are worked out by the
+ * caller from the players' real positions. Updates should be made on the main thread, queries may be made from any
+ * thread.</p>
+ */
+public class PlayerSpatialIndex {
+
+    // Cells are the size of a chunk.
+    private static final int CELL_SHIFT = 4;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final Map<UUID, Map<Long, Set<UUID>>> worlds = new ConcurrentHashMap<>();
+    private final Map<UUID, Cell> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Sets where a player is. This is cheap if the player has not left their chunk, so it may be called on every move.
+     *
+     * @param player The {@link UUID} of the player.
+     * @param world The {@link UUID} of the world the player is in.
+     * @param x The x co-ordinate of the player.
+     * @param z The z co-ordinate of the player.
+     */
+    public void update(UUID player, UUID world, double x, double z) {
+        int cellX = toCell(x);
+        int cellZ = toCell(z);
+        Cell old = cells.get(player);
+        if (old != null && old.x == cellX && old.z == cellZ && old.world.equals(world)) {
+            return;
+        }
+
+        if (old != null) {
+            removeFromCell(player, old);
+        }
+
+        Cell cell = new Cell(world, cellX, cellZ);
+        cells.put(player, cell);
+        worlds.computeIfAbsent(world, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cell.key(), k -> ConcurrentHashMap.newKeySet()).add(player);
+    }
+
+    /**
+     * Removes a player, such as when they log out.
+     *
+     * @param player The {@link UUID} of the player.
+     */
+    public void remove(UUID player) {
+        Cell old = cells.remove(player);
+        if (old != null) {
+            removeFromCell(player, old);
+        }
+    }
+
+    /**
+     * Gets the players in the given world.
+     *
+     * @param world The {@link UUID} of the world.
+     * @return The {@link UUID}s of the players.
+     */
+    public List<UUID> getPlayersInWorld(UUID world) {
+        Map<Long, Set<UUID>> grid = worlds.get(world);
+        if (grid == null) {
+            return Collections.emptyList();
+        }
+
+        List<UUID> result = Lists.newArrayList();
+        grid.values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Gets the players in the chunks that are within the given horizontal distance of a point. This includes every
+     * player that is in range, but may include some that are just out of range.
+     *
+     * @param world The {@link UUID} of the world.
+     * @param x The x co-ordinate of the point.
+     * @param z The z co-ordinate of the point.
+     * @param radius The distance from the point.
+     * @return The {@link UUID}s of the players.
+     */
+    public List<UUID> getPlayersNear(UUID world, double x, double z, double radius) {
+        Map<Long, Set<UUID>> grid = worlds.get(world);
+        if (grid == null) {
+            return Collections.emptyList();
+        }
+
+        int minX = toCell(x - radius);
+        int maxX = toCell(x + radius);
+        int minZ = toCell(z - radius);
+        int maxZ = toCell(z + radius);
+
+        List<UUID> result = Lists.newArrayList();
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > grid.size()) {
+            // There are fewer occupied chunks than chunks in range, so check the occupied chunks instead.
+            grid.forEach((k, v) -> {
+                int cx = cellX(k);
+                int cz = cellZ(k);
+                if (cx >= minX && cx <= maxX && cz >= minZ && cz <= maxZ) {
+                    result.addAll(v);
+                }
+            });
+        } else {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    Set<UUID> players = grid.get(key(cx, cz));
+                    if (players != null) {
+                        result.addAll(players);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the nearest player to a point, searching outwards one ring of chunks at a time, and stopping once no
+     * unsearched chunk can hold a nearer player.
+     *
+     * @param world The {@link UUID} of the world.
+     * @param x The x co-ordinate of the point.
+     * @param z The z co-ordinate of the point.
+     * @param filter Only players that pass this filter are considered.
+     * @param distanceSquared Gets the square of the distance of a player from the point. This must not be less than
+     *                        the square of the horizontal distance of the chunk the player is in.
+     * @return The {@link UUID} of the nearest player, if there is one.
+     */
+    public Optional<UUID> getNearestPlayer(UUID world, double x, double z, Predicate<UUID> filter, ToDoubleFunction<UUID> distanceSquared) {
+        Map<Long, Set<UUID>> grid = worlds.get(world);
+        if (grid == null) {
+            return Optional.empty();
+        }
+
+        Nearest nearest = new Nearest(filter, distanceSquared);
+        int centreX = toCell(x);
+        int centreZ = toCell(z);
+        long searched = 0;
+        for (int ring = 0; ; ring++) {
+            // Any player in this ring is at least this far away, as the point is somewhere in the centre chunk.
+            double minDistance = Math.max(0, ring - 1) * (double) CELL_SIZE;
+            if (nearest.uuid != null && minDistance * minDistance > nearest.distance) {
+                return Optional.of(nearest.uuid);
+            }
+
+            long ringSize = ring == 0 ? 1 : 8L * ring;
+            if (searched + ringSize > grid.size()) {
+                // It is now quicker to look at every occupied chunk.
+                grid.values().forEach(v -> v.forEach(nearest::offer));
+                return Optional.ofNullable(nearest.uuid);
+            }
+
+            if (ring == 0) {
+                nearest.offerAll(grid.get(key(centreX, centreZ)));
+            } else {
+                for (int i = -ring; i < ring; i++) {
+                    nearest.offerAll(grid.get(key(centreX + i, centreZ - ring)));
+                    nearest.offerAll(grid.get(key(centreX + ring, centreZ + i)));
+                    nearest.offerAll(grid.get(key(centreX - i, centreZ + ring)));
+                    nearest.offerAll(grid.get(key(centreX - ring, centreZ - i)));
+                }
+            }
+
+            searched += ringSize;
+        }
+    }
+
+    public int size() {
+        return cells.size();
+    }
+
+    private void removeFromCell(UUID player, Cell cell) {
+        Map<Long, Set<UUID>> grid = worlds.get(cell.world);
+        if (grid != null) {
+            grid.computeIfPresent(cell.key(), (k, v) -> {
+                v.remove(player);
+                return v.isEmpty() ? null : v;
+            });
+        }
+    }
+
+    private static int toCell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int cellX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int cellZ(long key) {
+        return (int) key;
+    }
+
+    private static final class Cell {
+
+        private final UUID world;
+        private final int x;
+        private final int z;
+
+        private Cell(UUID world, int x, int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        private long key() {
+            return PlayerSpatialIndex.key(x, z);
+        }
+    }
+
+    private static final class Nearest {
+
+        private final Predicate<UUID> filter;
+        private final ToDoubleFunction<UUID> distanceSquared;
+        private UUID uuid = null;
+        private double distance = Double.MAX_VALUE;
+
+        private Nearest(Predicate<UUID> filter, ToDoubleFunction<UUID> distanceSquared) {
+            this.filter = filter;
+            this.distanceSquared = distanceSquared;
+        }
+
+        private void offerAll(Set<UUID> players) {
+            if (players != null) {
+                players.forEach(this::offer);
+            }
+        }
+
+        private void offer(UUID player) {
+            if (!filter.test(player)) {
+                return;
+            }
+
+            double d = distanceSquared.applyAsDouble(player);
+            if (d < distance) {
+                distance = d;
+                uuid = player;
+            }
+        }
+    }
+}
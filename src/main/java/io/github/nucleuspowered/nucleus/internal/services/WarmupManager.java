@@ -4,69 +4,185 @@
  */
 package io.github.nucleuspowered.nucleus.internal.services;
 
-import com.google.common.collect.Maps;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.CancellableTask;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.scheduler.Task;
 
-import javax.annotation.concurrent.GuardedBy;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Tracks pending warmups in a hashed timer wheel.
+ *
+ * <p>Each warmup is placed in the wheel slot for the tick that its task is due to run on. The wheel is
+ * advanced whenever a warmup is added or removed, and only the slots for the ticks that have passed
+ * are visited, so warmups that have completed are forgotten without scanning the scheduler.</p>
+ */
 public class WarmupManager implements NucleusWarmupManagerService {
 
-    private final Object mapLock = new Object();
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    // Lock free, so that checking for a warmup costs nothing for the players that don't have one.
+    private final Map<UUID, Entry> warmups = new ConcurrentHashMap<>();
+
+    private final Object wheelLock = new Object();
+    private final long origin = System.nanoTime();
+
+    @GuardedBy("wheelLock")
+    private final Set<Entry>[] wheel = createWheel();
 
-    @GuardedBy("mapLock")
-    private final Map<UUID, Task> warmupTasks = Maps.newHashMap();
+    @GuardedBy("wheelLock")
+    private long lastTick = 0;
 
     @Override
     public void addWarmup(UUID player, Task task) {
-        Task t;
-        synchronized (mapLock) {
-            t = warmupTasks.put(player, task);
-        }
+        Preconditions.checkNotNull(player);
+        Preconditions.checkNotNull(task);
 
-        if (t != null) {
-            t.cancel();
+        Entry old;
+        synchronized (wheelLock) {
+            long now = currentTick();
+            advance(now);
 
-            Consumer<Task> ct = t.getConsumer();
-            if (ct instanceof CancellableTask) {
-                ((CancellableTask) ct).onCancel();
+            Entry entry = new Entry(player, task, now + Math.max(1, TimeUnit.MILLISECONDS.toNanos(task.getDelay()) / TICK_NANOS + 1));
+            schedule(entry);
+            old = warmups.put(player, entry);
+            if (old != null) {
+                unschedule(old);
             }
         }
+
+        if (old != null) {
+            cancel(old.task);
+        }
     }
 
     @Override
     public boolean removeWarmup(UUID player) {
-        if (warmupTasks.containsKey(player)) {
-            Task t;
-            synchronized (mapLock) {
-                t = warmupTasks.remove(player);
-            }
+        Entry entry = warmups.remove(player);
+        if (entry == null) {
+            return false;
+        }
+
+        synchronized (wheelLock) {
+            unschedule(entry);
+            advance(currentTick());
+        }
+
+        return cancel(entry.task);
+    }
+
+    /**
+     * Returns whether the player might have a warmup running. This does not take a lock.
+     *
+     * @param player The {@link UUID} of the player.
+     * @return <code>true</code> if there is a warmup that has not yet been expired.
+     */
+    public boolean hasWarmup(UUID player) {
+        return warmups.containsKey(player);
+    }
 
-            if (t != null && t.cancel()) {
-                if (t.getConsumer() instanceof CancellableTask) {
-                    ((CancellableTask) t.getConsumer()).onCancel();
+    @Override
+    public void cleanup() {
+        synchronized (wheelLock) {
+            advance(currentTick());
+        }
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - origin) / TICK_NANOS;
+    }
+
+    @GuardedBy("wheelLock")
+    private void advance(long now) {
+        if (now <= lastTick) {
+            return;
+        }
+
+        // Each slot only needs visiting once, however far behind we are.
+        long from = Math.max(lastTick + 1, now - WHEEL_MASK);
+        for (long tick = from; tick <= now; tick++) {
+            Iterator<Entry> it = wheel[(int) (tick & WHEEL_MASK)].iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.deadline > now) {
+                    continue;
                 }
 
-                return true;
+                it.remove();
+                if (Sponge.getScheduler().getTaskById(entry.task.getUniqueId()).isPresent()) {
+                    // The server is behind, check again later.
+                    entry.deadline = now + 1;
+                    if ((int) (entry.deadline & WHEEL_MASK) == (int) (tick & WHEEL_MASK)) {
+                        // Would be put back into the slot we are iterating.
+                        entry.deadline++;
+                    }
+
+                    wheel[(int) (entry.deadline & WHEEL_MASK)].add(entry);
+                } else {
+                    warmups.remove(entry.player, entry);
+                }
             }
         }
 
+        lastTick = now;
+    }
+
+    @GuardedBy("wheelLock")
+    private void schedule(Entry entry) {
+        wheel[(int) (entry.deadline & WHEEL_MASK)].add(entry);
+    }
+
+    @GuardedBy("wheelLock")
+    private void unschedule(Entry entry) {
+        wheel[(int) (entry.deadline & WHEEL_MASK)].remove(entry);
+    }
+
+    private static boolean cancel(Task task) {
+        if (task.cancel()) {
+            Consumer<Task> ct = task.getConsumer();
+            if (ct instanceof CancellableTask) {
+                ((CancellableTask) ct).onCancel();
+            }
+
+            return true;
+        }
+
         return false;
     }
 
-    @Override
-    public void cleanup() {
-        synchronized (mapLock) {
-            warmupTasks.entrySet().stream().filter(v -> !Sponge.getGame().getScheduler().getScheduledTasks().contains(v.getValue()))
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList())
-                    .forEach(warmupTasks::remove);
+    @SuppressWarnings("unchecked")
+    private static Set<Entry>[] createWheel() {
+        Set<Entry>[] w = new Set[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            w[i] = Sets.newHashSet();
+        }
+
+        return w;
+    }
+
+    private final static class Entry {
+
+        private final UUID player;
+        private final Task task;
+        private long deadline;
+
+        private Entry(UUID player, Task task, long deadline) {
+            this.player = player;
+            this.task = task;
+            this.deadline = deadline;
         }
     }
 }
@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.Util;
 
 import java.io.Closeable;
@@ -18,8 +19,15 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 public class DateRotatableFileLogger implements Closeable {
 
     private final static Path nucleusBase = Paths.get("logs/plugin");
@@ -31,13 +39,34 @@ public class DateRotatableFileLogger implements Closeable {
     private final Function<String, String> formatter;
     private boolean isClosed = false;
 
+    // Null if files are compressed on the thread that rotates them.
+    @Nullable private final ExecutorService compressor;
+    private final Set<Path> compressing = ConcurrentHashMap.newKeySet();
+
     public DateRotatableFileLogger(String directory, String filenamePrefix, Function<String, String> formatter) throws IOException {
+        this(directory, filenamePrefix, formatter, false);
+    }
+
+    /**
+     * Creates a logger.
+     *
+     * @param directory The directory under the plugin log directory to write to.
+     * @param filenamePrefix The prefix for each log file name.
+     * @param formatter Formats each line before it is written.
+     * @param compressInBackground If <code>true</code>, rotated files are compressed on a separate thread, so that
+     *                             writing can continue straight away.
+     * @throws IOException if the directory could not be created.
+     */
+    public DateRotatableFileLogger(String directory, String filenamePrefix, Function<String, String> formatter, boolean compressInBackground)
+            throws IOException {
         Preconditions.checkNotNull(directory);
         Preconditions.checkNotNull(filenamePrefix);
 
         this.directory = nucleusBase.resolve(directory);
         this.filenamePrefix = filenamePrefix;
         this.formatter = formatter == null ? s -> s : formatter;
+        this.compressor = compressInBackground ? Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Nucleus Log Compressor - " + filenamePrefix).setDaemon(true).build()) : null;
         Files.createDirectories(this.directory);
     }
 
@@ -62,13 +91,9 @@ public class DateRotatableFileLogger implements Closeable {
             fileName = directory.toString() + "/" + filenamePrefix + "-" + DateTimeFormatter.ofPattern("yyyy-MM-dd").format(Instant.now().atZone(ZoneId.systemDefault())) + "-" + count + ".log";
             Path nextFile = Paths.get(fileName);
             if (Files.exists(nextFile)) {
-                try {
-                    Util.compressAndDeleteFile(nextFile);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                compress(nextFile);
             } else if (!Files.exists(Paths.get(fileName + ".gz"))) {
-                file = new LogFile(nextFile, formatter);
+                file = new LogFile(nextFile, formatter, this::compress);
                 go = true;
             }
         } while(!go);
@@ -92,7 +117,31 @@ public class DateRotatableFileLogger implements Closeable {
         logEntry(entry, true);
     }
 
+    /**
+     * Writes the entries without flushing them to disk. Entries are removed from the {@link Iterable} as they are written.
+     *
+     * @param entry The entries to write.
+     * @throws IOException if the entries could not be written.
+     */
+    public void writeEntry(Iterable<String> entry) throws IOException {
+        if (isClosed) {
+            throw new IllegalStateException();
+        }
+
+        logEntry(entry, true, false);
+    }
+
+    public void flush() throws IOException {
+        if (file != null && !file.isClosed()) {
+            file.flush();
+        }
+    }
+
     private void logEntry(Iterable<String> entry, boolean retryOnError) throws IOException {
+        logEntry(entry, retryOnError, true);
+    }
+
+    private void logEntry(Iterable<String> entry, boolean retryOnError, boolean flush) throws IOException {
         if (file == null || file.isClosed() || Instant.now().truncatedTo(ChronoUnit.DAYS).isAfter(currentDate)) {
             openFile();
         }
@@ -104,26 +153,63 @@ public class DateRotatableFileLogger implements Closeable {
                 iterator.remove();
             }
 
-            file.flush();
+            if (flush) {
+                file.flush();
+            }
         } catch (IOException e) {
             if (retryOnError) {
-                logEntry(entry, false);
+                logEntry(entry, false, flush);
             } else {
                 throw e;
             }
         }
     }
 
+    private void compress(Path path) {
+        if (compressor == null) {
+            compressNow(path);
+        } else if (compressing.add(path)) {
+            // Don't start a second job for a file that is already being compressed.
+            compressor.execute(() -> {
+                try {
+                    compressNow(path);
+                } finally {
+                    compressing.remove(path);
+                }
+            });
+        }
+    }
+
+    private static void compressNow(Path path) {
+        try {
+            Util.compressAndDeleteFile(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (isClosed) {
             return;
         }
 
-        if (file != null && !file.isClosed()) {
-            file.close();
-            file = null;
-            this.isClosed = true;
+        try {
+            if (file != null && !file.isClosed()) {
+                file.close();
+                file = null;
+                this.isClosed = true;
+            }
+        } finally {
+            if (compressor != null) {
+                // Let the last file finish compressing.
+                compressor.shutdown();
+                try {
+                    compressor.awaitTermination(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
         }
     }
 }
@@ -13,23 +13,32 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 class LogFile implements Closeable {
 
     private final Path location;
     private final Function<String, String> formatter;
+    private final Consumer<Path> onClose;
     private final BufferedWriter outputStream;
     private boolean isClosed = false;
 
     @Nonnull
     LogFile(final Path location, Function<String, String> stringFormatter) throws IOException {
+        this(location, stringFormatter, LogFile::compress);
+    }
+
+    @Nonnull
+    LogFile(final Path location, Function<String, String> stringFormatter, Consumer<Path> onClose) throws IOException {
         Preconditions.checkNotNull(location);
         Preconditions.checkNotNull(stringFormatter);
+        Preconditions.checkNotNull(onClose);
 
         this.location = location;
         this.outputStream = Files.newBufferedWriter(location);
         this.formatter = stringFormatter;
+        this.onClose = onClose;
     }
 
     @Nonnull
@@ -62,7 +71,15 @@ class LogFile implements Closeable {
         } finally {
             isClosed = true;
 
+            onClose.accept(location);
+        }
+    }
+
+    private static void compress(Path location) {
+        try {
             Util.compressAndDeleteFile(location);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 }
@@ -8,6 +8,7 @@ import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.api.data.NucleusUser;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
@@ -18,22 +19,26 @@ import org.spongepowered.api.event.filter.cause.Root;
 
 public class AdminListener extends ListenerBase {
 
+    private final Profiler.Timer moveTimer = createTimer("onPlayerMovement");
+    private final Profiler.Timer interactTimer = createTimer("onPlayerInteract");
+    private final Profiler.Timer interactBlockTimer = createTimer("onPlayerInteractBlock");
+
     @Inject private UserDataManager ucl;
     @Inject private CoreConfigAdapter cca;
 
     @Listener
     public void onPlayerMovement(DisplaceEntityEvent.Move event, @Root Player player) {
-        event.setCancelled(checkForFrozen(player, "freeze.cancelmove"));
+        time(moveTimer, () -> event.setCancelled(checkForFrozen(player, "freeze.cancelmove")));
     }
 
     @Listener
-    public void onPlayerInteractBlock(InteractEvent event, @Root Player player) {
-        event.setCancelled(checkForFrozen(player, "freeze.cancelinteract"));
+    public void onPlayerInteract(InteractEvent event, @Root Player player) {
+        time(interactTimer, () -> event.setCancelled(checkForFrozen(player, "freeze.cancelinteract")));
     }
 
     @Listener
     public void onPlayerInteractBlock(InteractBlockEvent event, @Root Player player) {
-        event.setCancelled(checkForFrozen(player, "freeze.cancelinteractblock"));
+        time(interactBlockTimer, () -> event.setCancelled(checkForFrozen(player, "freeze.cancelinteractblock")));
     }
 
     private boolean checkForFrozen(Player player, String message) {
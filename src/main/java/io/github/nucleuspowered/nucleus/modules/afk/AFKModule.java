@@ -24,5 +24,6 @@ public class AFKModule extends ConfigurableModule<AFKConfigAdapter> {
         AFKHandler handler = new AFKHandler();
         plugin.getInjector().injectMembers(handler);
         serviceManager.registerService(AFKHandler.class, handler);
+        plugin.registerReloadable(handler::onReload);
     }
 }
@@ -4,8 +4,6 @@
  */
 package io.github.nucleuspowered.nucleus.modules.afk.handlers;
 
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
@@ -13,74 +11,84 @@ import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.modules.afk.commands.AFKCommand;
 import io.github.nucleuspowered.nucleus.modules.afk.config.AFKConfig;
 import io.github.nucleuspowered.nucleus.modules.afk.config.AFKConfigAdapter;
-import io.github.nucleuspowered.nucleus.util.Tuples;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.text.serializer.TextSerializers;
-import org.spongepowered.api.util.Identifiable;
-import org.spongepowered.api.util.Tuple;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Consumer;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.GuardedBy;
 
+/**
+ * Tracks player activity for the AFK module.
+ *
+ * <p>Activity only writes the time to the player's entry, so that it costs the same however many players are
+ * online. Each player has a deadline in a queue for when they would next go AFK, and for when they would be
+ * kicked. {@link #updateAfkStatus()} only looks at the deadlines that have passed, and if the player has been
+ * active since the deadline was set, puts it back in the queue for the new time.</p>
+ */
 public class AFKHandler {
 
+    private static final int EXEMPT_TOGGLE = 1;
+    private static final int EXEMPT_KICK = 1 << 1;
+    private static final long PERMISSION_CACHE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
     @Inject private NucleusPlugin plugin;
     @Inject private AFKConfigAdapter aca;
     @Inject private PermissionRegistry permissionRegistry;
 
-    @GuardedBy("setLock")
-    private final Set<Player> staged = Sets.newHashSet();
-    private final Map<UUID, Data> afkData = Maps.newHashMap();
+    private final Map<UUID, Data> afkData = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<Deadline> deadlines = new PriorityBlockingQueue<>();
     private final String exempttoggle = "exempt.toggle";
     private final String exemptkick = "exempt.kick";
 
-    private final Object setLock = new Object();
+    private volatile boolean rescheduleRequested = false;
 
     private CommandPermissionHandler s = null;
 
-    public void stageUserActivityUpdate(Player player) {
-        synchronized (setLock) {
-            staged.add(player);
-        }
+    /**
+     * Starts tracking a player who has joined.
+     *
+     * @param player The {@link Player}.
+     */
+    public void onJoin(Player player) {
+        Data data = new Data(player.getUniqueId());
+        afkData.put(player.getUniqueId(), data);
+        schedule(data);
     }
 
     /**
-     * Updates all staged users.
+     * Stops tracking a player who has left.
+     *
+     * @param uuid The {@link UUID} of the player.
      */
-    public void updateUserActivity() {
-        Set<Player> thisRun;
-        synchronized (setLock) {
-            thisRun = Sets.newHashSet(staged);
-            staged.clear();
-        }
-
-        Instant now = Instant.now();
-        thisRun.stream().filter(User::isOnline).forEach(x -> updateUserActivity(x, now));
+    public void onLeave(UUID uuid) {
+        afkData.remove(uuid);
     }
 
     /**
-     * Updates a specific user.
+     * Records activity from a player. This does not take a lock unless the player was AFK.
      *
      * @param player The {@link Player} of the user to update.
      */
     public void updateUserActivity(Player player) {
-        synchronized (setLock) {
-            staged.remove(player);
+        Data data = afkData.get(player.getUniqueId());
+        if (data == null) {
+            onJoin(player);
+            return;
         }
 
-        updateUserActivity(player, Instant.now());
+        data.lastActivity = System.nanoTime();
+        if (data.afk) {
+            returnFromAfk(player, data);
+        }
     }
 
     /**
@@ -90,7 +98,8 @@ public class AFKHandler {
      * @return If they are AFK.
      */
     public boolean isAfk(Player player) {
-        return afkData.getOrDefault(player.getUniqueId(), new Data()).afk;
+        Data data = afkData.get(player.getUniqueId());
+        return data != null && data.afk;
     }
 
     /**
@@ -101,11 +110,11 @@ public class AFKHandler {
      */
     public boolean setAsAfk(Player player) {
         if (!getPermissionUtil().testSuffix(player, exempttoggle)) {
-            UUID uuid = player.getUniqueId();
-            Data data = afkData.get(uuid);
+            Data data = afkData.get(player.getUniqueId());
             if (data == null) {
-                data = new Data();
-                afkData.put(uuid, data);
+                data = new Data(player.getUniqueId());
+                afkData.put(player.getUniqueId(), data);
+                schedule(data);
             }
 
             data.afk = true;
@@ -117,81 +126,168 @@ public class AFKHandler {
     }
 
     /**
-     * Updates all players' AFK status if they are inactive.
+     * Makes players AFK, or kicks them, if their deadline has passed. Must be called on the main thread.
      */
     public void updateAfkStatus() {
-        purgeNotOnline();
-        final AFKConfig config = aca.getNodeOrDefault();
+        if (rescheduleRequested) {
+            rescheduleRequested = false;
+            deadlines.clear();
+            afkData.values().forEach(x -> {
+                synchronized (x) {
+                    x.afkQueued = false;
+                }
 
-        long afkTime = config.getAfkTime();
-        long afkTimeKick = config.getAfkTimeToKick();
-        Instant now = Instant.now();
-        CommandPermissionHandler cph = getPermissionUtil();
-        if (afkTime > 0) {
-            workOnAfkPlayers(now.minus(afkTime, ChronoUnit.SECONDS), cph, exempttoggle, x -> !x.getValue().afk, x -> {
-                x.getSecond().afk = true;
-                sendAFKMessage(x.getFirst(), true);
+                schedule(x);
             });
         }
 
-        if (afkTimeKick > 0) {
-            workOnAfkPlayers(now.minus(afkTimeKick, ChronoUnit.SECONDS), cph, exemptkick, x -> true, x -> {
-                String message = config.getMessages().getKickMessage().trim();
-                if (message.isEmpty()) {
-                    message = NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("afk.kickreason");
-                }
+        final AFKConfig config = aca.getNodeOrDefault();
+        long now = System.nanoTime();
+        Deadline head;
+        while ((head = deadlines.peek()) != null && head.time - now <= 0) {
+            deadlines.poll();
+            Data data = head.data;
+            if (afkData.get(data.uuid) != data) {
+                // The player has left.
+                continue;
+            }
 
-                final String messageToServer = config.getMessages().getOnKick().trim();
-                final String messageToGetAroundJavaRestrictions = message;
-                Sponge.getScheduler().createSyncExecutor(plugin).execute(() -> x.getFirst().kick(TextSerializers.FORMATTING_CODE.deserialize(messageToGetAroundJavaRestrictions)));
-                if (!messageToServer.isEmpty()) {
-                    MessageChannel mc;
-                    if (config.isBroadcastOnKick()) {
-                        mc = MessageChannel.TO_ALL;
-                    } else {
-                        mc = MessageChannel.permission(getPermissionUtil().getPermissionWithSuffix("notify"));
-                    }
-
-                    mc.send(plugin.getChatUtil().getPlayerMessageFromTemplate(messageToServer, x.getFirst(), true));
-                }
-            });
+            Optional<Player> player = Sponge.getServer().getPlayer(data.uuid);
+            if (!player.isPresent()) {
+                afkData.remove(data.uuid, data);
+                continue;
+            }
+
+            if (head.kick) {
+                checkKick(player.get(), data, config, now);
+            } else {
+                checkAfk(player.get(), data, config, now);
+            }
         }
     }
 
     /**
-     * Remove all those who are not online from the data pool.
+     * Sets all deadlines again the next time the status is updated, for when the config has changed.
      */
-    private void purgeNotOnline() {
-        Set<UUID> uuids = Sponge.getServer().getOnlinePlayers().stream()
-                .map(Identifiable::getUniqueId).collect(Collectors.toSet());
-        afkData.entrySet().removeIf(x -> !uuids.contains(x.getKey()));
+    public void onReload() {
+        rescheduleRequested = true;
     }
 
-    private void workOnAfkPlayers(Instant now, CommandPermissionHandler cph, String permissionSuffix, Predicate<Map.Entry<UUID, Data>> firstCheck, Consumer<Tuple<Player, Data>> forEach) {
-        afkData.entrySet().stream()
-                .filter(firstCheck)
-                .filter(x -> x.getValue().lastActivity.isBefore(now))
-                .map(x -> Tuples.of(Sponge.getServer().getPlayer(x.getKey()).orElse(null), x.getValue()))
-                .filter(x -> x.getFirst() != null && !cph.testSuffix(x.getFirst(), permissionSuffix))
-                .forEach(forEach);
+    private void checkAfk(Player player, Data data, AFKConfig config, long now) {
+        long afkTime = TimeUnit.SECONDS.toNanos(config.getAfkTime());
+        synchronized (data) {
+            if (afkTime <= 0 || data.afk) {
+                // Will be scheduled again when they come back, or the config changes.
+                data.afkQueued = false;
+                return;
+            }
+        }
+
+        long due = data.lastActivity + afkTime;
+        if (due - now > 0) {
+            deadlines.add(new Deadline(data, due, false));
+            return;
+        }
+
+        if (isExempt(player, data, EXEMPT_TOGGLE, now)) {
+            deadlines.add(new Deadline(data, now + afkTime, false));
+            return;
+        }
+
+        synchronized (data) {
+            data.afkQueued = false;
+            data.afk = true;
+        }
+
+        sendAFKMessage(player, true);
     }
 
-    private void updateUserActivity(Player player, Instant now) {
-        UUID uuid = player.getUniqueId();
-        Data data = afkData.get(uuid);
-        if (data == null) {
-            afkData.put(uuid, new Data());
+    private void checkKick(Player player, Data data, AFKConfig config, long now) {
+        long kickTime = TimeUnit.SECONDS.toNanos(config.getAfkTimeToKick());
+        if (kickTime <= 0) {
+            // Will be scheduled again when the config changes.
+            return;
+        }
+
+        long due = data.lastActivity + kickTime;
+        if (due - now > 0) {
+            deadlines.add(new Deadline(data, due, true));
             return;
         }
 
-        data.lastActivity = now;
+        if (isExempt(player, data, EXEMPT_KICK, now)) {
+            deadlines.add(new Deadline(data, now + kickTime, true));
+            return;
+        }
+
+        String message = config.getMessages().getKickMessage().trim();
+        if (message.isEmpty()) {
+            message = NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("afk.kickreason");
+        }
+
+        final String messageToServer = config.getMessages().getOnKick().trim();
+        player.kick(TextSerializers.FORMATTING_CODE.deserialize(message));
+        if (!messageToServer.isEmpty()) {
+            MessageChannel mc;
+            if (config.isBroadcastOnKick()) {
+                mc = MessageChannel.TO_ALL;
+            } else {
+                mc = MessageChannel.permission(getPermissionUtil().getPermissionWithSuffix("notify"));
+            }
+
+            mc.send(plugin.getChatUtil().getPlayerMessageFromTemplate(messageToServer, player, true));
+        }
+    }
+
+    private void returnFromAfk(Player player, Data data) {
+        synchronized (data) {
+            if (!data.afk) {
+                return;
+            }
+
+            data.afk = false;
+            if (!data.afkQueued) {
+                data.afkQueued = true;
+                deadlines.add(new Deadline(data, data.lastActivity + TimeUnit.SECONDS.toNanos(aca.getNodeOrDefault().getAfkTime()), false));
+            }
+        }
 
         // Only tell players that this player is AFK if they are supposed to be able to go AFK in the first place.
-        if (data.afk && player.isOnline() && !getPermissionUtil().testSuffix(player, exempttoggle)) {
+        if (player.isOnline() && !isExempt(player, data, EXEMPT_TOGGLE, System.nanoTime())) {
             sendAFKMessage(player, false);
         }
+    }
+
+    private void schedule(Data data) {
+        // The real deadlines are worked out when these come off the queue.
+        long now = System.nanoTime();
+        synchronized (data) {
+            if (!data.afkQueued) {
+                data.afkQueued = true;
+                deadlines.add(new Deadline(data, now, false));
+            }
+        }
+
+        deadlines.add(new Deadline(data, now, true));
+    }
+
+    private boolean isExempt(Player player, Data data, int flag, long now) {
+        if (now - data.exemptionsResolved >= PERMISSION_CACHE_NANOS) {
+            CommandPermissionHandler cph = getPermissionUtil();
+            int exemptions = 0;
+            if (cph.testSuffix(player, exempttoggle)) {
+                exemptions |= EXEMPT_TOGGLE;
+            }
+
+            if (cph.testSuffix(player, exemptkick)) {
+                exemptions |= EXEMPT_KICK;
+            }
+
+            data.exemptions = exemptions;
+            data.exemptionsResolved = now;
+        }
 
-        data.afk = false;
+        return (data.exemptions & flag) != 0;
     }
 
     private void sendAFKMessage(Player player, boolean isAfk) {
@@ -220,8 +316,39 @@ public class AFKHandler {
         return s;
     }
 
-    private static class Data {
-        private Instant lastActivity = Instant.now();
-        private boolean afk = false;
+    private static final class Data {
+
+        private final UUID uuid;
+        private volatile long lastActivity = System.nanoTime();
+        private volatile boolean afk = false;
+
+        // Whether there is a deadline in the queue for going AFK.
+        @GuardedBy("this")
+        private boolean afkQueued = false;
+
+        private volatile int exemptions = 0;
+        private volatile long exemptionsResolved = System.nanoTime() - PERMISSION_CACHE_NANOS;
+
+        private Data(UUID uuid) {
+            this.uuid = uuid;
+        }
+    }
+
+    private static final class Deadline implements Comparable<Deadline> {
+
+        private final Data data;
+        private final long time;
+        private final boolean kick;
+
+        private Deadline(Data data, long time, boolean kick) {
+            this.data = data;
+            this.time = time;
+            this.kick = kick;
+        }
+
+        @Override
+        public int compareTo(Deadline o) {
+            return Long.compare(time, o.time);
+        }
     }
 }
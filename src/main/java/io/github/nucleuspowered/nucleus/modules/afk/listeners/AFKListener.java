@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.afk.listeners;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.annotations.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.afk.commands.AFKCommand;
 import io.github.nucleuspowered.nucleus.modules.afk.handlers.AFKHandler;
 import org.spongepowered.api.entity.living.player.Player;
@@ -26,6 +27,11 @@ import java.util.stream.Collectors;
 
 public class AFKListener extends ListenerBase {
 
+    private final Profiler.Timer interactTimer = createTimer("onPlayerInteract");
+    private final Profiler.Timer moveTimer = createTimer("onPlayerMove");
+    private final Profiler.Timer chatTimer = createTimer("onPlayerChat");
+    private final Profiler.Timer commandTimer = createTimer("onPlayerCommand");
+
     @Inject private AFKHandler handler;
     private final List<String> commands;
 
@@ -36,30 +42,37 @@ public class AFKListener extends ListenerBase {
 
     @Listener(order = Order.FIRST)
     public void onPlayerJoin(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
-        handler.stageUserActivityUpdate(player);
+        handler.onJoin(player);
+    }
+
+    @Listener
+    public void onPlayerLeave(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        handler.onLeave(player.getUniqueId());
     }
 
     @Listener(order = Order.LAST)
     public void onPlayerInteract(final InteractEvent event, @Root Player player) {
-        handler.stageUserActivityUpdate(player);
+        time(interactTimer, () -> handler.updateUserActivity(player));
     }
 
     @Listener(order = Order.LAST)
     public void onPlayerMove(final DisplaceEntityEvent event, @Root Player player) {
-        handler.stageUserActivityUpdate(player);
+        time(moveTimer, () -> handler.updateUserActivity(player));
     }
 
     @Listener
     public void onPlayerChat(final MessageChannelEvent.Chat event, @Root Player player) {
-        handler.stageUserActivityUpdate(player);
+        time(chatTimer, () -> handler.updateUserActivity(player));
     }
 
     @Listener
     public void onPlayerCommand(final SendCommandEvent event, @Root Player player) {
-        // Did the player run /afk? Then don't do anything, we'll toggle it
-        // anyway.
-        if (!commands.contains(event.getCommand().toLowerCase())) {
-            handler.stageUserActivityUpdate(player);
-        }
+        time(commandTimer, () -> {
+            // Did the player run /afk? Then don't do anything, we'll toggle it
+            // anyway.
+            if (!commands.contains(event.getCommand().toLowerCase())) {
+                handler.updateUserActivity(player);
+            }
+        });
     }
 }
@@ -22,11 +22,11 @@ public class AFKTask extends TaskBase {
 
     @Override
     public boolean isAsync() {
-        return true;
+        return false;
     }
 
     @Override
     public TimePerRun interval() {
-        return new TimePerRun(2, TimeUnit.SECONDS);
+        return new TimePerRun(1, TimeUnit.SECONDS);
     }
 }
@@ -4,6 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.modules.blacklist.listeners;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
@@ -12,6 +14,7 @@ import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.blacklist.config.BlacklistConfigAdapter;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.data.DataSerializable;
@@ -26,19 +29,21 @@ import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.filter.type.Include;
 import org.spongepowered.api.event.item.inventory.ChangeInventoryEvent;
 import org.spongepowered.api.event.item.inventory.DropItemEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.ItemTypes;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.item.inventory.ItemStackSnapshot;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class BlacklistListener extends ListenerBase {
 
+    private final Profiler.Timer interactBlockTimer = createTimer("onPlayerInteractBlock");
+
     @Inject private GeneralService store;
     @Inject private BlacklistConfigAdapter bca;
 
@@ -49,14 +54,24 @@ public class BlacklistListener extends ListenerBase {
     private final Function<BlockSnapshot, ItemType> blockId = b -> b.getState().getType().getItem().orElse(ItemTypes.NONE);
     private final Function<ItemStackSnapshot, ItemType> itemId = ItemStackSnapshot::getType;
 
-    private final Map<UUID, Instant> messageCache = Maps.newHashMap();
+    // Players who have been told about a blacklisted item in the last second.
+    private final Cache<UUID, Boolean> messageCache = CacheBuilder.newBuilder().expireAfterWrite(1, TimeUnit.SECONDS).maximumSize(1000).build();
+
+    // Permission checks are not free, and these events fire very often.
+    private final Cache<UUID, Boolean> bypassCache = CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).build();
+
+    @Listener
+    public void onPlayerLogout(ClientConnectionEvent.Disconnect event) {
+        UUID uuid = event.getTargetEntity().getUniqueId();
+        bypassCache.invalidate(uuid);
+        messageCache.invalidate(uuid);
+    }
 
     @Listener
     public void onPlayerChangeItem(ChangeInventoryEvent event, @Root Player player) {
         if (bca.getNodeOrDefault().isInventory()) {
-            List<ItemType> blacklistedTypes = store.getBlacklistedTypes();
             if (onTransaction(ItemStackSnapshot.class, player, event.getTransactions(), itemId, confiscateRoot)) {
-                if (player.getItemInHand().isPresent() && blacklistedTypes.contains(player.getItemInHand().get().getItem())) {
+                if (player.getItemInHand().isPresent() && store.isBlacklisted(player.getItemInHand().get().getItem())) {
                     player.setItemInHand(null);
                 }
             }
@@ -81,10 +96,12 @@ public class BlacklistListener extends ListenerBase {
 
     @Listener
     public void onPlayerInteractBlock(InteractBlockEvent event, @Root Player player) {
-        if (bca.getNodeOrDefault().isEnvironment()) {
-            event.setCancelled(onTransaction(BlockSnapshot.class, player, new Transaction<>(event.getTargetBlock(), event.getTargetBlock()), blockId,
-                    environmentRoot));
-        }
+        time(interactBlockTimer, () -> {
+            if (bca.getNodeOrDefault().isEnvironment()) {
+                event.setCancelled(onTransaction(BlockSnapshot.class, player, new Transaction<>(event.getTargetBlock(), event.getTargetBlock()), blockId,
+                        environmentRoot));
+            }
+        });
     }
 
     @Listener
@@ -121,16 +138,23 @@ public class BlacklistListener extends ListenerBase {
     @SuppressWarnings("unchecked")
     private <T extends DataSerializable> boolean onTransaction(Class<T> type, Player target, Collection<? extends Transaction<T>> transactions,
             Function<T, ItemType> toIdFunction, String descRoot) {
-        if (target.hasPermission(bypass)) {
+        if (!store.hasBlacklistedTypes()) {
             return false;
         }
 
-        List<ItemType> blacklistedTypes = store.getBlacklistedTypes();
-
         // Transactions that are blacklisted.
-        List<Transaction<T>> remove = Lists.newArrayList(transactions);
-        remove.removeIf(x -> !blacklistedTypes.contains(toIdFunction.apply(x.getFinal())));
-        if (remove.isEmpty()) {
+        List<Transaction<T>> remove = null;
+        for (Transaction<T> transaction : transactions) {
+            if (store.isBlacklisted(toIdFunction.apply(transaction.getFinal()))) {
+                if (remove == null) {
+                    remove = Lists.newArrayList();
+                }
+
+                remove.add(transaction);
+            }
+        }
+
+        if (remove == null || hasBypass(target)) {
             return false;
         }
 
@@ -147,7 +171,7 @@ public class BlacklistListener extends ListenerBase {
         });
 
         UUID u = target.getUniqueId();
-        if (!messageCache.containsKey(u) || messageCache.get(u).isAfter(Instant.now())) {
+        if (messageCache.getIfPresent(u) == null) {
             // Alert the user, but only once a second.
             if (remove.size() == 1) {
                 target.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat(descRoot + ".single", item));
@@ -155,15 +179,22 @@ public class BlacklistListener extends ListenerBase {
                 target.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat(descRoot + ".multiple", item));
             }
 
-            messageCache.put(u, Instant.now().plus(1, ChronoUnit.SECONDS));
-
-            // Cleanup stale entries.
-            messageCache.entrySet().removeIf(x -> x.getValue().isAfter(Instant.now()));
+            messageCache.put(u, true);
         }
 
         return true;
     }
 
+    private boolean hasBypass(Player player) {
+        Boolean result = bypassCache.getIfPresent(player.getUniqueId());
+        if (result == null) {
+            result = player.hasPermission(bypass);
+            bypassCache.put(player.getUniqueId(), result);
+        }
+
+        return result;
+    }
+
     @Override
     public Map<String, PermissionInformation> getPermissions() {
         Map<String, PermissionInformation> mp = Maps.newHashMap();
@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.modules.chat;
 
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.chat.handlers.ChatProfileHandler;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
 @ModuleData(id = "chat", name = "Chat")
@@ -15,4 +16,14 @@ public class ChatModule extends ConfigurableModule<ChatConfigAdapter> {
     public ChatConfigAdapter getAdapter() {
         return new ChatConfigAdapter();
     }
+
+    @Override
+    protected void performPreTasks() throws Exception {
+        super.performPreTasks();
+
+        ChatProfileHandler handler = new ChatProfileHandler();
+        plugin.getInjector().injectMembers(handler);
+        serviceManager.registerService(ChatProfileHandler.class, handler);
+        plugin.registerReloadable(handler::invalidateAll);
+    }
 }
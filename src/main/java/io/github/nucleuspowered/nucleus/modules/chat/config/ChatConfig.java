@@ -17,6 +17,9 @@ public class ChatConfig {
     @Setting(value = "modifychat", comment = "loc:config.chat.modify")
     private boolean modifychat = true;
 
+    @Setting(value = "profile-cache-seconds", comment = "loc:config.chat.profilecache")
+    private int profileCacheTime = 30;
+
     @Setting(value = "templates")
     private TemplateConfig templates = new TemplateConfig();
 
@@ -24,6 +27,10 @@ public class ChatConfig {
         return modifychat;
     }
 
+    public int getProfileCacheTime() {
+        return Math.max(0, profileCacheTime);
+    }
+
     public ChatTemplateConfig getDefaultTemplate() {
         return templates.getDefaultTemplate();
     }
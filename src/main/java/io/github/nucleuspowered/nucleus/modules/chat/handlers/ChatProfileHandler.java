@@ -0,0 +1,134 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.handlers;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.NameUtil;
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextStyle;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches the permissions and options that are used to format a player's chat, so that the
+ * permission service is not queried for every message.
+ */
+public class ChatProfileHandler {
+
+    public static final String PERMISSION_PREFIX = PermissionRegistry.PERMISSIONS_PREFIX + "chat.";
+
+    public static final int COLOUR = 1;
+    public static final int STYLE = 1 << 1;
+    public static final int MAGIC = 1 << 2;
+    public static final int URL = 1 << 3;
+
+    @Inject private NucleusPlugin plugin;
+    @Inject private ChatConfigAdapter cca;
+
+    private final Map<UUID, Profile> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the chat profile for the player, resolving it if there is no cached profile or it has expired.
+     *
+     * @param player The {@link Player}.
+     * @return The {@link Profile}.
+     */
+    public Profile getProfile(Player player) {
+        ChatConfig config = cca.getNodeOrDefault();
+        long ttl = TimeUnit.SECONDS.toNanos(config.getProfileCacheTime());
+        long now = System.nanoTime();
+
+        Profile profile = profiles.get(player.getUniqueId());
+        if (profile == null || now - profile.resolved >= ttl) {
+            profile = resolve(player, config, now);
+            if (ttl > 0) {
+                profiles.put(player.getUniqueId(), profile);
+            }
+        }
+
+        return profile;
+    }
+
+    public void invalidate(UUID uuid) {
+        profiles.remove(uuid);
+    }
+
+    public void invalidateAll() {
+        profiles.clear();
+    }
+
+    private Profile resolve(Player player, ChatConfig config, long now) {
+        int permissions = 0;
+        if (player.hasPermission(PERMISSION_PREFIX + "colour") || player.hasPermission(PERMISSION_PREFIX + "color")) {
+            permissions |= COLOUR;
+        }
+
+        if (player.hasPermission(PERMISSION_PREFIX + "style")) {
+            permissions |= STYLE;
+        }
+
+        if (player.hasPermission(PERMISSION_PREFIX + "magic")) {
+            permissions |= MAGIC;
+        }
+
+        if (player.hasPermission(PERMISSION_PREFIX + "url")) {
+            permissions |= URL;
+        }
+
+        NameUtil nu = plugin.getNameUtil();
+        Optional<String> chatcol = Util.getOptionFromSubject(player, "chatcolour", "chatcolor");
+        Optional<String> chatstyle = Util.getOptionFromSubject(player, "chatstyle");
+        TextColor colour = chatcol.map(nu::getColourFromString).orElse(null);
+        TextStyle style = chatstyle.map(nu::getTextStyleFromString).orElse(null);
+
+        return new Profile(now, permissions, colour, style, config.getTemplate(player));
+    }
+
+    public static final class Profile {
+
+        private final long resolved;
+        private final int permissions;
+        @Nullable private final TextColor chatColour;
+        @Nullable private final TextStyle chatStyle;
+        private final ChatTemplateConfig template;
+
+        private Profile(long resolved, int permissions, @Nullable TextColor chatColour, @Nullable TextStyle chatStyle, ChatTemplateConfig template) {
+            this.resolved = resolved;
+            this.permissions = permissions;
+            this.chatColour = chatColour;
+            this.chatStyle = chatStyle;
+            this.template = template;
+        }
+
+        public boolean hasPermission(int flag) {
+            return (permissions & flag) == flag;
+        }
+
+        public Optional<TextColor> getChatColour() {
+            return Optional.ofNullable(chatColour);
+        }
+
+        public Optional<TextStyle> getChatStyle() {
+            return Optional.ofNullable(chatStyle);
+        }
+
+        public ChatTemplateConfig getTemplate() {
+            return template;
+        }
+    }
+}
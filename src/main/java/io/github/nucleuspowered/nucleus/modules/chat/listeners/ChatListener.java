@@ -6,25 +6,28 @@ package io.github.nucleuspowered.nucleus.modules.chat.listeners;
 
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.ChatUtil;
-import io.github.nucleuspowered.nucleus.NameUtil;
-import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
-import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.handlers.ChatProfileHandler;
 import io.github.nucleuspowered.nucleus.modules.staffchat.StaffChatMessageChannel;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.format.TextStyles;
 import org.spongepowered.api.text.serializer.TextSerializers;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -32,17 +35,21 @@ import java.util.function.Function;
 
 public class ChatListener extends ListenerBase {
 
-    private final String prefix = PermissionRegistry.PERMISSIONS_PREFIX + "chat.";
+    private final Profiler.Timer chatTimer = createTimer("onPlayerChat");
 
-    private final Map<String[], Function<String, String>> replacements;
+    private final String prefix = ChatProfileHandler.PERMISSION_PREFIX;
+
+    private final Map<Integer, Function<String, String>> replacements;
 
     private final ChatConfigAdapter cca;
     private final ChatUtil chatUtil;
+    private final ChatProfileHandler profileHandler;
 
     @Inject
-    public ChatListener(ChatUtil chatUtil, ChatConfigAdapter cca) {
+    public ChatListener(ChatUtil chatUtil, ChatConfigAdapter cca, ChatProfileHandler profileHandler) {
         this.chatUtil = chatUtil;
         this.cca = cca;
+        this.profileHandler = profileHandler;
         replacements = createReplacements();
     }
 
@@ -57,62 +64,74 @@ public class ChatListener extends ListenerBase {
         return mp;
     }
 
-    private Map<String[], Function<String, String>> createReplacements() {
-        Map<String[], Function<String, String>> t = new HashMap<>();
+    private Map<Integer, Function<String, String>> createReplacements() {
+        Map<Integer, Function<String, String>> t = new HashMap<>();
 
-        t.put(new String[] { prefix + "colour", prefix + "color" }, s -> s.replaceAll("&[0-9a-fA-F]", ""));
-        t.put(new String[] { prefix + "style" }, s -> s.replaceAll("&[l-oL-O]", ""));
-        t.put(new String[] { prefix + "magic" }, s -> s.replaceAll("&[kK]", ""));
+        t.put(ChatProfileHandler.COLOUR, s -> s.replaceAll("&[0-9a-fA-F]", ""));
+        t.put(ChatProfileHandler.STYLE, s -> s.replaceAll("&[l-oL-O]", ""));
+        t.put(ChatProfileHandler.MAGIC, s -> s.replaceAll("&[kK]", ""));
 
         return t;
     }
 
-    private Text useMessage(Player player, Text rawMessage) {
+    private Text useMessage(ChatProfileHandler.Profile profile, Text rawMessage) {
         String m = rawMessage.toPlain();
 
-        for (Map.Entry<String[],  Function<String, String>> r : replacements.entrySet()) {
+        for (Map.Entry<Integer, Function<String, String>> r : replacements.entrySet()) {
             // If we don't have the required permission...
-            if (Arrays.stream(r.getKey()).noneMatch(player::hasPermission)) {
+            if (!profile.hasPermission(r.getKey())) {
                 // ...strip the codes.
                 m = r.getValue().apply(m);
             }
         }
 
         Text result;
-        if (player.hasPermission(prefix + "url")) {
+        if (profile.hasPermission(ChatProfileHandler.URL)) {
             result = chatUtil.addUrlsToAmpersandFormattedString(m);
         } else {
             result = TextSerializers.formattingCode('&').deserialize(m);
         }
 
-        Optional<String> chatcol = Util.getOptionFromSubject(player, "chatcolour", "chatcolor");
-        Optional<String> chatstyle = Util.getOptionFromSubject(player, "chatstyle");
+        Optional<TextColor> chatcol = profile.getChatColour();
+        Optional<TextStyle> chatstyle = profile.getChatStyle();
         if (chatcol.isPresent() || chatstyle.isPresent()) {
-            NameUtil nu = plugin.getNameUtil();
-            return Text.of(nu.getColourFromString(chatcol.orElse(null)), nu.getTextStyleFromString(chatstyle.orElse(null)), result);
+            return Text.of(chatcol.orElse(TextColors.NONE), chatstyle.orElse(TextStyles.NONE), result);
         }
 
         return result;
     }
 
+    @Listener
+    public void onPlayerLogin(ClientConnectionEvent.Join event) {
+        profileHandler.invalidate(event.getTargetEntity().getUniqueId());
+    }
+
+    @Listener
+    public void onPlayerLogout(ClientConnectionEvent.Disconnect event) {
+        profileHandler.invalidate(event.getTargetEntity().getUniqueId());
+    }
+
     // We do this first so that other plugins can alter it later if needs be.
     @Listener(order = Order.EARLY)
     public void onPlayerChat(MessageChannelEvent.Chat event, @Root Player player) {
-        if (event.getChannel().isPresent() && event.getChannel().get() instanceof StaffChatMessageChannel) {
-            // Staff chat. Not interested in applying these transforms.
-            return;
-        }
+        time(chatTimer, () -> {
+            if (event.getChannel().isPresent() && event.getChannel().get() instanceof StaffChatMessageChannel) {
+                // Staff chat. Not interested in applying these transforms.
+                return;
+            }
 
-        ChatConfig config = cca.getNodeOrDefault();
-        if (!config.isModifychat()) {
-            return;
-        }
+            ChatConfig config = cca.getNodeOrDefault();
+            if (!config.isModifychat()) {
+                return;
+            }
 
-        Text rawMessage = event.getRawMessage();
-        ChatTemplateConfig ctc = config.getTemplate(player);
-        event.setMessage(
-                chatUtil.getPlayerMessageFromTemplate(ctc.getPrefix(), player, true),
-                useMessage(player, rawMessage),
-                chatUtil.getPlayerMessageFromTemplate(ctc.getSuffix(), player, false));
+            Text rawMessage = event.getRawMessage();
+            ChatProfileHandler.Profile profile = profileHandler.getProfile(player);
+            ChatTemplateConfig ctc = profile.getTemplate();
+            event.setMessage(
+                    chatUtil.getPlayerMessageFromTemplate(ctc.getPrefix(), player, true),
+                    useMessage(profile, rawMessage),
+                    chatUtil.getPlayerMessageFromTemplate(ctc.getSuffix(), player, false));
+        });
     }
 }
@@ -26,6 +26,9 @@ public class CommandLoggerConfig {
     @Setting(value = "log-to-file", comment = "loc:config.commandlogger.file")
     private boolean logToFile = false;
 
+    @Setting(value = "file-format", comment = "loc:config.commandlogger.format")
+    private String fileFormat = "plain";
+
     public LoggerTargetConfig getLoggerTarget() {
         return loggerTarget;
     }
@@ -41,4 +44,8 @@ public class CommandLoggerConfig {
     public boolean isLogToFile() {
         return logToFile;
     }
+
+    public boolean isJsonFormat() {
+        return "json".equalsIgnoreCase(fileFormat);
+    }
 }
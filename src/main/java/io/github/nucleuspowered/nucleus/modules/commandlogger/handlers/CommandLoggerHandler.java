@@ -6,6 +6,8 @@ package io.github.nucleuspowered.nucleus.modules.commandlogger.handlers;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.logging.DateRotatableFileLogger;
@@ -17,22 +19,45 @@ import org.spongepowered.api.Sponge;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.List;
 import java.util.Locale;
-
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes the command log on its own thread.
+ *
+ * <p>Entries are added to a lock free queue by the command listener, and a single writer thread takes them off in
+ * batches. The file is flushed once enough lines have been written, or once a second, whichever comes first. If the
+ * writer cannot keep up and the queue is full, entries are dropped rather than holding up the server.</p>
+ */
 public class CommandLoggerHandler {
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
             .withLocale(Locale.getDefault()).withZone(ZoneId.systemDefault());
+
+    private static final int CAPACITY = 16384;
+    private static final int BATCH_SIZE = 256;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final CommandLoggerConfigAdapter clca;
     private final CoreConfigAdapter coreConfigAdapter;
-    private DateRotatableFileLogger logger;
-    private final List<String> queueEntry = Lists.newArrayList();
     private final NucleusPlugin plugin;
-    private final Object locking = new Object();
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Nullable private volatile Writer writer = null;
+    private volatile boolean json = false;
 
     @Inject
     public CommandLoggerHandler(NucleusPlugin plugin, CommandLoggerConfigAdapter clca, CoreConfigAdapter coreConfigAdapter) {
@@ -41,18 +66,42 @@ public class CommandLoggerHandler {
         this.coreConfigAdapter = coreConfigAdapter;
     }
 
-    public void queueEntry(String s) {
-        if (logger != null) {
-            synchronized (locking) {
-                queueEntry.add(s);
-            }
+    /**
+     * Queues an entry to be written to the command log file. This may be called from any thread.
+     *
+     * @param source The name of the source that ran the command.
+     * @param command The command.
+     * @param arguments The arguments.
+     * @param message The message that was written to the console.
+     */
+    public void queueEntry(String source, String command, String arguments, String message) {
+        Writer w = writer;
+        if (w == null) {
+            return;
+        }
+
+        int size = queueSize.incrementAndGet();
+        if (size > CAPACITY) {
+            queueSize.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
         }
+
+        queue.add(new Entry(Instant.now(), source, command, arguments, message));
+        if (size >= BATCH_SIZE) {
+            w.wake();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
     }
 
-    public void onReload() throws Exception {
-        if (clca.getNodeOrDefault().isLogToFile() && logger == null) {
-            this.createLogger();
-        } else if (!clca.getNodeOrDefault().isLogToFile() && logger != null) {
+    public synchronized void onReload() throws Exception {
+        json = clca.getNodeOrDefault().isJsonFormat();
+        if (clca.getNodeOrDefault().isLogToFile() && writer == null) {
+            this.createWriter();
+        } else if (!clca.getNodeOrDefault().isLogToFile() && writer != null) {
             onShutdown();
         }
     }
@@ -62,60 +111,134 @@ public class CommandLoggerHandler {
         onShutdown();
     }
 
-    private void onShutdown() throws IOException {
-        if (logger != null) {
-            logger.close();
-            logger = null;
+    private synchronized void onShutdown() {
+        Writer w = writer;
+        if (w != null) {
+            writer = null;
+            w.stop();
         }
     }
 
-    public void onTick() {
-        if (queueEntry.isEmpty()) {
-            return;
+    private void createWriter() {
+        try {
+            writer = new Writer(new DateRotatableFileLogger("command", "cmds", null, true));
+        } catch (IOException e) {
+            warn(e);
+        }
+    }
+
+    private String format(Entry entry) {
+        if (json) {
+            JsonObject object = new JsonObject();
+            object.addProperty("time", entry.time.toString());
+            object.addProperty("source", entry.source);
+            object.addProperty("command", entry.command);
+            object.addProperty("arguments", entry.arguments);
+            return object.toString();
+        }
+
+        return "[" + formatter.format(entry.time) + "] " + entry.message;
+    }
+
+    private void warn(Exception e) {
+        plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
+        if (coreConfigAdapter.getNodeOrDefault().isDebugmode()) {
+            e.printStackTrace();
         }
+    }
+
+    private class Writer implements Runnable {
+
+        private final DateRotatableFileLogger logger;
+        private final Thread thread;
+        private volatile boolean running = true;
 
-        List<String> l;
-        synchronized (locking) {
-            l = Lists.newArrayList(queueEntry);
-            queueEntry.clear();
+        private Writer(DateRotatableFileLogger logger) {
+            this.logger = logger;
+            this.thread = new ThreadFactoryBuilder().setNameFormat("Nucleus Command Logger").setDaemon(true).build().newThread(this);
+            this.thread.start();
+        }
+
+        private void wake() {
+            LockSupport.unpark(thread);
+        }
+
+        private void stop() {
+            running = false;
+            wake();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
 
-        if (logger == null) {
-            if (clca.getNodeOrDefault().isLogToFile()) {
-                try {
-                    createLogger();
-                } catch (IOException e) {
-                    plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-                    if (coreConfigAdapter.getNodeOrDefault().isDebugmode()) {
-                        e.printStackTrace();
+        @Override
+        public void run() {
+            long lastFlush = System.nanoTime();
+            int unflushed = 0;
+            // Lines are removed from the front as they are written.
+            List<String> batch = Lists.newLinkedList();
+            while (running || !queue.isEmpty()) {
+                Entry entry;
+                while (batch.size() < BATCH_SIZE && (entry = queue.poll()) != null) {
+                    queueSize.decrementAndGet();
+                    batch.add(format(entry));
+                }
+
+                int count = batch.size();
+                if (count > 0) {
+                    try {
+                        logger.writeEntry(batch);
+                        unflushed += count;
+                    } catch (IOException e) {
+                        batch.clear();
+                        warn(e);
                     }
+                }
 
-                    return;
+                long now = System.nanoTime();
+                if (unflushed > 0 && (unflushed >= BATCH_SIZE || now - lastFlush >= FLUSH_INTERVAL_NANOS)) {
+                    flush();
+                    unflushed = 0;
+                    lastFlush = now;
+                }
+
+                if (running && queue.isEmpty()) {
+                    LockSupport.parkNanos(this, unflushed > 0 ? FLUSH_INTERVAL_NANOS - (now - lastFlush) : FLUSH_INTERVAL_NANOS);
                 }
-            } else {
-                return;
+            }
+
+            try {
+                logger.close();
+            } catch (IOException e) {
+                warn(e);
             }
         }
 
-        try {
-            writeEntry(l);
-        } catch (IOException e) {
-            plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-            if (coreConfigAdapter.getNodeOrDefault().isDebugmode()) {
-                e.printStackTrace();
+        private void flush() {
+            try {
+                logger.flush();
+            } catch (IOException e) {
+                warn(e);
             }
         }
     }
 
-    private void createLogger() throws IOException {
-        logger = new DateRotatableFileLogger("command", "cmds", s -> "[" +
-                formatter.format(Instant.now().atZone(ZoneOffset.systemDefault())) +
-                "] " + s);
-    }
+    private final static class Entry {
+
+        private final Instant time;
+        private final String source;
+        private final String command;
+        private final String arguments;
+        private final String message;
 
-    private void writeEntry(Iterable<String> entry) throws IOException {
-        if (logger != null) {
-            logger.logEntry(entry);
+        private Entry(Instant time, String source, String command, String arguments, String message) {
+            this.time = time;
+            this.source = source;
+            this.command = command;
+            this.arguments = arguments;
+            this.message = message;
         }
     }
 }
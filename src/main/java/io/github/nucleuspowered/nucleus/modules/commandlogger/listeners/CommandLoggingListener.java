@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.commandlogger.listeners;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.commandlogger.config.CommandLoggerConfig;
 import io.github.nucleuspowered.nucleus.modules.commandlogger.config.CommandLoggerConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.commandlogger.handlers.CommandLoggerHandler;
@@ -30,41 +31,45 @@ import java.util.stream.Collectors;
 
 public class CommandLoggingListener extends ListenerBase {
 
+    private final Profiler.Timer commandTimer = createTimer("onCommand");
+
     @Inject private CommandLoggerConfigAdapter clc;
     @Inject private CoreConfigAdapter cca;
     @Inject private CommandLoggerHandler handler;
 
     @Listener(order = Order.LAST)
     public void onCommand(SendCommandEvent event, @First CommandSource source) {
-        // Check source.
-        CommandLoggerConfig c = clc.getNodeOrDefault();
-        if (source instanceof Player && !c.getLoggerTarget().isLogPlayer()) {
-            return;
-        } else if (source instanceof CommandBlockSource && !c.getLoggerTarget().isLogCommandBlock()) {
-            return;
-        } else if (source instanceof ConsoleSource && !c.getLoggerTarget().isLogConsole()) {
-            return;
-        } else if (!c.getLoggerTarget().isLogOther()) {
-            return;
-        }
+        time(commandTimer, () -> {
+            // Check source.
+            CommandLoggerConfig c = clc.getNodeOrDefault();
+            if (source instanceof Player && !c.getLoggerTarget().isLogPlayer()) {
+                return;
+            } else if (source instanceof CommandBlockSource && !c.getLoggerTarget().isLogCommandBlock()) {
+                return;
+            } else if (source instanceof ConsoleSource && !c.getLoggerTarget().isLogConsole()) {
+                return;
+            } else if (!c.getLoggerTarget().isLogOther()) {
+                return;
+            }
 
-        String command = event.getCommand().toLowerCase();
-        Optional<? extends CommandMapping> oc = Sponge.getCommandManager().get(command, source);
-        Set<String> commands;
+            String command = event.getCommand().toLowerCase();
+            Optional<? extends CommandMapping> oc = Sponge.getCommandManager().get(command, source);
+            Set<String> commands;
 
-        // If the command exists, then get all aliases.
-        if (oc.isPresent()) {
-            commands = oc.get().getAllAliases().stream().map(String::toLowerCase).collect(Collectors.toSet());
-        } else {
-            commands = Sets.newHashSet(command);
-        }
+            // If the command exists, then get all aliases.
+            if (oc.isPresent()) {
+                commands = oc.get().getAllAliases().stream().map(String::toLowerCase).collect(Collectors.toSet());
+            } else {
+                commands = Sets.newHashSet(command);
+            }
 
-        // If whitelist, and we have the command, or if not blacklist, and we do not have the command.
-        if (c.isWhitelist() == c.getCommandsToFilter().stream().map(String::toLowerCase).anyMatch(commands::contains)) {
-            String message = plugin.getMessageProvider().getMessageWithFormat("commandlog.message", source.getName(), event.getCommand(), event.getArguments());
-            plugin.getLogger().info(message);
-            handler.queueEntry(message);
-        }
+            // If whitelist, and we have the command, or if not blacklist, and we do not have the command.
+            if (c.isWhitelist() == c.getCommandsToFilter().stream().map(String::toLowerCase).anyMatch(commands::contains)) {
+                String message = plugin.getMessageProvider().getMessageWithFormat("commandlog.message", source.getName(), event.getCommand(), event.getArguments());
+                plugin.getLogger().info(message);
+                handler.queueEntry(source.getName(), event.getCommand(), event.getArguments(), message);
+            }
+        });
     }
 
     @Listener
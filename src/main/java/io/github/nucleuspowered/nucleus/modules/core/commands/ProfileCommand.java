@@ -0,0 +1,151 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.annotations.*;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.service.pagination.PaginationList;
+import org.spongepowered.api.service.pagination.PaginationService;
+import org.spongepowered.api.text.Text;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+import javax.inject.Inject;
+
+/**
+ * Reports how long Nucleus spends in its commands, listeners and tasks.
+ *
+ * Permission: nucleus.nucleus.profile.base
+ */
+@RunAsync
+@NoCooldown
+@NoCost
+@NoWarmup
+@Permissions(prefix = "nucleus")
+@RegisterCommand(value = "profile", subcommandOf = NucleusCommand.class)
+public class ProfileCommand extends AbstractCommand<CommandSource> {
+
+    private static final int TOP = 5;
+    private static final DecimalFormat msFormat = new DecimalFormat("#0.00");
+    private static final DateTimeFormatter fileFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss");
+
+    private final String actionKey = "action";
+
+    @Inject private Profiler profiler;
+
+    @Override
+    public CommandElement[] getArguments() {
+        return new CommandElement[] {
+                GenericArguments.optional(GenericArguments.onlyOne(GenericArguments.choices(Text.of(actionKey),
+                        ImmutableMap.of("enable", Action.ENABLE, "disable", Action.DISABLE, "reset", Action.RESET, "dump", Action.DUMP))))
+        };
+    }
+
+    @Override
+    public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        Optional<Action> action = args.getOne(actionKey);
+        if (!action.isPresent()) {
+            report(src);
+            return CommandResult.success();
+        }
+
+        switch (action.get()) {
+            case ENABLE:
+                profiler.setEnabled(true);
+                src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.enabled"));
+                break;
+            case DISABLE:
+                profiler.setEnabled(false);
+                src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.disabled",
+                        String.valueOf(Profiler.SAMPLE_RATE)));
+                break;
+            case RESET:
+                profiler.reset();
+                src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.reset"));
+                break;
+            default:
+                Path file = plugin.getDataPath().resolve("profile").resolve("profile-" + fileFormat.format(LocalDateTime.now()) + ".csv");
+                try {
+                    Files.createDirectories(file.getParent());
+                    Files.write(file, profiler.toCsv(), StandardCharsets.UTF_8);
+                    src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.dump.success",
+                            file.toAbsolutePath().toString()));
+                } catch (IOException e) {
+                    src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.dump.fail", e.getMessage()));
+                    return CommandResult.empty();
+                }
+        }
+
+        return CommandResult.success();
+    }
+
+    private void report(CommandSource src) {
+        List<Text> messages = Lists.newArrayList();
+        long seconds = (System.currentTimeMillis() - profiler.getSince()) / 1000;
+        if (profiler.isEnabled()) {
+            messages.add(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.mode.all", Util.getTimeStringFromSeconds(seconds)));
+        } else {
+            messages.add(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.mode.sampled",
+                    String.valueOf(Profiler.SAMPLE_RATE), Util.getTimeStringFromSeconds(seconds)));
+        }
+
+        addCategory(messages, Profiler.Category.COMMAND, "command.nucleus.profile.commands");
+        addCategory(messages, Profiler.Category.LISTENER, "command.nucleus.profile.listeners");
+        addCategory(messages, Profiler.Category.TASK, "command.nucleus.profile.tasks");
+
+        PaginationList.Builder plb = Sponge.getServiceManager().provideUnchecked(PaginationService.class).builder()
+                .title(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.title")).padding(Text.of("="))
+                .contents(messages);
+        if (!(src instanceof Player)) {
+            plb.linesPerPage(-1);
+        }
+
+        plb.sendTo(src);
+    }
+
+    private void addCategory(List<Text> messages, Profiler.Category category, String titleKey) {
+        messages.add(Text.of(" "));
+        messages.add(plugin.getMessageProvider().getTextMessageWithFormat(titleKey));
+        List<Profiler.Timer> timers = profiler.getTimers(category);
+        if (timers.isEmpty()) {
+            messages.add(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.none"));
+            return;
+        }
+
+        // Sorted by the most total time first. The full list can be dumped to a file.
+        List<Profiler.Timer> top = timers.subList(0, Math.min(TOP, timers.size()));
+        for (Profiler.Timer timer : top) {
+            messages.add(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.profile.entry", timer.getName(),
+                    msFormat.format(timer.getEstimatedTotalNanos() / 1e6), String.valueOf(timer.getCalls()),
+                    msFormat.format(timer.getMeanNanos() / 1e6), msFormat.format(timer.getPercentileNanos(0.99) / 1e6)));
+        }
+    }
+
+    private enum Action {
+        ENABLE,
+        DISABLE,
+        RESET,
+        DUMP
+    }
+}
@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.core.commands;
 
+import io.github.nucleuspowered.nucleus.dataservices.DataSaveQueue;
 import io.github.nucleuspowered.nucleus.internal.annotations.*;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -26,6 +27,11 @@ public class SaveCommand extends io.github.nucleuspowered.nucleus.internal.comma
     public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
         src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.save.start"));
         plugin.saveData();
+
+        DataSaveQueue queue = plugin.getDataSaveQueue();
+        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.save.complete",
+                String.valueOf(queue.getQueueSize()), String.valueOf(queue.getWrittenCount()), String.valueOf(queue.getCoalescedCount()),
+                String.valueOf(queue.getCallerRunsCount()), String.valueOf(queue.getFailedCount())));
         return CommandResult.success();
     }
 }
@@ -0,0 +1,19 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.migrators;
+
+import io.github.nucleuspowered.nucleus.internal.annotations.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.MigratorCommand;
+import io.github.nucleuspowered.nucleus.internal.migrators.UserStoreMigrator;
+import io.github.nucleuspowered.nucleus.modules.core.commands.MigrateCommand;
+
+@Permissions(prefix = "nucleus.migrate")
+@RegisterCommand(value = "userstore", subcommandOf = MigrateCommand.class)
+public class UserStoreMigratorCommand extends MigratorCommand<UserStoreMigrator> {
+    public UserStoreMigratorCommand() {
+        super(UserStoreMigrator.class);
+    }
+}
@@ -26,6 +26,12 @@ public class CoreConfig {
     @Setting(value = "kick-on-stop")
     private KickOnStopConfig kickOnStop = new KickOnStopConfig();
 
+    @Setting(value = "user-data-store", comment = "loc:config.core.userdatastore")
+    private String userDataStore = "json";
+
+    @Setting(value = "persist-cooldowns-longer-than", comment = "loc:config.core.cooldownpersist")
+    private long cooldownPersistThreshold = 300;
+
     @DoNotGenerate
     @Setting(value = "enable-doc-gen")
     private boolean enableDocGen = false;
@@ -54,6 +60,14 @@ public class CoreConfig {
         return kickOnStop.getKickOnStopMessage();
     }
 
+    public boolean isSingleFileUserStore() {
+        return "single-file".equalsIgnoreCase(userDataStore);
+    }
+
+    public long getCooldownPersistThreshold() {
+        return Math.max(0, cooldownPersistThreshold);
+    }
+
     public boolean isEnableDocGen() {
         return enableDocGen;
     }
@@ -9,6 +9,8 @@ import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.dataservices.UserService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownManager;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
@@ -34,6 +36,8 @@ public class CoreListener extends ListenerBase {
 
     @Inject private UserDataManager loader;
     @Inject private CoreConfigAdapter cca;
+    @Inject private CooldownManager cooldownManager;
+    @Inject private NameIndex nameIndex;
     private boolean runSync = false;
 
     /* (non-Javadoc)
@@ -46,6 +50,9 @@ public class CoreListener extends ListenerBase {
             UserService qsu = loader.get(player).get();
             qsu.setLastLogin(Instant.now());
             qsu.setFirstPlay(Util.isFirstPlay(player));
+            cooldownManager.restore(qsu);
+            nameIndex.setName(player.getUniqueId(), player.getName());
+            nameIndex.setNickname(player.getUniqueId(), qsu.getNicknameAsString().map(TextSerializers.FORMATTING_CODE::stripCodes).orElse(null));
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -68,6 +75,7 @@ public class CoreListener extends ListenerBase {
     @Listener
     public void onPlayerQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") final Player player) {
         final Location<World> location = player.getLocation();
+        nameIndex.setNickname(player.getUniqueId(), null);
         if (runSync) {
             // Work around things not existing, run quit events sync just as the server draws to a close.
             onPlayerQuitInner(player, location);
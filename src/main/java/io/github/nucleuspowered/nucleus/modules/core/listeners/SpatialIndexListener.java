@@ -0,0 +1,63 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.listeners;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerSpatialIndex;
+import org.spongepowered.api.entity.Transform;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.DisplaceEntityEvent;
+import org.spongepowered.api.event.entity.living.humanoid.player.RespawnPlayerEvent;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+/**
+ * Keeps the {@link PlayerSpatialIndex} up to date with where players are.
+ */
+public class SpatialIndexListener extends ListenerBase {
+
+    private final Profiler.Timer moveTimer = createTimer("onPlayerMovement");
+
+    @Inject private PlayerSpatialIndex index;
+
+    @Listener(order = Order.POST)
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        update(player, player.getLocation());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerMovement(DisplaceEntityEvent.Move event, @Getter("getTargetEntity") Player player) {
+        time(moveTimer, () -> update(player, event.getToTransform()));
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerTeleport(DisplaceEntityEvent.Teleport event, @Getter("getTargetEntity") Player player) {
+        update(player, event.getToTransform());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerRespawn(RespawnPlayerEvent event, @Getter("getTargetEntity") Player player) {
+        update(player, event.getToTransform());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        index.remove(player.getUniqueId());
+    }
+
+    private void update(Player player, Transform<World> transform) {
+        update(player, transform.getLocation());
+    }
+
+    private void update(Player player, Location<World> location) {
+        index.update(player.getUniqueId(), location.getExtent().getUniqueId(), location.getX(), location.getZ());
+    }
+}
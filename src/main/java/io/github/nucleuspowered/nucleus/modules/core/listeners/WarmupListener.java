@@ -5,8 +5,9 @@
 package io.github.nucleuspowered.nucleus.modules.core.listeners;
 
 import com.google.inject.Inject;
-import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
+import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.core.config.WarmupConfig;
 import io.github.nucleuspowered.nucleus.modules.core.events.NucleusReloadConfigEvent;
@@ -20,24 +21,35 @@ import org.spongepowered.api.event.network.ClientConnectionEvent;
 
 public class WarmupListener extends ListenerBase {
 
-    private NucleusWarmupManagerService service;
+    private final Profiler.Timer moveTimer = createTimer("onPlayerMovement");
+    private final Profiler.Timer commandTimer = createTimer("onPlayerCommand");
+
+    @Inject private WarmupManager service;
     @Inject private CoreConfigAdapter cca;
 
     private WarmupConfig warmupConfig = null;
 
     @Listener(order = Order.LAST)
     public void onPlayerMovement(DisplaceEntityEvent.Move event, @Root Player player) {
-        // Rotating is OK!
-        if (getWarmupConfig().isOnMove() && !event.getFromTransform().getLocation().equals(event.getToTransform().getLocation())) {
-            cancelWarmup(player);
-        }
+        time(moveTimer, () -> {
+            if (!service.hasWarmup(player.getUniqueId())) {
+                return;
+            }
+
+            // Rotating is OK!
+            if (getWarmupConfig().isOnMove() && !event.getFromTransform().getLocation().equals(event.getToTransform().getLocation())) {
+                cancelWarmup(player);
+            }
+        });
     }
 
     @Listener(order = Order.LAST)
     public void onPlayerCommand(SendCommandEvent event, @Root Player player) {
-        if (getWarmupConfig().isOnCommand()) {
-            cancelWarmup(player);
-        }
+        time(commandTimer, () -> {
+            if (service.hasWarmup(player.getUniqueId()) && getWarmupConfig().isOnCommand()) {
+                cancelWarmup(player);
+            }
+        });
     }
 
     @Listener(order = Order.LAST)
@@ -59,11 +71,6 @@ public class WarmupListener extends ListenerBase {
     }
 
     private void cancelWarmup(Player player) {
-        if (service == null) {
-            service = plugin.getWarmupManager();
-        }
-
-        service.cleanup();
         if (service.removeWarmup(player.getUniqueId()) && player.isOnline()) {
             player.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("warmup.cancel"));
         }
@@ -19,9 +19,10 @@ public class CoreTask extends TaskBase {
     @Inject private NucleusPlugin plugin;
     @Inject private UserDataManager uda;
 
+    // The data is serialised on the main thread, and only written on the data writer thread.
     @Override
     public boolean isAsync() {
-        return true;
+        return false;
     }
 
     @Override
@@ -31,7 +32,7 @@ public class CoreTask extends TaskBase {
 
     @Override
     public void accept(Task task) {
-        plugin.saveData();
+        plugin.queueDirtyData();
         uda.removeOfflinePlayers();
     }
 }
@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.runnables;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ends the jails, mutes and warnings that have run out.
+ */
+public class ExpiryTask extends TaskBase {
+
+    @Inject private ExpiryScheduler expiryScheduler;
+
+    @Override
+    public void accept(Task task) {
+        expiryScheduler.tick();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    public TimePerRun interval() {
+        return new TimePerRun(50, TimeUnit.MILLISECONDS);
+    }
+}
@@ -5,8 +5,17 @@
 package io.github.nucleuspowered.nucleus.modules.ignore;
 
 import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
 @ModuleData(id = "ignore", name = "Ignore")
 public class IgnoreModule extends StandardModule {
+
+    @Override
+    protected void performPreTasks() throws Exception {
+        super.performPreTasks();
+        IgnoreHandler handler = new IgnoreHandler();
+        serviceManager.registerService(IgnoreHandler.class, handler);
+        plugin.getUserDataManager().registerIgnoreListListener(handler::update);
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.ignore.handlers;
+
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.dataservices.UserService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Holds who the online players are ignoring, indexed by the player being ignored, so that a chat message
+ * only needs one lookup to find out which recipients should not get it.
+ */
+public class IgnoreHandler {
+
+    // Ignored player -> online players ignoring them.
+    private final Map<UUID, Set<UUID>> ignoredBy = new ConcurrentHashMap<>();
+
+    // Online player -> players they are ignoring, so they can be removed from the index when they leave.
+    private final Map<UUID, Set<UUID>> ignoring = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an online player and who they are ignoring to the index.
+     *
+     * @param player The {@link UUID} of the player.
+     * @param ignoreList The {@link UUID}s of the players they are ignoring.
+     */
+    public void load(UUID player, Collection<UUID> ignoreList) {
+        unload(player);
+        ignoring.put(player, ConcurrentHashMap.newKeySet());
+        ignoreList.forEach(x -> add(player, x));
+    }
+
+    /**
+     * Removes a player who has gone offline from the index.
+     *
+     * @param player The {@link UUID} of the player.
+     */
+    public void unload(UUID player) {
+        Set<UUID> targets = ignoring.remove(player);
+        if (targets != null) {
+            targets.forEach(x -> removeIgnoredBy(player, x));
+        }
+    }
+
+    /**
+     * Brings the index into line with the ignore list of a user whose list has changed. Only the differences are
+     * applied, so chat being sent at the same time never sees the user's entries missing. Users who are not in the
+     * index are skipped.
+     *
+     * @param user The {@link UserService} of the user.
+     */
+    public void update(UserService user) {
+        UUID player = user.getUniqueID();
+        Set<UUID> targets = ignoring.get(player);
+        if (targets == null) {
+            // Not online.
+            return;
+        }
+
+        List<UUID> ignoreList = user.getIgnoreList();
+        ignoreList.stream().filter(x -> !targets.contains(x)).forEach(x -> add(player, x));
+        targets.stream().filter(x -> !ignoreList.contains(x)).collect(Collectors.toList())
+                .forEach(x -> remove(player, x));
+    }
+
+    /**
+     * Records that an online player has started ignoring another. Players who are not in the index are skipped.
+     *
+     * @param player The {@link UUID} of the player doing the ignoring.
+     * @param target The {@link UUID} of the player being ignored.
+     */
+    public void add(UUID player, UUID target) {
+        Set<UUID> targets = ignoring.get(player);
+        if (targets == null) {
+            // Not online.
+            return;
+        }
+
+        targets.add(target);
+
+        // Done atomically, so that it cannot race with the set being removed when it becomes empty.
+        ignoredBy.compute(target, (k, v) -> {
+            Set<UUID> players = v == null ? ConcurrentHashMap.newKeySet() : v;
+            players.add(player);
+            return players;
+        });
+    }
+
+    /**
+     * Records that an online player has stopped ignoring another.
+     *
+     * @param player The {@link UUID} of the player doing the ignoring.
+     * @param target The {@link UUID} of the player being ignored.
+     */
+    public void remove(UUID player, UUID target) {
+        Set<UUID> targets = ignoring.get(player);
+        if (targets != null) {
+            targets.remove(target);
+        }
+
+        removeIgnoredBy(player, target);
+    }
+
+    /**
+     * Gets whether the player is in the index, that is, whether they are online.
+     *
+     * @param player The {@link UUID} of the player.
+     * @return <code>true</code> if the player's ignore list is in the index.
+     */
+    public boolean isLoaded(UUID player) {
+        return ignoring.containsKey(player);
+    }
+
+    /**
+     * Gets whether an online player is ignoring another.
+     *
+     * @param player The {@link UUID} of the player who might be ignoring.
+     * @param target The {@link UUID} of the player who might be ignored.
+     * @return <code>true</code> if so.
+     */
+    public boolean isIgnoring(UUID player, UUID target) {
+        Set<UUID> players = ignoredBy.get(target);
+        return players != null && players.contains(player);
+    }
+
+    /**
+     * Gets the online players who are ignoring the given player.
+     *
+     * @param target The {@link UUID} of the player.
+     * @return The {@link UUID}s of the players ignoring them, which will usually be empty.
+     */
+    public Set<UUID> getIgnoredBy(UUID target) {
+        Set<UUID> players = ignoredBy.get(target);
+        return players == null ? ImmutableSet.of() : players;
+    }
+
+    private void removeIgnoredBy(UUID player, UUID target) {
+        ignoredBy.computeIfPresent(target, (k, v) -> {
+            v.remove(player);
+            return v.isEmpty() ? null : v;
+        });
+    }
+}
@@ -12,39 +12,60 @@ import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.ignore.commands.IgnoreCommand;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.text.channel.MessageReceiver;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 public class IgnoreListener extends ListenerBase {
 
+    private final Profiler.Timer chatTimer = createTimer("onChat");
+
     @Inject private PermissionRegistry permissionRegistry;
     @Inject private UserDataManager loader;
     @Inject private CoreConfigAdapter cca;
+    @Inject private IgnoreHandler handler;
     private CommandPermissionHandler ignoreHandler;
 
+    @Listener(order = Order.LATE)
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        loader.get(player).ifPresent(x -> handler.load(player.getUniqueId(), x.getIgnoreList()));
+    }
+
+    @Listener
+    public void onPlayerLeave(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        handler.unload(player.getUniqueId());
+    }
+
     @Listener(order = Order.FIRST)
     public void onChat(MessageChannelEvent.Chat event, @Root Player player) {
-        // Reset the channel - but only if we have to.
-        checkCancels(event.getChannel().orElse(event.getOriginalChannel()).getMembers(), player).ifPresent(x -> event.setChannel(MessageChannel.fixed(x)));
+        time(chatTimer, () -> {
+            // Reset the channel - but only if we have to.
+            checkCancels(event.getChannel().orElse(event.getOriginalChannel()).getMembers(), player).ifPresent(x -> event.setChannel(MessageChannel.fixed(x)));
+        });
     }
 
     @Listener(order = Order.FIRST)
     public void onMessage(NucleusMessageEvent event, @Root Player player) {
         if (event.getRecipient() instanceof User) {
             try {
-                event.setCancelled(loader.get((User) event.getRecipient()).get().getIgnoreList().contains(player.getUniqueId()));
+                event.setCancelled(isIgnoring(((User) event.getRecipient()).getUniqueId(), player.getUniqueId()));
             } catch (Exception e) {
                 if (cca.getNodeOrDefault().isDebugmode()) {
                     e.printStackTrace();
@@ -56,7 +77,7 @@ public class IgnoreListener extends ListenerBase {
     @Listener(order = Order.FIRST)
     public void onMail(NucleusMailEvent event, @Root Player player) {
         try {
-            event.setCancelled(loader.get(event.getRecipient()).get().getIgnoreList().contains(player.getUniqueId()));
+            event.setCancelled(isIgnoring(event.getRecipient().getUniqueId(), player.getUniqueId()));
         } catch (Exception e) {
             if (cca.getNodeOrDefault().isDebugmode()) {
                 e.printStackTrace();
@@ -72,6 +93,12 @@ public class IgnoreListener extends ListenerBase {
      * @return {@link Optional} if unchanged, otherwise a {@link Collection} of {@link MessageReceiver}s
      */
     private Optional<Collection<MessageReceiver>> checkCancels(Collection<MessageReceiver> collection, Player player) {
+        // Nearly always empty, in which case there is nothing to do.
+        Set<UUID> ignoredBy = handler.getIgnoredBy(player.getUniqueId());
+        if (ignoredBy.isEmpty()) {
+            return Optional.empty();
+        }
+
         if (ignoreHandler == null) {
             ignoreHandler = permissionRegistry.getService(IgnoreCommand.class);
         }
@@ -81,17 +108,7 @@ public class IgnoreListener extends ListenerBase {
         }
 
         List<MessageReceiver> list = Lists.newArrayList(collection);
-        list.removeIf(x -> {
-            try {
-                return x instanceof Player && !x.equals(player) && loader.get((Player) x).get().getIgnoreList().contains(player.getUniqueId());
-            } catch (Exception e) {
-                if (cca.getNodeOrDefault().isDebugmode()) {
-                    e.printStackTrace();
-                }
-
-                return false;
-            }
-        });
+        list.removeIf(x -> x instanceof Player && ignoredBy.contains(((Player) x).getUniqueId()));
 
         // We do this so we don't have to recreate a channel if nothing changes.
         if (list.size() == collection.size()) {
@@ -100,4 +117,13 @@ public class IgnoreListener extends ListenerBase {
 
         return Optional.of(list);
     }
+
+    private boolean isIgnoring(UUID recipient, UUID sender) throws Exception {
+        if (handler.isLoaded(recipient)) {
+            return handler.isIgnoring(recipient, sender);
+        }
+
+        // Offline, so check their data.
+        return loader.get(recipient).get().getIgnoreList().contains(sender);
+    }
 }
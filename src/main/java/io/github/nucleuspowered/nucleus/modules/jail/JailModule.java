@@ -12,6 +12,7 @@ import io.github.nucleuspowered.nucleus.api.data.JailData;
 import io.github.nucleuspowered.nucleus.api.service.NucleusJailService;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
 import io.github.nucleuspowered.nucleus.modules.jail.commands.CheckJailCommand;
 import io.github.nucleuspowered.nucleus.modules.jail.config.JailConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.jail.handlers.JailHandler;
@@ -41,6 +42,7 @@ public class JailModule extends ConfigurableModule<JailConfigAdapter> {
             nucleus.getInjector().injectMembers(jh);
             game.getServiceManager().setProvider(nucleus, NucleusJailService.class, jh);
             serviceManager.registerService(JailHandler.class, jh);
+            serviceManager.getService(ExpiryScheduler.class).get().registerAction(ExpiryScheduler.Type.JAIL, jh::onExpiry);
         } catch (Exception ex) {
             logger.warn("Could not load the jail module for the reason below.");
             ex.printStackTrace();
@@ -7,24 +7,29 @@ package io.github.nucleuspowered.nucleus.modules.jail.handlers;
 import com.flowpowered.math.vector.Vector3d;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.data.JailData;
 import io.github.nucleuspowered.nucleus.api.data.LocationData;
 import io.github.nucleuspowered.nucleus.api.service.NucleusJailService;
 import io.github.nucleuspowered.nucleus.dataservices.GeneralService;
 import io.github.nucleuspowered.nucleus.dataservices.UserService;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 public class JailHandler implements NucleusJailService {
 
     @Inject private GeneralService store;
+    @Inject private ExpiryScheduler expiryScheduler;
 
     private final NucleusPlugin plugin;
 
@@ -96,6 +101,7 @@ public class JailHandler implements NucleusJailService {
         }
 
         iqsu.setJailData(data);
+        scheduleExpiry(user.getUniqueId(), data);
         if (user.isOnline()) {
             Sponge.getScheduler().createSyncExecutor(plugin).execute(() -> {
                 Player player = user.getPlayer().get();
@@ -124,6 +130,7 @@ public class JailHandler implements NucleusJailService {
             return false;
         }
 
+        expiryScheduler.cancel(user.getUniqueId(), ExpiryScheduler.Type.JAIL);
         Optional<Location<World>> ow = ojd.get().getPreviousLocation();
         if (user.isOnline()) {
             Player player = user.getPlayer().get();
@@ -144,6 +151,26 @@ public class JailHandler implements NucleusJailService {
         return true;
     }
 
+    /**
+     * Sets the jail to end when the given data runs out, if it has an end time.
+     *
+     * @param uuid The {@link UUID} of the jailed user.
+     * @param data The {@link JailData}.
+     */
+    public void scheduleExpiry(UUID uuid, JailData data) {
+        data.getEndTimestamp().ifPresent(x -> expiryScheduler.schedule(uuid, ExpiryScheduler.Type.JAIL, x));
+    }
+
+    /**
+     * Releases a user whose jail deadline has passed, if they are still jailed and it has run out.
+     *
+     * @param uuid The {@link UUID} of the user.
+     */
+    public void onExpiry(UUID uuid) {
+        Sponge.getServiceManager().provideUnchecked(UserStorageService.class).get(uuid)
+                .ifPresent(x -> Util.testForEndTimestamp(getPlayerJailData(x), () -> unjailPlayer(x)));
+    }
+
     public Optional<LocationData> getWarpLocation(Player user) {
         if (!isPlayerJailed(user)) {
             return Optional.empty();
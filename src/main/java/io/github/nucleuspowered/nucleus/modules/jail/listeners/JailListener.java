@@ -13,10 +13,10 @@ import io.github.nucleuspowered.nucleus.dataservices.UserService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.jail.commands.JailCommand;
 import io.github.nucleuspowered.nucleus.modules.jail.config.JailConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.jail.handlers.JailHandler;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
@@ -35,10 +35,14 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 public class JailListener extends ListenerBase {
 
+    private final Profiler.Timer commandTimer = createTimer("onCommand");
+    private final Profiler.Timer blockChangeTimer = createTimer("onBlockChange");
+    private final Profiler.Timer interactTimer = createTimer("onInteract");
+    private final Profiler.Timer chatTimer = createTimer("onChat");
+
     @Inject private UserDataManager loader;
     @Inject private InternalServiceManager ism;
     @Inject private JailConfigAdapter jailConfigAdapter;
@@ -91,41 +95,40 @@ public class JailListener extends ListenerBase {
 
         qs.setJailOnNextLogin(false);
 
-        // Kick off a scheduled task.
-        Sponge.getScheduler().createTaskBuilder().async().delay(500, TimeUnit.MILLISECONDS).execute(() -> {
-            Optional<JailData> omd = qs.getJailData();
+        // Start the clock on a jail that runs from the next login, and release them at the end.
+        Optional<JailData> omd = qs.getJailData();
+        if (omd.isPresent()) {
+            omd.get().nextLoginToTimestamp();
+
+            omd = Util.testForEndTimestamp(qs.getJailData(), () -> handler.unjailPlayer(user));
             if (omd.isPresent()) {
-                JailData md = omd.get();
-                md.nextLoginToTimestamp();
-
-                omd = Util.testForEndTimestamp(qs.getJailData(), () -> handler.unjailPlayer(user));
-                if (omd.isPresent()) {
-                    md = omd.get();
-                    onJail(md, event.getTargetEntity());
-                }
+                handler.scheduleExpiry(user.getUniqueId(), omd.get());
+                onJail(omd.get(), user);
             }
-        }).submit(plugin);
+        }
     }
 
     @Listener
     public void onCommand(SendCommandEvent event, @Root Player player) {
-        // Only if the command is not in the control list.
-        if (checkJail(player, false) && !jailConfigAdapter.getNodeOrDefault().getAllowedCommands().stream().anyMatch(x -> event.getCommand().equalsIgnoreCase(x))) {
-            event.setCancelled(true);
+        time(commandTimer, () -> {
+            // Only if the command is not in the control list.
+            if (checkJail(player, false) && !jailConfigAdapter.getNodeOrDefault().getAllowedCommands().stream().anyMatch(x -> event.getCommand().equalsIgnoreCase(x))) {
+                event.setCancelled(true);
 
-            // This is the easiest way to send the messages.
-            checkJail(player, true);
-        }
+                // This is the easiest way to send the messages.
+                checkJail(player, true);
+            }
+        });
     }
 
     @Listener
     public void onBlockChange(ChangeBlockEvent event, @Root Player player) {
-        event.setCancelled(checkJail(player, true));
+        time(blockChangeTimer, () -> event.setCancelled(checkJail(player, true)));
     }
 
     @Listener
     public void onInteract(InteractEvent event, @Root Player player) {
-        event.setCancelled(checkJail(player, true));
+        time(interactTimer, () -> event.setCancelled(checkJail(player, true)));
     }
 
     @Listener
@@ -137,10 +140,12 @@ public class JailListener extends ListenerBase {
 
     @Listener(order = Order.FIRST)
     public void onChat(MessageChannelEvent.Chat event, @Root Player player) {
-        if (checkJail(player, false) && jailConfigAdapter.getNodeOrDefault().isMuteOnJail()) {
-            player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("jail.muteonchat"));
-            event.setCancelled(true);
-        }
+        time(chatTimer, () -> {
+            if (checkJail(player, false) && jailConfigAdapter.getNodeOrDefault().isMuteOnJail()) {
+                player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("jail.muteonchat"));
+                event.setCancelled(true);
+            }
+        });
     }
 
     private boolean checkJail(final Player player, boolean sendMessage) {
@@ -20,15 +20,12 @@ import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformati
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.kit.config.KitConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.kit.handlers.KitHandler;
+import io.github.nucleuspowered.nucleus.modules.kit.handlers.PreparedKit;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
 import org.spongepowered.api.command.args.GenericArguments;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.item.ItemTypes;
-import org.spongepowered.api.item.inventory.Inventory;
-import org.spongepowered.api.item.inventory.ItemStackSnapshot;
-import org.spongepowered.api.item.inventory.transaction.InventoryTransactionResult;
 import org.spongepowered.api.text.Text;
 
 import java.time.Duration;
@@ -95,7 +92,7 @@ public class KitCommand extends io.github.nucleuspowered.nucleus.internal.comman
         }
 
         // If the kit was used before...
-        Optional<Instant> oi = Util.getValueIgnoreCase(user.getKitLastUsedTime(), kitName);
+        Optional<Instant> oi = user.getKitLastUsedTime(kitName);
         if (oi.isPresent()) {
 
             // if it's one time only and the user does not have an exemption...
@@ -121,25 +118,15 @@ public class KitCommand extends io.github.nucleuspowered.nucleus.internal.comman
             }
         }
 
-        boolean isConsumed = false;
-        Inventory target = Util.getStandardInventory(player);
-        for (ItemStackSnapshot stack : kit.getStacks()) {
-            // Ignore anything that is NONE
-            if (stack.getType() != ItemTypes.NONE) {
-                // Give them the kit.
-                InventoryTransactionResult itr = target.offer(stack.createStack());
-
-                // If some items were rejected...
-                if (!itr.getRejectedItems().isEmpty()) {
-                    // ...tell the user and break out.
-                    player.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.kit.fullinventory"));
-                    break;
-                }
-
-                isConsumed = true;
-            }
+        // Give them the kit, if all of it fits.
+        PreparedKit preparedKit = kitConfig.getPreparedKit(kit);
+        if (!preparedKit.giveTo(Util.getStandardInventory(player))) {
+            player.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.kit.fullinventory"));
+            return CommandResult.empty();
         }
 
+        boolean isConsumed = !preparedKit.isEmpty();
+
         // If something was consumed, consider a success.
         if (isConsumed) {
             // Charge, if necessary
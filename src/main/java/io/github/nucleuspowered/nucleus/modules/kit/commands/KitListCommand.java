@@ -36,6 +36,7 @@ import org.spongepowered.api.text.format.TextStyles;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -90,7 +91,8 @@ public class KitListCommand extends io.github.nucleuspowered.nucleus.internal.co
     private Text createKit(CommandSource source, UserService user, String kitName, Kit kitObj) {
         Text.Builder tb = Text.builder(kitName);
 
-        if (user != null && Util.getKeyIgnoreCase(user.getKitLastUsedTime(), kitName).isPresent()) {
+        Optional<Instant> lastUsed = user == null ? Optional.empty() : user.getKitLastUsedTime(kitName);
+        if (lastUsed.isPresent()) {
             Player p = (Player)source;
 
             // If one time used...
@@ -105,7 +107,7 @@ public class KitListCommand extends io.github.nucleuspowered.nucleus.internal.co
             if (!interval.isZero() && !kitPermissionHandler.testCooldownExempt(p)) {
 
                 // Get the next time the kit can be used.
-                Instant next = Util.getValueIgnoreCase(user.getKitLastUsedTime(), kitName).get().plus(interval);
+                Instant next = lastUsed.get().plus(interval);
                 if (next.isAfter(Instant.now())) {
                     // Get the time to next usage.
                     String time = Util.getTimeToNow(next);
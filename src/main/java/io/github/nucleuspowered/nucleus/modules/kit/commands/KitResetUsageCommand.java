@@ -54,10 +54,8 @@ public class KitResetUsageCommand extends io.github.nucleuspowered.nucleus.inter
         User u = args.<User>getOne(user).get();
         UserService inu = userConfigLoader.get(u).get();
 
-        if (inu.getKitLastUsedTime().containsKey(kitInfo.name.toLowerCase())) {
-            // Remove the key.
-            inu.removeKitLastUsedTime(kitInfo.name.toLowerCase());
-
+        // Remove the key, if it is there.
+        if (inu.removeKitLastUsedTime(kitInfo.name)) {
             player.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.kit.resetuser.success", u.getName(), kitInfo.name));
             return CommandResult.success();
         }
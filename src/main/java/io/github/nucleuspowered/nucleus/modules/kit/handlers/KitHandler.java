@@ -11,14 +11,21 @@ import io.github.nucleuspowered.nucleus.api.data.Kit;
 import io.github.nucleuspowered.nucleus.api.service.NucleusKitService;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.KitDataNode;
 import io.github.nucleuspowered.nucleus.dataservices.GeneralService;
+import org.spongepowered.api.item.inventory.ItemStackSnapshot;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 public class KitHandler implements NucleusKitService {
 
     @Inject private GeneralService store;
 
+    // Kits do not override equals, so this is keyed on the kit itself, and is dropped along with it.
+    private final Map<Kit, PreparedKit> prepared = new WeakHashMap<>();
+
     @Override
     public Set<String> getKitNames() {
         return store.getKits().keySet();
@@ -45,4 +52,24 @@ public class KitHandler implements NucleusKitService {
     public Kit createKit() {
         return new KitDataNode();
     }
+
+    /**
+     * Gets the items of a kit, ready to be given out. This is only worked out again if the stacks of the kit change.
+     *
+     * @param kit The {@link Kit}.
+     * @return The {@link PreparedKit}.
+     */
+    public PreparedKit getPreparedKit(Kit kit) {
+        // Other kits may return a new list each time, in which case they are prepared again.
+        List<ItemStackSnapshot> stacks = kit instanceof KitDataNode ? ((KitDataNode) kit).getSharedStacks() : kit.getStacks();
+        synchronized (prepared) {
+            PreparedKit pk = prepared.get(kit);
+            if (pk == null || !pk.isPreparedFrom(stacks)) {
+                pk = new PreparedKit(stacks);
+                prepared.put(kit, pk);
+            }
+
+            return pk;
+        }
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.kit.handlers;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.spongepowered.api.item.ItemTypes;
+import org.spongepowered.api.item.inventory.Inventory;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.item.inventory.ItemStackSnapshot;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The items of a kit, ready to be given out. Empty stacks have been removed, and the number of slots needed is worked
+ * out once from the size of each stack.
+ */
+public final class PreparedKit {
+
+    private final List<ItemStackSnapshot> source;
+    private final List<ItemStackSnapshot> items;
+    private final int slotsRequired;
+
+    public PreparedKit(List<ItemStackSnapshot> source) {
+        this.source = source;
+        this.items = ImmutableList.copyOf(source.stream().filter(x -> x.getType() != ItemTypes.NONE)
+                .collect(Collectors.toList()));
+        this.slotsRequired = items.stream().mapToInt(PreparedKit::getSlotsRequired).sum();
+    }
+
+    /**
+     * Gets whether this was prepared from the given stacks, which are cached by the kit until they change.
+     *
+     * @param stacks The stacks of the kit.
+     * @return <code>true</code> if so.
+     */
+    boolean isPreparedFrom(List<ItemStackSnapshot> stacks) {
+        return source == stacks;
+    }
+
+    public List<ItemStackSnapshot> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the number of empty slots that are needed to be sure of fitting the whole kit. A stack that is larger than
+     * its item's maximum stack size needs more than one slot. The kit may still fit into fewer empty slots if some of
+     * it can be added to stacks that are already in the inventory.
+     *
+     * @return The number of slots.
+     */
+    public int getSlotsRequired() {
+        return slotsRequired;
+    }
+
+    /**
+     * Gets whether the whole kit is sure to fit into the given number of empty slots.
+     *
+     * @param emptySlots The number of empty slots.
+     * @return <code>true</code> if so.
+     */
+    public boolean fitsInto(int emptySlots) {
+        return slotsRequired <= emptySlots;
+    }
+
+    /**
+     * Creates the stacks to give out, splitting any stack that is larger than its item's maximum stack size.
+     *
+     * @return The {@link ItemStack}s.
+     */
+    public List<ItemStack> createStacks() {
+        List<ItemStack> stacks = Lists.newArrayListWithCapacity(slotsRequired);
+        for (ItemStackSnapshot item : items) {
+            int max = getMaxStackQuantity(item);
+            if (item.getCount() <= max) {
+                stacks.add(item.createStack());
+                continue;
+            }
+
+            for (int remaining = item.getCount(); remaining > 0; remaining -= max) {
+                ItemStack stack = item.createStack();
+                stack.setQuantity(Math.min(remaining, max));
+                stacks.add(stack);
+            }
+        }
+
+        return stacks;
+    }
+
+    /**
+     * Gives the whole kit to an inventory, or none of it. What is in the inventory is kept first and put back if any
+     * of the kit is rejected. This is done even if there are enough empty slots, as the inventory may still reject a
+     * stack part way through, and the stacks already given must not be kept.
+     *
+     * @param target The {@link Inventory} to give the kit to.
+     * @return <code>true</code> if the whole kit was given.
+     */
+    public boolean giveTo(Inventory target) {
+        List<Inventory> slots = Lists.newArrayList(target.<Inventory>slots());
+        List<Optional<ItemStack>> before = slots.stream().map(Inventory::peek).collect(Collectors.toList());
+        for (ItemStack stack : createStacks()) {
+            if (!target.offer(stack).getRejectedItems().isEmpty()) {
+                for (int i = 0; i < slots.size(); i++) {
+                    Optional<ItemStack> original = before.get(i);
+                    if (original.isPresent()) {
+                        slots.get(i).set(original.get());
+                    } else {
+                        slots.get(i).clear();
+                    }
+                }
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    private static int getSlotsRequired(ItemStackSnapshot item) {
+        int max = getMaxStackQuantity(item);
+        return Math.max(1, (item.getCount() + max - 1) / max);
+    }
+
+    private static int getMaxStackQuantity(ItemStackSnapshot item) {
+        return Math.max(1, item.getType().getMaxStackQuantity());
+    }
+}
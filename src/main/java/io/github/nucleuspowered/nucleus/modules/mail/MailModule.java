@@ -24,5 +24,6 @@ public class MailModule extends StandardModule {
         MailHandler m = new MailHandler(game, plugin);
         serviceManager.registerService(MailHandler.class, m);
         game.getServiceManager().setProvider(plugin, NucleusMailService.class, m);
+        plugin.registerReloadable(m::invalidateCache);
     }
 }
@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.mail.commands;
 
+import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.data.mail.MailData;
@@ -25,7 +26,6 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class MailReadBase {
 
@@ -39,14 +39,8 @@ public class MailReadBase {
     }
 
     public CommandResult executeCommand(CommandSource src, final User target, Collection<MailFilter> lmf) {
-        List<MailData> lmd;
-        if (!lmf.isEmpty()) {
-            lmd = handler.getMail(target, lmf.toArray(new MailFilter[lmf.size()]));
-        } else {
-            lmd = handler.getMail(target);
-        }
-
-        if (lmd.isEmpty()) {
+        final MailFilter[] mf = lmf.toArray(new MailFilter[lmf.size()]);
+        if (handler.getMailCount(target, mf) == 0) {
             if (src instanceof Player && target.getUniqueId().equals(((Player) src).getUniqueId())) {
                 src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat(!lmf.isEmpty() ? "command.mail.none.filter" : "command.mail.none.normal.self"));
             } else {
@@ -56,7 +50,9 @@ public class MailReadBase {
             return CommandResult.success();
         }
 
-        List<Text> mails = lmd.stream().sorted((a, b) -> a.getDate().compareTo(b.getDate())).map(x -> createMessage(x, target)).collect(Collectors.toList());
+        // The mail is fixed when the command is run, so that pages do not move if mail arrives or is deleted while they
+        // are being read. Each message is only turned into text when the pagination service asks for it.
+        List<Text> mails = Lists.transform(handler.getMail(target, mf), x -> createMessage(x, target));
 
         // Paginate the mail.
         PaginationService ps = game.getServiceManager().provideUnchecked(PaginationService.class);
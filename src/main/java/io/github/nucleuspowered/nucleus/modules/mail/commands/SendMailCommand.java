@@ -54,10 +54,9 @@ public class SendMailCommand extends io.github.nucleuspowered.nucleus.internal.c
 
         // Send the message.
         String m = args.<String>getOne(message).orElseThrow(() -> new CommandException(plugin.getMessageProvider().getTextMessageWithFormat("args.message.none")));
-        if (src instanceof User) {
-            handler.sendMail((User) src, pl, m);
-        } else {
-            handler.sendMailFromConsole(pl, m);
+        if (!handler.send(src instanceof User ? (User) src : null, pl, m)) {
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.mail.send.failed", pl.getName()));
+            return CommandResult.empty();
         }
 
         src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.mail.send.successful", pl.getName()));
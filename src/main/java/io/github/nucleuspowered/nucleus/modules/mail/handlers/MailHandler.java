@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.mail.handlers;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.Util;
@@ -22,76 +23,73 @@ import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.text.Text;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 public class MailHandler implements NucleusMailService {
 
     private final Game game;
     private final NucleusPlugin plugin;
+    private final MailStore store;
 
     public MailHandler(Game game, NucleusPlugin plugin) {
         this.game = game;
         this.plugin = plugin;
+        this.store = new MailStore(plugin.getDataPath().resolve("mail"), new MailStore.LegacyMailSource() {
+            @Override
+            public Collection<MailData> getMail(UUID uuid) {
+                return plugin.getUserDataManager().get(uuid).map(UserService::getMail).orElse(ImmutableList.of());
+            }
+
+            @Override
+            public void clearMail(UUID uuid) {
+                plugin.getUserDataManager().get(uuid).ifPresent(UserService::clearMail);
+            }
+        });
+    }
+
+    /**
+     * Removes the mailboxes that are held in memory, so that they are read from disk again when next needed.
+     */
+    public void invalidateCache() {
+        store.invalidateAll();
     }
 
     @Override
     public List<MailData> getMail(User player, MailFilter... filters) {
-        UserService iqsu;
+        return getMail(player, 0, Integer.MAX_VALUE, filters);
+    }
+
+    @Override
+    public List<MailData> getMail(User player, int offset, int limit, MailFilter... filters) {
         try {
-            iqsu = plugin.getUserDataManager().get(player).get();
+            return store.query(player.getUniqueId(), createQuery(filters), offset, limit);
         } catch (Exception e) {
             e.printStackTrace();
-            return null;
-        }
-
-        List<MailData> lmd = iqsu.getMail();
-        if (filters.length == 0 || lmd.isEmpty()) {
-            return Lists.newArrayList(lmd);
-        }
-
-        List<MailFilter> lmf = Arrays.asList(filters);
-        Optional<DateFilter> odf = lmf.stream().filter(d -> d instanceof DateFilter).map(d -> (DateFilter) d).findFirst();
-        if (odf.isPresent()) {
-            BetweenInstantsData df = odf.get().getSuppliedData();
-            lmd = lmd.stream().filter(x -> df.from().orElseGet(() -> Instant.ofEpochSecond(0)).isBefore(x.getDate())
-                    && df.to().orElseGet(() -> Instant.now().plus(1, ChronoUnit.DAYS)).isAfter(x.getDate())).collect(Collectors.toList());
-        }
-
-        // Get players.
-        List<UUID> pf =
-                lmf.stream().filter(x -> x instanceof PlayerFilter).map(d -> ((PlayerFilter) d).getSuppliedData()).collect(Collectors.toList());
-        if (lmf.stream().filter(x -> x instanceof ConsoleFilter).findFirst().isPresent()) {
-            pf.add(Util.consoleFakeUUID);
-        }
-
-        // Add the predicates
-        if (!pf.isEmpty()) {
-            // Check the UUIDs - if they are in the list, let them through.
-            lmd = lmd.stream().filter(x -> pf.contains(x.getUuid())).collect(Collectors.toList());
+            return Lists.newArrayList();
         }
+    }
 
-        // Message parts
-        List<String> m = lmf.stream().filter(x -> x instanceof MessageFilter).map(d -> ((MessageFilter) d).getSuppliedData().toLowerCase())
-                .collect(Collectors.toList());
-        if (!m.isEmpty()) {
-            // For each mail, check to see if any filters match after everything
-            // goes lowercase.
-            lmd = lmd.stream().filter(x -> m.stream().allMatch(a -> x.getMessage().toLowerCase().contains(a.toLowerCase())))
-                    .collect(Collectors.toList());
+    @Override
+    public int getMailCount(User player, MailFilter... filters) {
+        try {
+            return store.count(player.getUniqueId(), createQuery(filters));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
         }
-
-        return lmd;
     }
 
     @Override
     public boolean removeMail(User player, MailData mailData) {
         try {
-            return plugin.getUserDataManager().get(player).get().removeMail(mailData);
+            return store.remove(player.getUniqueId(), mailData);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -100,29 +98,44 @@ public class MailHandler implements NucleusMailService {
 
     @Override
     public void sendMail(User playerFrom, User playerTo, String message) {
-        UserService iqsu;
-        try {
-            iqsu = plugin.getUserDataManager().get(playerTo).get();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return;
-        }
+        send(playerFrom, playerTo, message);
+    }
 
+    /**
+     * Sends mail, as {@link #sendMail(User, User, String)} does, and reports whether it was sent.
+     *
+     * @param playerFrom The {@link User} sending the mail, or <code>null</code> for the console.
+     * @param playerTo The {@link User} to send the mail to.
+     * @param message The message.
+     * @return <code>true</code> if the mail was stored, <code>false</code> if the send was cancelled or the mail
+     *         could not be written.
+     */
+    public boolean send(@Nullable User playerFrom, User playerTo, String message) {
         // Message is about to be sent. Send the event out. If canceled, then
         // that's that.
         if (Sponge.getEventManager().post(new InternalNucleusMailEvent(playerFrom, playerTo, message))) {
-            playerFrom.getPlayer().ifPresent(x -> x.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("message.cancel")));
-            return;
+            if (playerFrom != null) {
+                playerFrom.getPlayer().ifPresent(x -> x.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("message.cancel")));
+            }
+
+            return false;
         }
 
         MailData md = new MailData(playerFrom == null ? Util.consoleFakeUUID : playerFrom.getUniqueId(), Instant.now(), message);
-        iqsu.addMail(md);
+        try {
+            store.add(playerTo.getUniqueId(), md);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
 
         Text from = playerFrom == null ? Text.of(game.getServer().getConsole().getName()) : plugin.getNameUtil().getName(playerFrom);
         if (playerTo.isOnline()) {
             playerTo.getPlayer().get()
                     .sendMessage(Text.builder().append(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("mail.youvegotmail")).append(Text.of(" ", from)).build());
         }
+
+        return true;
     }
 
     @Override
@@ -132,15 +145,12 @@ public class MailHandler implements NucleusMailService {
 
     @Override
     public boolean clearUserMail(User player) {
-        UserService iqsu;
         try {
-            iqsu = plugin.getUserDataManager().get(player).get();
+            return store.clear(player.getUniqueId());
         } catch (Exception e) {
             e.printStackTrace();
             return false;
         }
-
-        return iqsu.clearMail();
     }
 
     @Override
@@ -168,6 +178,28 @@ public class MailHandler implements NucleusMailService {
         return new MessageFilter(message);
     }
 
+    private MailStore.Query createQuery(MailFilter... filters) {
+        if (filters.length == 0) {
+            return MailStore.Query.ALL;
+        }
+
+        List<MailFilter> lmf = Arrays.asList(filters);
+        Optional<BetweenInstantsData> odf = lmf.stream().filter(d -> d instanceof DateFilter).map(d -> ((DateFilter) d).getSuppliedData()).findFirst();
+
+        // Get players.
+        List<UUID> pf =
+                lmf.stream().filter(x -> x instanceof PlayerFilter).map(d -> ((PlayerFilter) d).getSuppliedData()).collect(Collectors.toList());
+        if (lmf.stream().anyMatch(x -> x instanceof ConsoleFilter)) {
+            pf.add(Util.consoleFakeUUID);
+        }
+
+        // Message parts
+        List<String> m = lmf.stream().filter(x -> x instanceof MessageFilter).map(d -> ((MessageFilter) d).getSuppliedData())
+                .collect(Collectors.toList());
+
+        return new MailStore.Query(pf, odf.flatMap(BetweenInstantsData::from).orElse(null), odf.flatMap(BetweenInstantsData::to).orElse(null), m);
+    }
+
     private static class ConsoleFilter implements MailFilter<Void> {
 
         @Override
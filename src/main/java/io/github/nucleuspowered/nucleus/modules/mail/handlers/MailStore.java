@@ -0,0 +1,560 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.mail.handlers;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Striped;
+import io.github.nucleuspowered.nucleus.api.data.mail.MailData;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Stores mail in a file for each recipient, separately from the rest of the user data.
+ *
+ * <p>Each file is append only. Sending mail appends a record without reading the file, so the recipient's mailbox
+ * does not need to be loaded. Deleting mail appends a tombstone, and the file is compacted when it is next read if
+ * most of it is no longer in use.</p>
+ *
+ * <p>When a mailbox is read, it is kept in memory for a while, ordered by date, with an index by sender and the
+ * lower case text of each message worked out up front, so that queries only visit the mail that could match.</p>
+ */
+public class MailStore {
+
+    private static final byte RECORD_DELETED = 0;
+    private static final byte RECORD_MAIL = 1;
+
+    // Type, sender, date and message length.
+    private static final int MAIL_HEADER_SIZE = 1 + 16 + 8 + 4;
+
+    // Type and the position of the deleted record.
+    private static final int DELETED_SIZE = 1 + 8;
+    private static final long MIN_COMPACT_SIZE = 16 * 1024;
+
+    private final Path directory;
+    private final LegacyMailSource legacyMailSource;
+
+    private final Striped<Lock> locks = Striped.lock(64);
+    private final Cache<UUID, Mailbox> mailboxes = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES).build();
+
+    // The mailboxes whose files have been read since the store was created, so any partial write has been removed.
+    private final Set<UUID> checked = Sets.newConcurrentHashSet();
+
+    public MailStore(Path directory, LegacyMailSource legacyMailSource) {
+        Preconditions.checkNotNull(directory);
+        Preconditions.checkNotNull(legacyMailSource);
+        this.directory = directory;
+        this.legacyMailSource = legacyMailSource;
+    }
+
+    /**
+     * Adds mail to the recipient's mailbox.
+     *
+     * @param recipient The {@link UUID} of the recipient.
+     * @param mailData The {@link MailData} to add.
+     * @throws IOException if the mail could not be written.
+     */
+    public void add(UUID recipient, MailData mailData) throws IOException {
+        Lock lock = locks.get(recipient);
+        lock.lock();
+        try {
+            Path file = getFile(recipient);
+            if (!checked.contains(recipient) || Files.notExists(file)) {
+                // The mailbox needs to be set up, which may involve importing any mail from the user data, or the
+                // file needs to be read once so that a partial write at the end is not left in front of the new mail.
+                getMailbox(recipient);
+            }
+
+            ByteBuffer record = mailRecord(mailData);
+            int length = record.remaining() - MAIL_HEADER_SIZE;
+            long position = append(file, record);
+            Mailbox mailbox = mailboxes.getIfPresent(recipient);
+            if (mailbox != null) {
+                mailbox.add(new Mail(position, length, mailData));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a specific mail from the recipient's mailbox.
+     *
+     * @param recipient The {@link UUID} of the recipient.
+     * @param mailData The {@link MailData} to remove.
+     * @return <code>true</code> if the mail was removed.
+     * @throws IOException if the mailbox could not be read or written.
+     */
+    public boolean remove(UUID recipient, MailData mailData) throws IOException {
+        Lock lock = locks.get(recipient);
+        lock.lock();
+        try {
+            Mailbox mailbox = getMailbox(recipient);
+            Mail mail = mailbox.find(mailData);
+            if (mail == null) {
+                return false;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(DELETED_SIZE);
+            buffer.put(RECORD_DELETED).putLong(mail.position).flip();
+            append(getFile(recipient), buffer);
+            mailbox.remove(mail);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all mail from the recipient's mailbox.
+     *
+     * @param recipient The {@link UUID} of the recipient.
+     * @return <code>true</code> if there was any mail to remove.
+     * @throws IOException if the mailbox could not be read or written.
+     */
+    public boolean clear(UUID recipient) throws IOException {
+        Lock lock = locks.get(recipient);
+        lock.lock();
+        try {
+            Mailbox mailbox = getMailbox(recipient);
+            if (mailbox.byDate.isEmpty()) {
+                return false;
+            }
+
+            // Leave an empty file behind, so that we know that the mailbox exists.
+            Files.newByteChannel(getFile(recipient), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING).close();
+            mailboxes.put(recipient, new Mailbox());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the mail in the recipient's mailbox that matches the query, oldest first.
+     *
+     * @param recipient The {@link UUID} of the recipient.
+     * @param query The {@link Query}.
+     * @param offset The number of matching mail to skip.
+     * @param limit The maximum number of mail to return.
+     * @return The mail.
+     * @throws IOException if the mailbox could not be read.
+     */
+    public List<MailData> query(UUID recipient, Query query, int offset, int limit) throws IOException {
+        Preconditions.checkArgument(offset >= 0);
+        Preconditions.checkArgument(limit >= 0);
+        Lock lock = locks.get(recipient);
+        lock.lock();
+        try {
+            List<Mail> candidates = getMailbox(recipient).candidates(query);
+            if (query.terms.isEmpty()) {
+                int from = Math.min(offset, candidates.size());
+                int to = (int) Math.min((long) from + limit, candidates.size());
+                return candidates.subList(from, to).stream().map(x -> x.data).collect(Collectors.toList());
+            }
+
+            List<MailData> result = Lists.newArrayList();
+            int skipped = 0;
+            int added = 0;
+            for (Mail mail : candidates) {
+                if (added >= limit) {
+                    break;
+                }
+
+                if (query.matches(mail)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        result.add(mail.data);
+                        added++;
+                    }
+                }
+            }
+
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts the mail in the recipient's mailbox that matches the query.
+     *
+     * @param recipient The {@link UUID} of the recipient.
+     * @param query The {@link Query}.
+     * @return The number of matching mail.
+     * @throws IOException if the mailbox could not be read.
+     */
+    public int count(UUID recipient, Query query) throws IOException {
+        Lock lock = locks.get(recipient);
+        lock.lock();
+        try {
+            List<Mail> candidates = getMailbox(recipient).candidates(query);
+            if (query.terms.isEmpty()) {
+                return candidates.size();
+            }
+
+            return (int) candidates.stream().filter(query::matches).count();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all mailboxes from memory. They will be read again when they are next needed.
+     */
+    public void invalidateAll() {
+        mailboxes.invalidateAll();
+    }
+
+    private Path getFile(UUID uuid) {
+        return directory.resolve(uuid.toString() + ".mail");
+    }
+
+    // Must hold the lock for the UUID.
+    private Mailbox getMailbox(UUID recipient) throws IOException {
+        Mailbox mailbox = mailboxes.getIfPresent(recipient);
+        if (mailbox == null) {
+            mailbox = load(recipient);
+            mailboxes.put(recipient, mailbox);
+        }
+
+        return mailbox;
+    }
+
+    private Mailbox load(UUID recipient) throws IOException {
+        Path file = getFile(recipient);
+        if (Files.notExists(file)) {
+            Mailbox mailbox = importLegacy(recipient, file);
+            checked.add(recipient);
+            return mailbox;
+        }
+
+        Map<Long, Mail> live = Maps.newLinkedHashMap();
+        long deadBytes = 0;
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            readFully(channel, buffer);
+            buffer.flip();
+
+            // The end of the last complete record.
+            long end = 0;
+            while (buffer.hasRemaining()) {
+                long position = buffer.position();
+                byte type = buffer.get();
+                if (type == RECORD_MAIL) {
+                    if (buffer.remaining() < MAIL_HEADER_SIZE - 1) {
+                        break;
+                    }
+
+                    UUID sender = new UUID(buffer.getLong(), buffer.getLong());
+                    long date = buffer.getLong();
+                    int length = buffer.getInt();
+                    if (length < 0 || buffer.remaining() < length) {
+                        // A partial write from a crash, everything before it is intact.
+                        break;
+                    }
+
+                    byte[] message = new byte[length];
+                    buffer.get(message);
+                    live.put(position, new Mail(position, length, new MailData(sender, Instant.ofEpochMilli(date), new String(message, StandardCharsets.UTF_8))));
+                } else if (type == RECORD_DELETED) {
+                    if (buffer.remaining() < DELETED_SIZE - 1) {
+                        break;
+                    }
+
+                    Mail removed = live.remove(buffer.getLong());
+                    deadBytes += DELETED_SIZE + (removed == null ? 0 : MAIL_HEADER_SIZE + removed.length);
+                } else {
+                    break;
+                }
+
+                end = buffer.position();
+            }
+
+            if (end < size) {
+                // A partial write at the end of the file, from a crash. It is removed so that new mail is appended
+                // straight after the last complete record, where it will be read.
+                channel.truncate(end);
+                size = end;
+            }
+        }
+
+        checked.add(recipient);
+
+        Mailbox mailbox = new Mailbox();
+        live.values().forEach(mailbox::add);
+        if (size > MIN_COMPACT_SIZE && deadBytes * 2 > size) {
+            rewrite(file, mailbox);
+        }
+
+        return mailbox;
+    }
+
+    private Mailbox importLegacy(UUID recipient, Path file) throws IOException {
+        Mailbox mailbox = new Mailbox();
+        legacyMailSource.getMail(recipient).forEach(x -> mailbox.add(new Mail(0, 0, x)));
+        rewrite(file, mailbox);
+        if (!mailbox.byDate.isEmpty()) {
+            legacyMailSource.clearMail(recipient);
+        }
+
+        return mailbox;
+    }
+
+    // Writes out the mailbox to a new file, and updates the positions of the mail to match.
+    private void rewrite(Path file, Mailbox mailbox) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = file.resolveSibling(file.getFileName().toString() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Mail mail : mailbox.byDate) {
+                ByteBuffer buffer = mailRecord(mail.data);
+                mail.position = channel.position();
+                mail.length = buffer.remaining() - MAIL_HEADER_SIZE;
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long append(Path file, ByteBuffer buffer) throws IOException {
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long position = channel.size();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            return position;
+        }
+    }
+
+    private static ByteBuffer mailRecord(MailData mailData) {
+        byte[] message = mailData.getMessage().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(MAIL_HEADER_SIZE + message.length);
+        buffer.put(RECORD_MAIL)
+                .putLong(mailData.getUuid().getMostSignificantBits())
+                .putLong(mailData.getUuid().getLeastSignificantBits())
+                .putLong(mailData.getDate().toEpochMilli())
+                .putInt(message.length)
+                .put(message)
+                .flip();
+        return buffer;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    // Index of the first mail in the list with a date after the given time.
+    private static int firstAfter(List<Mail> list, long time) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list.get(mid).date <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    // Index of the first mail in the list with a date at or after the given time.
+    private static int firstFrom(List<Mail> list, long time) {
+        return time == Long.MIN_VALUE ? 0 : firstAfter(list, time - 1);
+    }
+
+    private static void insertByDate(List<Mail> list, Mail mail) {
+        // Almost always the newest.
+        if (list.isEmpty() || list.get(list.size() - 1).date <= mail.date) {
+            list.add(mail);
+        } else {
+            list.add(firstAfter(list, mail.date), mail);
+        }
+    }
+
+    private static void removeByDate(List<Mail> list, Mail mail) {
+        for (int i = firstFrom(list, mail.date); i < list.size() && list.get(i).date == mail.date; i++) {
+            if (list.get(i) == mail) {
+                list.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Supplies the mail that was stored with the rest of the user data, so that it can be moved into this store.
+     */
+    public interface LegacyMailSource {
+
+        Collection<MailData> getMail(UUID uuid) throws IOException;
+
+        void clearMail(UUID uuid);
+    }
+
+    /**
+     * The restrictions on the mail to return from a mailbox.
+     */
+    public static final class Query {
+
+        public static final Query ALL = new Query(ImmutableSet.of(), null, null, ImmutableList.of());
+
+        private final Set<UUID> senders;
+        private final long after;
+        private final long before;
+        private final List<String> terms;
+
+        /**
+         * Creates a query.
+         *
+         * @param senders The senders to return mail from. If empty, mail from anyone is returned.
+         * @param after If not null, only mail sent after this time is returned.
+         * @param before If not null, only mail sent before this time is returned.
+         * @param terms Text that must all appear in the message, ignoring case.
+         */
+        public Query(Collection<UUID> senders, @Nullable Instant after, @Nullable Instant before, Collection<String> terms) {
+            this.senders = ImmutableSet.copyOf(senders);
+            this.after = after == null ? Long.MIN_VALUE : after.toEpochMilli();
+            this.before = before == null ? Long.MAX_VALUE : before.toEpochMilli();
+            this.terms = ImmutableList.copyOf(terms.stream().map(x -> x.toLowerCase(Locale.ROOT)).collect(Collectors.toList()));
+        }
+
+        private boolean matches(Mail mail) {
+            for (String term : terms) {
+                if (!mail.lowerMessage.contains(term)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private List<Mail> range(@Nullable List<Mail> list) {
+            if (list == null || list.isEmpty()) {
+                return ImmutableList.of();
+            }
+
+            int from = after == Long.MIN_VALUE ? 0 : firstAfter(list, after);
+            int to = before == Long.MAX_VALUE ? list.size() : firstFrom(list, before);
+            return from >= to ? ImmutableList.of() : list.subList(from, to);
+        }
+    }
+
+    private static final class Mailbox {
+
+        private final List<Mail> byDate = Lists.newArrayList();
+        private final Map<UUID, List<Mail>> bySender = Maps.newHashMap();
+
+        private void add(Mail mail) {
+            insertByDate(byDate, mail);
+            insertByDate(bySender.computeIfAbsent(mail.data.getUuid(), k -> Lists.newArrayList()), mail);
+        }
+
+        private void remove(Mail mail) {
+            removeByDate(byDate, mail);
+            List<Mail> fromSender = bySender.get(mail.data.getUuid());
+            if (fromSender != null) {
+                removeByDate(fromSender, mail);
+                if (fromSender.isEmpty()) {
+                    bySender.remove(mail.data.getUuid());
+                }
+            }
+        }
+
+        @Nullable
+        private Mail find(MailData mailData) {
+            List<Mail> fromSender = bySender.get(mailData.getUuid());
+            if (fromSender == null) {
+                return null;
+            }
+
+            long date = mailData.getDate().toEpochMilli();
+            for (int i = firstFrom(fromSender, date); i < fromSender.size() && fromSender.get(i).date == date; i++) {
+                Mail mail = fromSender.get(i);
+                if (mail.data.getMessage().equals(mailData.getMessage())) {
+                    return mail;
+                }
+            }
+
+            return null;
+        }
+
+        // Mail that might match the query, oldest first. Only the message terms still need checking.
+        private List<Mail> candidates(Query query) {
+            if (query.senders.isEmpty()) {
+                return query.range(byDate);
+            }
+
+            if (query.senders.size() == 1) {
+                return query.range(bySender.get(query.senders.iterator().next()));
+            }
+
+            List<Mail> merged = Lists.newArrayList();
+            query.senders.forEach(x -> merged.addAll(query.range(bySender.get(x))));
+            merged.sort((a, b) -> Long.compare(a.date, b.date));
+            return merged;
+        }
+    }
+
+    private static final class Mail {
+
+        // Where the record is in the file, and the length of the message in it.
+        private long position;
+        private int length;
+
+        private final MailData data;
+        private final long date;
+        private final String lowerMessage;
+
+        private Mail(long position, int length, MailData data) {
+            this.position = position;
+            this.length = length;
+            this.data = data;
+            this.date = data.getDate().toEpochMilli();
+            this.lowerMessage = data.getMessage().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class MessageModule extends ConfigurableModule<MessageConfigAdapter> {
 
         MessageHandler m = new MessageHandler();
         serviceManager.registerService(MessageHandler.class, m);
+        plugin.registerReloadable(m::refreshSocialSpies);
         game.getServiceManager().setProvider(plugin, NucleusPrivateMessagingService.class, m);
     }
 }
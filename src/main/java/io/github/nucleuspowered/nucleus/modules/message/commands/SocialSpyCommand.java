@@ -5,10 +5,9 @@
 package io.github.nucleuspowered.nucleus.modules.message.commands;
 
 import com.google.inject.Inject;
-import io.github.nucleuspowered.nucleus.dataservices.UserService;
-import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.annotations.*;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.modules.message.handlers.MessageHandler;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
@@ -25,7 +24,7 @@ import org.spongepowered.api.text.Text;
 public class SocialSpyCommand extends io.github.nucleuspowered.nucleus.internal.command.AbstractCommand<Player> {
 
     private final String arg = "Social Spy";
-    @Inject private UserDataManager userConfigLoader;
+    @Inject private MessageHandler handler;
 
     @Override
     public CommandElement[] getArguments() {
@@ -34,9 +33,8 @@ public class SocialSpyCommand extends io.github.nucleuspowered.nucleus.internal.
 
     @Override
     public CommandResult executeCommand(Player src, CommandContext args) throws Exception {
-        UserService qs = userConfigLoader.get(src).get();
-        boolean spy = args.<Boolean>getOne(arg).orElse(!qs.isSocialSpy());
-        if (qs.setSocialSpy(spy)) {
+        boolean spy = args.<Boolean>getOne(arg).orElse(!handler.isSocialSpy(src));
+        if (handler.setSocialSpy(src, spy)) {
             Text message = plugin.getMessageProvider().getTextMessageWithFormat(spy ? "command.socialspy.on" : "command.socialspy.off");
             src.sendMessage(message);
             return CommandResult.success();
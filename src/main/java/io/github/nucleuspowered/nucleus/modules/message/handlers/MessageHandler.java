@@ -5,6 +5,8 @@
 package io.github.nucleuspowered.nucleus.modules.message.handlers;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.ChatUtil;
@@ -27,6 +29,7 @@ import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.serializer.TextSerializers;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -41,7 +44,10 @@ public class MessageHandler implements NucleusPrivateMessagingService {
     private Supplier<CommandPermissionHandler> cph = null;
 
     private final Map<String[], Function<String, String>> replacements = createReplacements();
-    private final Map<UUID, UUID> messagesReceived = Maps.newHashMap();
+    private final Map<UUID, UUID> messagesReceived = new ConcurrentHashMap<>();
+
+    // Online players who are social spies, so that sending a message does not need to check every player.
+    private final Set<UUID> socialSpies = ConcurrentHashMap.newKeySet();
 
     public void setCommandPermissionHandler(Supplier<CommandPermissionHandler> commandPermissionHandler) {
         if (cph == null) {
@@ -65,7 +71,10 @@ public class MessageHandler implements NucleusPrivateMessagingService {
     @Override
     public boolean setSocialSpy(User user, boolean isSocialSpy) {
         try {
-            return ucl.get(user).get().setSocialSpy(isSocialSpy);
+            UserService us = ucl.get(user).get();
+            boolean result = us.setSocialSpy(isSocialSpy);
+            updateSocialSpy(us);
+            return result;
         } catch (Exception e) {
             if (cca.getNodeOrDefault().isDebugmode()) {
                 e.printStackTrace();
@@ -75,6 +84,39 @@ public class MessageHandler implements NucleusPrivateMessagingService {
         }
     }
 
+    /**
+     * Adds the user to, or removes them from, the set of online social spies, based on their current state.
+     *
+     * @param userService The {@link UserService} of the user.
+     */
+    public void updateSocialSpy(UserService userService) {
+        if (userService.getUser().isOnline() && userService.isSocialSpy()) {
+            socialSpies.add(userService.getUniqueID());
+        } else {
+            socialSpies.remove(userService.getUniqueID());
+        }
+    }
+
+    /**
+     * Removes a user from the set of online social spies.
+     *
+     * @param uuid The {@link UUID} of the user.
+     */
+    public void removeSocialSpy(UUID uuid) {
+        socialSpies.remove(uuid);
+    }
+
+    /**
+     * Rebuilds the set of online social spies, to pick up any permission changes.
+     */
+    public void refreshSocialSpies() {
+        List<UserService> online = ucl.getOnlineUsersInternal();
+        online.forEach(this::updateSocialSpy);
+
+        Set<UUID> uuids = online.stream().map(UserService::getUniqueID).collect(Collectors.toSet());
+        socialSpies.retainAll(uuids);
+    }
+
     public boolean replyMessage(CommandSource sender, String message) {
         Optional<CommandSource> cs = getPlayerToReplyTo(getUUID(sender));
         if (cs.isPresent()) {
@@ -100,22 +142,24 @@ public class MessageHandler implements NucleusPrivateMessagingService {
         // Social Spies.
         final UUID uuidSender = getUUID(sender);
         final UUID uuidReceiver = getUUID(receiver);
-        List<MessageReceiver> lm =
-                ucl.getOnlineUsersInternal().stream().filter(x -> !uuidSender.equals(x.getUniqueID()) && !uuidReceiver.equals(x.getUniqueID()))
-                        .filter(UserService::isSocialSpy).map(x -> x.getUser().getPlayer().orElse(null))
-                        .filter(x -> x != null && x.isOnline()).collect(Collectors.toList());
+        List<MessageReceiver> lm = Lists.newArrayList();
+        for (UUID spy : socialSpies) {
+            if (!spy.equals(uuidSender) && !spy.equals(uuidReceiver)) {
+                Sponge.getServer().getPlayer(spy).ifPresent(lm::add);
+            }
+        }
 
         // If the console is not involved, make them involved.
         if (!uuidSender.equals(Util.consoleFakeUUID) && !uuidReceiver.equals(Util.consoleFakeUUID)) {
             lm.add(Sponge.getServer().getConsole());
         }
 
-        // Create the tokens.
+        // Create the tokens. Each is used by up to three templates, so only work them out once.
         Map<String, BiFunction<CommandSource, String, Text>> tokens = Maps.newHashMap();
-        tokens.put("{{from}}", (cs, g) -> chatUtil.addCommandToName(sender));
-        tokens.put("{{to}}", (cs, g) -> chatUtil.addCommandToName(receiver));
-        tokens.put("{{fromdisplay}}", (cs, g) -> chatUtil.addCommandToDisplayName(sender));
-        tokens.put("{{todisplay}}", (cs, g) -> chatUtil.addCommandToDisplayName(receiver));
+        tokens.put("{{from}}", memoize(() -> chatUtil.addCommandToName(sender)));
+        tokens.put("{{to}}", memoize(() -> chatUtil.addCommandToName(receiver)));
+        tokens.put("{{fromdisplay}}", memoize(() -> chatUtil.addCommandToDisplayName(sender)));
+        tokens.put("{{todisplay}}", memoize(() -> chatUtil.addCommandToDisplayName(receiver)));
 
         MessageChannel mc = MessageChannel.fixed(lm);
         Text tm = useMessage(sender, message);
@@ -148,7 +192,12 @@ public class MessageHandler implements NucleusPrivateMessagingService {
             return Optional.of(Sponge.getServer().getConsole());
         }
 
-        return Sponge.getServer().getOnlinePlayers().stream().filter(x -> x.getUniqueId().equals(to)).map(y -> (CommandSource) y).findFirst();
+        return Sponge.getServer().getPlayer(to).map(y -> (CommandSource) y);
+    }
+
+    private static BiFunction<CommandSource, String, Text> memoize(Supplier<Text> supplier) {
+        com.google.common.base.Supplier<Text> memoized = Suppliers.memoize(supplier::get);
+        return (cs, g) -> memoized.get();
     }
 
     private UUID getUUID(CommandSource sender) {
@@ -0,0 +1,31 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.message.listeners;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.modules.message.handlers.MessageHandler;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+public class MessageListener extends ListenerBase {
+
+    @Inject private MessageHandler handler;
+    @Inject private UserDataManager ucl;
+
+    @Listener(order = Order.LATE)
+    public void onPlayerJoin(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        ucl.get(player).ifPresent(handler::updateSocialSpy);
+    }
+
+    @Listener
+    public void onPlayerLeave(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        handler.removeSocialSpy(player.getUniqueId());
+    }
+}
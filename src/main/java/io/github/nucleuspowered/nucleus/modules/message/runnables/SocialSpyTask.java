@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.message.runnables;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.modules.message.handlers.MessageHandler;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the social spy permission of online players every so often, so that permission changes are picked up.
+ */
+public class SocialSpyTask extends TaskBase {
+
+    @Inject private MessageHandler handler;
+
+    @Override
+    public void accept(Task task) {
+        handler.refreshSocialSpies();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public TimePerRun interval() {
+        return new TimePerRun(30, TimeUnit.SECONDS);
+    }
+}
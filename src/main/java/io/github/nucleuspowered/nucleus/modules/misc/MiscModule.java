@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.modules.misc;
 
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.misc.config.MiscConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.misc.handlers.ServerStatsSampler;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
 @ModuleData(id = "misc", name = "Miscellaneous")
@@ -14,4 +15,10 @@ public class MiscModule extends ConfigurableModule<MiscConfigAdapter> {
     public MiscConfigAdapter getAdapter() {
         return new MiscConfigAdapter();
     }
+
+    @Override
+    protected void performPreTasks() throws Exception {
+        super.performPreTasks();
+        serviceManager.registerService(ServerStatsSampler.class, new ServerStatsSampler());
+    }
 }
@@ -4,11 +4,12 @@
  */
 package io.github.nucleuspowered.nucleus.modules.misc.commands;
 
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.internal.annotations.*;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.modules.misc.handlers.ServerStatsSampler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -38,7 +39,13 @@ import java.util.Optional;
 public class ServerStatCommand extends AbstractCommand<CommandSource> {
 
     private static final DecimalFormat tpsFormat = new DecimalFormat("#0.00");
+    private static final DecimalFormat msFormat = new DecimalFormat("#0.0");
     private static final Text notQuiteEmpty = Text.of(" ");
+    private static final char[] sparkChars = "\u2581\u2582\u2583\u2584\u2585\u2586\u2587\u2588".toCharArray();
+    private static final int sparkSeconds = 300;
+    private static final int sparkWidth = 30;
+
+    @Inject private ServerStatsSampler sampler;
 
     @Override
     public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
@@ -59,6 +66,15 @@ public class ServerStatCommand extends AbstractCommand<CommandSource> {
 
         messages.add(createText("command.serverstat.jvmuptime.main", "command.serverstat.jvmuptime.hover", Util.getTimeStringFromSeconds(uptime.getSeconds())));
 
+        double[] tpsHistory = sampler.getTpsHistory(sparkSeconds);
+        if (tpsHistory.length > 0) {
+            messages.add(createText("command.serverstat.sparkline.main", "command.serverstat.sparkline.hover", getSparkline(tpsHistory)));
+        }
+
+        addTickTime(messages, "1m", 60);
+        addTickTime(messages, "5m", 300);
+        addTickTime(messages, "15m", 900);
+
         messages.add(notQuiteEmpty);
 
         long max = Runtime.getRuntime().maxMemory() / 1024 / 1024;
@@ -72,14 +88,18 @@ public class ServerStatCommand extends AbstractCommand<CommandSource> {
         messages.add(createText("command.serverstat.allocated.main", "command.serverstat.allocated.hover",
                 String.valueOf(allocated), String.valueOf((allocated * 100)/total), String.valueOf((allocated * 100)/max)));
         messages.add(createText("command.serverstat.freemem.main", "command.serverstat.freemem.hover", String.valueOf(free)));
+        messages.add(createText("command.serverstat.gc.main", "command.serverstat.gc.hover",
+                String.valueOf(sampler.getGcMillis(60)), String.valueOf(sampler.getGcMillis(900))));
 
+        // This runs async, so the counts come from the last sample taken on the main thread.
         for (World world : Sponge.getServer().getWorlds())
         {
-            int numOfEntities = world.getEntities().size();
-            int loadedChunks = Iterables.size(world.getLoadedChunks());
+            Optional<int[]> counts = sampler.getLatestWorldCounts(world.getUniqueId());
+            String numOfEntities = counts.map(x -> String.valueOf(x[0])).orElse("-");
+            String loadedChunks = counts.map(x -> String.valueOf(x[1])).orElse("-");
             messages.add(notQuiteEmpty);
             messages.add(plugin.getMessageProvider().getTextMessageWithFormat("command.serverstat.world.title", world.getName()));
-            messages.add(plugin.getMessageProvider().getTextMessageWithFormat("command.serverstat.world.info", world.getDimension().getName(), String.valueOf(numOfEntities), String.valueOf(loadedChunks)));
+            messages.add(plugin.getMessageProvider().getTextMessageWithFormat("command.serverstat.world.info", world.getDimension().getName(), numOfEntities, loadedChunks));
         }
 
         PaginationList.Builder plb = Sponge.getServiceManager().provideUnchecked(PaginationService.class).builder()
@@ -93,7 +113,36 @@ public class ServerStatCommand extends AbstractCommand<CommandSource> {
         return CommandResult.success();
     }
 
+    private void addTickTime(List<Text> messages, String period, int seconds) {
+        sampler.getTickPercentiles(seconds).ifPresent(x -> messages.add(createText("command.serverstat.ticktime.main",
+                "command.serverstat.ticktime.hover", period, msFormat.format(x[0]), msFormat.format(x[1]), msFormat.format(x[2]))));
+    }
+
+    private Text getSparkline(double[] tpsHistory) {
+        // Each character is the average of the samples that fall into it.
+        int width = Math.min(sparkWidth, tpsHistory.length);
+        Text.Builder tb = Text.builder();
+        for (int i = 0; i < width; i++) {
+            int from = i * tpsHistory.length / width;
+            int to = (i + 1) * tpsHistory.length / width;
+            double total = 0;
+            for (int j = from; j < to; j++) {
+                total += tpsHistory[j];
+            }
+
+            double average = total / (to - from);
+            int level = (int) Math.round(Math.max(0, Math.min(20, average)) / 20 * (sparkChars.length - 1));
+            tb.append(Text.of(getTPSColour(average), String.valueOf(sparkChars[level])));
+        }
+
+        return tb.build();
+    }
+
     private Text getTPS(double currentTps) {
+        return Text.of(getTPSColour(currentTps), tpsFormat.format(currentTps));
+    }
+
+    private TextColor getTPSColour(double currentTps) {
         TextColor colour;
 
         if (currentTps > 18) {
@@ -104,7 +153,7 @@ public class ServerStatCommand extends AbstractCommand<CommandSource> {
             colour = TextColors.RED;
         }
 
-        return Text.of(colour, tpsFormat.format(currentTps));
+        return colour;
     }
 
     private Text createText(String mainKey, String hoverKey, String... subs) {
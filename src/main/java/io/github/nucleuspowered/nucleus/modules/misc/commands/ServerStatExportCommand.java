@@ -0,0 +1,53 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.misc.commands;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.internal.annotations.NoCooldown;
+import io.github.nucleuspowered.nucleus.internal.annotations.NoCost;
+import io.github.nucleuspowered.nucleus.internal.annotations.NoWarmup;
+import io.github.nucleuspowered.nucleus.internal.annotations.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.modules.misc.handlers.ServerStatsSampler;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes the samples held by the {@link ServerStatsSampler} to a CSV file in the Nucleus data directory.
+ */
+@Permissions(prefix = "serverstat")
+@RunAsync
+@NoCooldown
+@NoCost
+@NoWarmup
+@RegisterCommand(value = "export", subcommandOf = ServerStatCommand.class)
+public class ServerStatExportCommand extends AbstractCommand<CommandSource> {
+
+    private static final DateTimeFormatter fileFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss");
+
+    @Inject private ServerStatsSampler sampler;
+
+    @Override
+    public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        Path file = plugin.getDataPath().resolve("serverstat").resolve("serverstat-" + fileFormat.format(LocalDateTime.now()) + ".csv");
+        try {
+            int rows = sampler.writeCsv(file);
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.serverstat.export.success", String.valueOf(rows),
+                    file.toAbsolutePath().toString()));
+            return CommandResult.success();
+        } catch (IOException e) {
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.serverstat.export.fail", e.getMessage()));
+            return CommandResult.empty();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.misc.handlers;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.world.World;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records server performance in fixed size ring buffers for /serverstat.
+ *
+ * <p>The time between ticks is recorded for the last fifteen minutes. Every five seconds, the TPS, heap usage, the
+ * time spent in garbage collection and the entity and chunk counts of each world are also recorded, again for the last
+ * fifteen minutes. {@link #tick()} must be called on the main thread every tick, everything else may be called from
+ * any thread.</p>
+ */
+public class ServerStatsSampler {
+
+    public static final int SAMPLE_INTERVAL_SECONDS = 5;
+
+    private static final int TICK_CAPACITY = 15 * 60 * 20;
+    private static final int SAMPLE_INTERVAL_TICKS = SAMPLE_INTERVAL_SECONDS * 20;
+    private static final int SAMPLE_CAPACITY = 15 * 60 / SAMPLE_INTERVAL_SECONDS;
+
+    // Microseconds between the starts of consecutive ticks.
+    private final int[] tickMicros = new int[TICK_CAPACITY];
+    private long tickCount = 0;
+    private long lastTick = 0;
+
+    private final long[] sampleTimes = new long[SAMPLE_CAPACITY];
+    private final float[] tps = new float[SAMPLE_CAPACITY];
+    private final int[] heapUsed = new int[SAMPLE_CAPACITY];
+    private final int[] heapMax = new int[SAMPLE_CAPACITY];
+    private final int[] gcMillis = new int[SAMPLE_CAPACITY];
+    private final Map<UUID, WorldSamples> worlds = Maps.newLinkedHashMap();
+    private long sampleCount = 0;
+    private long lastGcMillis = -1;
+
+    /**
+     * Records the current tick, and takes a sample of the slower statistics if one is due.
+     */
+    public void tick() {
+        long now = System.nanoTime();
+        boolean sample;
+        synchronized (this) {
+            if (lastTick != 0) {
+                tickMicros[(int) (tickCount++ % TICK_CAPACITY)] = (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(now - lastTick));
+            }
+
+            lastTick = now;
+            sample = tickCount % SAMPLE_INTERVAL_TICKS == 0;
+        }
+
+        if (sample) {
+            sample();
+        }
+    }
+
+    /**
+     * Gets the 50th, 95th and 99th percentile of the time between ticks over the given period.
+     *
+     * @param seconds The period, in seconds.
+     * @return The percentiles in milliseconds, if any ticks have been recorded.
+     */
+    public Optional<double[]> getTickPercentiles(int seconds) {
+        int[] window;
+        synchronized (this) {
+            int count = (int) Math.min(Math.min(tickCount, TICK_CAPACITY), seconds * 20L);
+            if (count == 0) {
+                return Optional.empty();
+            }
+
+            window = new int[count];
+            for (int i = 0; i < count; i++) {
+                window[i] = tickMicros[(int) ((tickCount - count + i) % TICK_CAPACITY)];
+            }
+        }
+
+        Arrays.sort(window);
+        return Optional.of(new double[] { percentile(window, 0.5), percentile(window, 0.95), percentile(window, 0.99) });
+    }
+
+    /**
+     * Gets the recorded TPS, oldest first, for the given period.
+     *
+     * @param seconds The period, in seconds.
+     * @return The TPS of each sample in the period.
+     */
+    public synchronized double[] getTpsHistory(int seconds) {
+        int count = sampleWindow(seconds);
+        double[] result = new double[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = tps[index(sampleCount - count + i)];
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the time spent in garbage collection over the given period.
+     *
+     * @param seconds The period, in seconds.
+     * @return The time, in milliseconds.
+     */
+    public synchronized long getGcMillis(int seconds) {
+        int count = sampleWindow(seconds);
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += gcMillis[index(sampleCount - count + i)];
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the entity and chunk counts from the latest sample of a world.
+     *
+     * @param uuid The {@link UUID} of the world.
+     * @return The number of entities and loaded chunks, if the world was loaded at the last sample.
+     */
+    public synchronized Optional<int[]> getLatestWorldCounts(UUID uuid) {
+        WorldSamples ws = worlds.get(uuid);
+        if (ws == null || sampleCount == 0 || ws.entities[index(sampleCount - 1)] < 0) {
+            return Optional.empty();
+        }
+
+        int i = index(sampleCount - 1);
+        return Optional.of(new int[] { ws.entities[i], ws.chunks[i] });
+    }
+
+    /**
+     * Writes every sample currently held to a CSV file, with a pair of columns for the entities and chunks of each
+     * world.
+     *
+     * @param file The file to write to.
+     * @return The number of rows written.
+     * @throws IOException if the file could not be written.
+     */
+    public int writeCsv(Path file) throws IOException {
+        List<String> lines = Lists.newArrayList();
+        synchronized (this) {
+            StringBuilder header = new StringBuilder("time,tps,tick_mean_ms,tick_max_ms,heap_used_mb,heap_max_mb,gc_ms");
+            worlds.values().forEach(x -> header.append(',').append(escape(x.name + " entities")).append(',').append(escape(x.name + " chunks")));
+            lines.add(header.toString());
+
+            int count = (int) Math.min(sampleCount, SAMPLE_CAPACITY);
+            for (int i = 0; i < count; i++) {
+                long sample = sampleCount - count + i;
+                int s = index(sample);
+                StringBuilder line = new StringBuilder()
+                        .append(Instant.ofEpochMilli(sampleTimes[s])).append(',')
+                        .append(String.format(Locale.ROOT, "%.2f", tps[s])).append(',');
+                appendTicks(line, sample);
+                line.append(heapUsed[s]).append(',').append(heapMax[s]).append(',').append(gcMillis[s]);
+                for (WorldSamples ws : worlds.values()) {
+                    line.append(',');
+                    if (ws.entities[s] >= 0) {
+                        line.append(ws.entities[s]);
+                    }
+
+                    line.append(',');
+                    if (ws.chunks[s] >= 0) {
+                        line.append(ws.chunks[s]);
+                    }
+                }
+
+                lines.add(line.toString());
+            }
+        }
+
+        Files.createDirectories(file.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+
+        return lines.size() - 1;
+    }
+
+    private void sample() {
+        // Worlds can only be inspected on the main thread, so the counts are gathered before taking the lock.
+        Map<UUID, int[]> counts = Maps.newHashMap();
+        Map<UUID, String> names = Maps.newHashMap();
+        for (World world : Sponge.getServer().getWorlds()) {
+            counts.put(world.getUniqueId(), new int[] { world.getEntities().size(), Iterables.size(world.getLoadedChunks()) });
+            names.put(world.getUniqueId(), world.getName());
+        }
+
+        long gc = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gc += Math.max(0, bean.getCollectionTime());
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        synchronized (this) {
+            int s = index(sampleCount);
+            sampleTimes[s] = System.currentTimeMillis();
+            tps[s] = (float) Sponge.getServer().getTicksPerSecond();
+            heapUsed[s] = (int) ((runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024);
+            heapMax[s] = (int) (runtime.maxMemory() / 1024 / 1024);
+            gcMillis[s] = lastGcMillis < 0 ? 0 : (int) (gc - lastGcMillis);
+            lastGcMillis = gc;
+
+            names.forEach((uuid, name) -> worlds.computeIfAbsent(uuid, k -> new WorldSamples(name)));
+            for (Map.Entry<UUID, WorldSamples> entry : worlds.entrySet()) {
+                int[] c = counts.getOrDefault(entry.getKey(), new int[] { -1, -1 });
+                entry.getValue().entities[s] = c[0];
+                entry.getValue().chunks[s] = c[1];
+            }
+
+            sampleCount++;
+
+            // Forget worlds that have not been loaded for any of the samples still held.
+            if (sampleCount % SAMPLE_CAPACITY == 0) {
+                worlds.values().removeIf(x -> Arrays.stream(x.entities).allMatch(y -> y < 0));
+            }
+        }
+    }
+
+    private void appendTicks(StringBuilder line, long sample) {
+        // Sample n is taken after tick n * SAMPLE_INTERVAL_TICKS, so use the ticks leading up to it if they are still held.
+        long end = sample * SAMPLE_INTERVAL_TICKS;
+        long start = end - SAMPLE_INTERVAL_TICKS;
+        if (start < 0 || start < tickCount - TICK_CAPACITY || end > tickCount) {
+            line.append(",,");
+            return;
+        }
+
+        long total = 0;
+        int max = 0;
+        for (long t = start; t < end; t++) {
+            int micros = tickMicros[(int) (t % TICK_CAPACITY)];
+            total += micros;
+            max = Math.max(max, micros);
+        }
+
+        line.append(String.format(Locale.ROOT, "%.2f", total / 1000.0 / SAMPLE_INTERVAL_TICKS)).append(',').append(String.format(Locale.ROOT, "%.2f", max / 1000.0)).append(',');
+    }
+
+    private int sampleWindow(int seconds) {
+        return (int) Math.min(Math.min(sampleCount, SAMPLE_CAPACITY), seconds / SAMPLE_INTERVAL_SECONDS);
+    }
+
+    private static int index(long sample) {
+        return (int) (sample % SAMPLE_CAPACITY);
+    }
+
+    private static double percentile(int[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)] / 1000.0;
+    }
+
+    private static String escape(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static final class WorldSamples {
+
+        private final String name;
+        private final int[] entities = new int[SAMPLE_CAPACITY];
+        private final int[] chunks = new int[SAMPLE_CAPACITY];
+
+        private WorldSamples(String name) {
+            this.name = name;
+            Arrays.fill(entities, -1);
+            Arrays.fill(chunks, -1);
+        }
+    }
+}
@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.misc.listeners;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.Player;
@@ -16,17 +17,21 @@ import org.spongepowered.api.event.filter.Getter;
 
 public class MiscListener extends ListenerBase {
 
+    private final Profiler.Timer damageTimer = createTimer("onPlayerStruck");
+
     @Inject private UserDataManager ucl;
     @Inject private CoreConfigAdapter cca;
 
     // For /god
     @Listener
     public void onPlayerStruck(DamageEntityEvent event, @Getter("getTargetEntity") Player pl) {
-        if (isInvulnerable(pl)) {
-            pl.offer(Keys.FIRE_TICKS, 0);
-            event.setBaseDamage(0);
-            event.setCancelled(true);
-        }
+        time(damageTimer, () -> {
+            if (isInvulnerable(pl)) {
+                pl.offer(Keys.FIRE_TICKS, 0);
+                event.setBaseDamage(0);
+                event.setCancelled(true);
+            }
+        });
     }
 
     private boolean isInvulnerable(Player pl) {
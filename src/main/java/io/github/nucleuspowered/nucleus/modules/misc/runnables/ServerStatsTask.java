@@ -0,0 +1,36 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.misc.runnables;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.modules.misc.handlers.ServerStatsSampler;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records each tick for /serverstat.
+ */
+public class ServerStatsTask extends TaskBase {
+
+    @Inject private ServerStatsSampler sampler;
+
+    @Override
+    public void accept(Task task) {
+        sampler.tick();
+    }
+
+    @Override
+    public boolean isAsync() {
+        // Runs once per tick, so that the time between runs is the tick time.
+        return false;
+    }
+
+    @Override
+    public TimePerRun interval() {
+        return new TimePerRun(50, TimeUnit.MILLISECONDS);
+    }
+}
@@ -10,6 +10,7 @@ import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.data.MuteData;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMuteService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
 import io.github.nucleuspowered.nucleus.modules.mute.commands.CheckMuteCommand;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.mute.handler.MuteHandler;
@@ -39,6 +40,7 @@ public class MuteModule extends ConfigurableModule<MuteConfigAdapter> {
             plugin.getInjector().injectMembers(m);
             game.getServiceManager().setProvider(plugin, NucleusMuteService.class, m);
             serviceManager.registerService(MuteHandler.class, m);
+            serviceManager.getService(ExpiryScheduler.class).get().registerAction(ExpiryScheduler.Type.MUTE, m::onExpiry);
         } catch (Exception ex) {
             logger.warn("Could not load the mute module for the reason below.");
             ex.printStackTrace();
@@ -8,11 +8,15 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.data.MuteData;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMuteService;
 import io.github.nucleuspowered.nucleus.dataservices.UserService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.service.user.UserStorageService;
 
 import java.time.Instant;
 import java.util.List;
@@ -23,6 +27,7 @@ public class MuteHandler implements NucleusMuteService {
 
     private final NucleusPlugin nucleus;
     @Inject private UserDataManager ucl;
+    @Inject private ExpiryScheduler expiryScheduler;
 
     private boolean globalMuteEnabled = false;
     private List<UUID> voicedUsers = Lists.newArrayList();
@@ -62,6 +67,7 @@ public class MuteHandler implements NucleusMuteService {
         }
 
         u.setMuteData(data);
+        scheduleExpiry(user.getUniqueId(), data);
         return true;
     }
 
@@ -71,6 +77,7 @@ public class MuteHandler implements NucleusMuteService {
             Optional<UserService> o = ucl.get(user);
             if (o.isPresent()) {
                 o.get().removeMuteData();
+                expiryScheduler.cancel(user.getUniqueId(), ExpiryScheduler.Type.MUTE);
                 return true;
             }
         }
@@ -78,6 +85,26 @@ public class MuteHandler implements NucleusMuteService {
         return false;
     }
 
+    /**
+     * Sets the mute to end when the given data runs out, if it has an end time.
+     *
+     * @param uuid The {@link UUID} of the muted user.
+     * @param data The {@link MuteData}.
+     */
+    public void scheduleExpiry(UUID uuid, MuteData data) {
+        data.getEndTimestamp().ifPresent(x -> expiryScheduler.schedule(uuid, ExpiryScheduler.Type.MUTE, x));
+    }
+
+    /**
+     * Unmutes a user whose mute deadline has passed, if they are still muted and it has run out.
+     *
+     * @param uuid The {@link UUID} of the user.
+     */
+    public void onExpiry(UUID uuid) {
+        Sponge.getServiceManager().provideUnchecked(UserStorageService.class).get(uuid)
+                .ifPresent(x -> Util.testForEndTimestamp(getPlayerMuteData(x), () -> unmutePlayer(x)));
+    }
+
     public boolean isGlobalMuteEnabled() {
         return globalMuteEnabled;
     }
@@ -12,6 +12,7 @@ import io.github.nucleuspowered.nucleus.api.events.NucleusMessageEvent;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.message.events.InternalNucleusHelpOpEvent;
 import io.github.nucleuspowered.nucleus.modules.mute.commands.MuteCommand;
 import io.github.nucleuspowered.nucleus.modules.mute.commands.VoiceCommand;
@@ -37,13 +38,15 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
 public class MuteListener extends ListenerBase {
 
+    private final Profiler.Timer commandTimer = createTimer("onPlayerSendCommand");
+    private final Profiler.Timer chatTimer = createTimer("onPlayerChat");
+
     @Inject private MuteHandler handler;
     @Inject private MuteConfigAdapter mca;
     @Inject private PermissionRegistry permissionRegistry;
@@ -56,21 +59,18 @@ public class MuteListener extends ListenerBase {
      */
     @Listener
     public void onPlayerLogin(final ClientConnectionEvent.Join event) {
-        // Kick off a scheduled task.
-        Sponge.getScheduler().createTaskBuilder().async().delay(500, TimeUnit.MILLISECONDS).execute(() -> {
-            Player user = event.getTargetEntity();
-            Optional<MuteData> omd = handler.getPlayerMuteData(user);
-            if (omd.isPresent()) {
-                MuteData md = omd.get();
-                md.nextLoginToTimestamp();
+        // Start the clock on a mute that runs from the next login, and unmute them at the end.
+        Player user = event.getTargetEntity();
+        Optional<MuteData> omd = handler.getPlayerMuteData(user);
+        if (omd.isPresent()) {
+            omd.get().nextLoginToTimestamp();
 
-                omd = Util.testForEndTimestamp(handler.getPlayerMuteData(user), () -> handler.unmutePlayer(user));
-                if (omd.isPresent()) {
-                    md = omd.get();
-                    onMute(md, event.getTargetEntity());
-                }
+            omd = Util.testForEndTimestamp(handler.getPlayerMuteData(user), () -> handler.unmutePlayer(user));
+            if (omd.isPresent()) {
+                handler.scheduleExpiry(user.getUniqueId(), omd.get());
+                onMute(omd.get(), user);
             }
-        }).submit(plugin);
+        }
     }
 
     /**
@@ -81,57 +81,61 @@ public class MuteListener extends ListenerBase {
      */
     @Listener(order = Order.FIRST)
     public void onPlayerSendCommand(SendCommandEvent event, @Root Player player) {
-        List<String> commands = mca.getNodeOrDefault().getBlockedCommands();
-        if (commands.isEmpty()) {
-            return;
-        }
+        time(commandTimer, () -> {
+            List<String> commands = mca.getNodeOrDefault().getBlockedCommands();
+            if (commands.isEmpty()) {
+                return;
+            }
 
-        String command = event.getCommand().toLowerCase();
-        Optional<? extends CommandMapping> oc = Sponge.getCommandManager().get(command, player);
-        Set<String> cmd;
+            String command = event.getCommand().toLowerCase();
+            Optional<? extends CommandMapping> oc = Sponge.getCommandManager().get(command, player);
+            Set<String> cmd;
 
-        // If the command exists, then get all aliases.
-        if (oc.isPresent()) {
-            cmd = oc.get().getAllAliases().stream().map(String::toLowerCase).collect(Collectors.toSet());
-        } else {
-            cmd = Sets.newHashSet(command);
-        }
+            // If the command exists, then get all aliases.
+            if (oc.isPresent()) {
+                cmd = oc.get().getAllAliases().stream().map(String::toLowerCase).collect(Collectors.toSet());
+            } else {
+                cmd = Sets.newHashSet(command);
+            }
 
-        // If the command is in the list, block it.
-        if (commands.stream().map(String::toLowerCase).anyMatch(cmd::contains)) {
-            Optional<MuteData> omd = Util.testForEndTimestamp(handler.getPlayerMuteData(player), () -> handler.unmutePlayer(player));
-            if (omd.isPresent()) {
-                onMute(omd.get(), player);
-                MessageChannel.TO_CONSOLE.send(Text.builder().append(Text.of(player.getName() + " (")).append(plugin.getMessageProvider().getTextMessageWithFormat("standard.muted"))
-                        .append(Text.of("): ")).append(Text.of("/" + event.getCommand() + " " + event.getArguments())).build());
-                event.setCancelled(true);
+            // If the command is in the list, block it.
+            if (commands.stream().map(String::toLowerCase).anyMatch(cmd::contains)) {
+                Optional<MuteData> omd = Util.testForEndTimestamp(handler.getPlayerMuteData(player), () -> handler.unmutePlayer(player));
+                if (omd.isPresent()) {
+                    onMute(omd.get(), player);
+                    MessageChannel.TO_CONSOLE.send(Text.builder().append(Text.of(player.getName() + " (")).append(plugin.getMessageProvider().getTextMessageWithFormat("standard.muted"))
+                            .append(Text.of("): ")).append(Text.of("/" + event.getCommand() + " " + event.getArguments())).build());
+                    event.setCancelled(true);
+                }
             }
-        }
+        });
     }
 
     @Listener(order = Order.FIRST)
     public void onPlayerChat(MessageChannelEvent.Chat event, @Root Player player) {
-        boolean cancel = false;
-        Optional<MuteData> omd = Util.testForEndTimestamp(handler.getPlayerMuteData(player), () -> handler.unmutePlayer(player));
-        if (omd.isPresent()) {
-            onMute(omd.get(), player);
-            MessageChannel.TO_CONSOLE.send(Text.builder().append(Text.of(player.getName() + " (")).append(plugin.getMessageProvider().getTextMessageWithFormat("standard.muted"))
-                    .append(Text.of("): ")).append(event.getRawMessage()).build());
-            cancel = true;
-        }
+        time(chatTimer, () -> {
+            boolean cancel = false;
+            Optional<MuteData> omd = Util.testForEndTimestamp(handler.getPlayerMuteData(player), () -> handler.unmutePlayer(player));
+            if (omd.isPresent()) {
+                onMute(omd.get(), player);
+                MessageChannel.TO_CONSOLE.send(Text.builder().append(Text.of(player.getName() + " (")).append(plugin.getMessageProvider().getTextMessageWithFormat("standard.muted"))
+                        .append(Text.of("): ")).append(event.getRawMessage()).build());
+                cancel = true;
+            }
 
-        if (cancelOnGlobalMute(player, event.isCancelled())) {
-            cancel = true;
-        }
+            if (cancelOnGlobalMute(player, event.isCancelled())) {
+                cancel = true;
+            }
 
-        if (cancel) {
-            if (mca.getNodeOrDefault().isShowMutedChat()) {
-                // Send it to admins only.
-                event.setChannel(new AdminChannel());
-            } else {
-                event.setCancelled(true);
+            if (cancel) {
+                if (mca.getNodeOrDefault().isShowMutedChat()) {
+                    // Send it to admins only.
+                    event.setChannel(new AdminChannel());
+                } else {
+                    event.setCancelled(true);
+                }
             }
-        }
+        });
     }
 
     @Listener
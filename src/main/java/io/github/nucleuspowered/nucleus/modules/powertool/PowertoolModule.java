@@ -5,8 +5,17 @@
 package io.github.nucleuspowered.nucleus.modules.powertool;
 
 import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
+import io.github.nucleuspowered.nucleus.modules.powertool.handlers.PowertoolHandler;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
 @ModuleData(id = "powertool", name = "Powertool")
 public class PowertoolModule extends StandardModule {
+
+    @Override
+    protected void performPreTasks() throws Exception {
+        super.performPreTasks();
+        PowertoolHandler handler = new PowertoolHandler();
+        serviceManager.registerService(PowertoolHandler.class, handler);
+        plugin.getUserDataManager().registerPowertoolListener(handler::update);
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.powertool.handlers;
+
+import com.google.common.collect.ImmutableList;
+import io.github.nucleuspowered.nucleus.dataservices.UserService;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.item.ItemType;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the powertools of the online players that have powertools enabled, keyed on the {@link ItemType} itself, so
+ * that an interaction can be checked without loading the user or copying their commands.
+ *
+ * <p>A player's entry is rebuilt whenever their powertools change, and is never changed after that, so it can be read
+ * from any thread.</p>
+ */
+public class PowertoolHandler {
+
+    private final Map<UUID, Map<ItemType, List<String>>> active = new ConcurrentHashMap<>();
+
+    /**
+     * Gets whether a player has any powertools that could run. This is checked first on every interaction.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return <code>true</code> if so.
+     */
+    public boolean hasPowertools(UUID uuid) {
+        return active.containsKey(uuid);
+    }
+
+    /**
+     * Gets the commands to run when a player uses the given item.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param item The {@link ItemType}.
+     * @return The commands, or <code>null</code> if there are none.
+     */
+    @Nullable
+    public List<String> getCommands(UUID uuid, ItemType item) {
+        Map<ItemType, List<String>> tools = active.get(uuid);
+        return tools == null ? null : tools.get(item);
+    }
+
+    /**
+     * Rebuilds the powertools of a user from their stored data. Users who are not online are removed.
+     *
+     * @param user The {@link UserService} of the user.
+     */
+    public void update(UserService user) {
+        UUID uuid = user.getUniqueID();
+        if (!user.getUser().isOnline() || !user.isPowertoolToggled()) {
+            active.remove(uuid);
+            return;
+        }
+
+        Map<ItemType, List<String>> tools = new IdentityHashMap<>();
+        user.getPowertools().forEach((k, v) -> {
+            Optional<ItemType> type = Sponge.getRegistry().getType(ItemType.class, k);
+            if (type.isPresent() && !v.isEmpty()) {
+                tools.put(type.get(), ImmutableList.copyOf(v));
+            }
+        });
+
+        if (tools.isEmpty()) {
+            active.remove(uuid);
+        } else {
+            active.put(uuid, Collections.unmodifiableMap(tools));
+        }
+    }
+
+    public void remove(UUID uuid) {
+        active.remove(uuid);
+    }
+}
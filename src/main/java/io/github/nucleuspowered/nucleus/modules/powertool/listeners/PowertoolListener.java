@@ -5,24 +5,31 @@
 package io.github.nucleuspowered.nucleus.modules.powertool.listeners;
 
 import com.google.inject.Inject;
-import io.github.nucleuspowered.nucleus.dataservices.UserService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
-import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.powertool.commands.PowertoolCommand;
+import io.github.nucleuspowered.nucleus.modules.powertool.handlers.PowertoolHandler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.action.InteractEvent;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
-import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.item.inventory.ItemStack;
+
+import java.util.List;
+import java.util.Optional;
 
 public class PowertoolListener extends ListenerBase {
 
+    private final Profiler.Timer interactTimer = createTimer("onUserInteract");
+
     @Inject private UserDataManager loader;
-    @Inject private CoreConfigAdapter config;
+    @Inject private PowertoolHandler handler;
 
     @Inject private PermissionRegistry permissionRegistry;
 
@@ -36,36 +43,42 @@ public class PowertoolListener extends ListenerBase {
         return s;
     }
 
+    @Listener
+    public void onPlayerJoin(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        loader.get(player).ifPresent(handler::update);
+    }
+
+    @Listener
+    public void onPlayerQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        handler.remove(player.getUniqueId());
+    }
+
     @Listener
     public void onUserInteract(final InteractEvent event, @Root Player player) {
-        // No item in hand or no permission -> no powertool.
-        if (!getPermissionUtil().testBase(player) || !player.getItemInHand().isPresent()) {
-            return;
-        }
+        time(interactTimer, () -> {
+            // Almost no one has a powertool, so check that first.
+            if (!handler.hasPowertools(player.getUniqueId())) {
+                return;
+            }
 
-        // Get the item and the user.
-        ItemType item = player.getItemInHand().get().getItem();
-        UserService user;
-        try {
-            user = loader.get(player).get();
-        } catch (Exception e) {
-            if (config.getNodeOrDefault().isDebugmode()) {
-                e.printStackTrace();
+            // No item in hand, no powertool for the item or no permission -> no powertool.
+            Optional<ItemStack> itemInHand = player.getItemInHand();
+            if (!itemInHand.isPresent()) {
+                return;
             }
 
-            return;
-        }
+            List<String> commands = handler.getCommands(player.getUniqueId(), itemInHand.get().getItem());
+            if (commands == null || !getPermissionUtil().testBase(player)) {
+                return;
+            }
 
-        // If the powertools are toggled on.
-        if (user.isPowertoolToggled()) {
-            // Execute all powertools if they exist.
-            user.getPowertoolForItem(item).ifPresent(x -> {
-                // Cancel the interaction.
-                event.setCancelled(true);
+            // Cancel the interaction.
+            event.setCancelled(true);
 
-                // Run each command.
-                x.forEach(s -> Sponge.getCommandManager().process(player, s));
-            });
-        }
+            // Run each command.
+            for (String command : commands) {
+                Sponge.getCommandManager().process(player, command);
+            }
+        });
     }
 }
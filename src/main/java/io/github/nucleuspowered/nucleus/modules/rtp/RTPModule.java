@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.modules.rtp;
 
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.rtp.handlers.RTPHandler;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
 @ModuleData(id = "rtp", name = "rtp")
@@ -15,4 +16,14 @@ public class RTPModule extends ConfigurableModule<RTPConfigAdapter> {
     public RTPConfigAdapter getAdapter() {
         return new RTPConfigAdapter();
     }
+
+    @Override
+    protected void performPreTasks() throws Exception {
+        super.performPreTasks();
+
+        RTPHandler handler = new RTPHandler();
+        plugin.getInjector().injectMembers(handler);
+        serviceManager.registerService(RTPHandler.class, handler);
+        plugin.registerReloadable(handler::clearPools);
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.commands;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.internal.annotations.NoCooldown;
+import io.github.nucleuspowered.nucleus.internal.annotations.NoCost;
+import io.github.nucleuspowered.nucleus.internal.annotations.NoWarmup;
+import io.github.nucleuspowered.nucleus.internal.annotations.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.RegisterCommand;
+import io.github.nucleuspowered.nucleus.modules.rtp.handlers.RTPHandler;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows how well the random teleport pools are working.
+ */
+@NoCooldown
+@NoCost
+@NoWarmup
+@Permissions(prefix = "rtp")
+@RegisterCommand(value = "stats", subcommandOf = RandomTeleportCommand.class)
+public class RandomTeleportStatsCommand extends io.github.nucleuspowered.nucleus.internal.command.AbstractCommand<CommandSource> {
+
+    @Inject private RTPHandler handler;
+
+    @Override
+    public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        long hits = handler.getPoolHits();
+        long requests = hits + handler.getPoolMisses();
+        long searches = handler.getSearches();
+        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.rtp.stats",
+                String.valueOf(handler.getPooledCount()),
+                String.valueOf(hits),
+                String.valueOf(requests),
+                String.valueOf(requests == 0 ? 0 : hits * 100 / requests),
+                String.valueOf(searches),
+                String.valueOf(handler.getSearchesFound()),
+                String.valueOf(handler.getSearchesSkipped()),
+                String.format("%.2f", searches == 0 ? 0d : (double) handler.getSearchNanos() / searches / TimeUnit.MILLISECONDS.toNanos(1))));
+        return CommandResult.success();
+    }
+}
@@ -5,9 +5,12 @@
 package io.github.nucleuspowered.nucleus.modules.rtp.config;
 
 import com.flowpowered.math.GenericMath;
+import com.google.common.collect.Maps;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.util.Map;
+
 @ConfigSerializable
 public class RTPConfig {
 
@@ -17,6 +20,9 @@ public class RTPConfig {
     @Setting(value = "radius", comment = "loc:config.rtp.radius")
     private int radius = 30000;
 
+    @Setting(value = "per-world-radius", comment = "loc:config.rtp.perworldradius")
+    private Map<String, Integer> perWorldRadius = Maps.newHashMap();
+
     @Setting(value = "minimum-y", comment = "loc:config.rtp.min-y")
     private int minY = 0;
 
@@ -26,6 +32,12 @@ public class RTPConfig {
     @Setting(value = "surface-only", comment = "loc:config.rtp.surface")
     private boolean mustSeeSky = false;
 
+    @Setting(value = "pool-size", comment = "loc:config.rtp.poolsize")
+    private int poolSize = 5;
+
+    @Setting(value = "pool-refill-budget-ms", comment = "loc:config.rtp.poolbudget")
+    private int poolRefillBudget = 2;
+
     public int getNoOfAttempts() {
         return noOfAttempts;
     }
@@ -34,10 +46,28 @@ public class RTPConfig {
         return radius;
     }
 
+    public int getRadius(String worldName) {
+        for (Map.Entry<String, Integer> entry : perWorldRadius.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(worldName)) {
+                return entry.getValue();
+            }
+        }
+
+        return radius;
+    }
+
     public boolean isMustSeeSky() {
         return mustSeeSky;
     }
 
+    public int getPoolSize() {
+        return Math.max(0, poolSize);
+    }
+
+    public int getPoolRefillBudget() {
+        return Math.max(0, poolRefillBudget);
+    }
+
     public int getMinY() {
         return GenericMath.clamp(minY, 0, Math.min(255, maxY));
     }
@@ -0,0 +1,326 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.handlers;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
+import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.data.property.block.MatterProperty;
+import org.spongepowered.api.data.property.block.PassableProperty;
+import org.spongepowered.api.util.PositionOutOfBoundsException;
+import org.spongepowered.api.util.blockray.BlockRay;
+import org.spongepowered.api.util.blockray.BlockRayHit;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.WorldBorder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Finds safe locations for /rtp, and keeps a pool of them for each world so that most requests can be served
+ * without searching.
+ *
+ * <p>The pools are topped up a little at a time by {@link io.github.nucleuspowered.nucleus.modules.rtp.runnables.RTPPoolTask},
+ * which only considers chunks that are already loaded, so that it never loads or generates a chunk. Except where noted,
+ * everything here must be used on the main thread.</p>
+ */
+public class RTPHandler {
+
+    private static final Set<BlockType> prohibitedTypes = ImmutableSet.of(
+            BlockTypes.WATER,
+            BlockTypes.LAVA,
+            BlockTypes.FLOWING_WATER,
+            BlockTypes.FLOWING_LAVA
+    );
+
+    // The size of the area that the teleport helper searches for a safe location.
+    private static final int SAFE_HEIGHT = 10;
+    private static final int SAFE_WIDTH = 5;
+
+    private static final int MAX_FAILURES = 50;
+    private static final long BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Inject private RTPConfigAdapter rca;
+
+    private final Random random = new Random();
+    private final Map<UUID, Deque<Vector3d>> pools = Maps.newHashMap();
+
+    // Worlds where the pool could not be filled, such as those with no surface, are left alone for a while.
+    private final Map<UUID, Integer> failures = Maps.newHashMap();
+    private final Map<UUID, Long> backoffUntil = Maps.newHashMap();
+
+    private volatile boolean clearRequested = false;
+
+    private long poolHits = 0;
+    private long poolMisses = 0;
+    private long searches = 0;
+    private long searchesFound = 0;
+    private long searchesSkipped = 0;
+    private long searchNanos = 0;
+
+    /**
+     * Takes a location from the pool for the given world, if there is one that is still safe.
+     *
+     * @param world The {@link World}.
+     * @return The {@link Location}, if one was available.
+     */
+    public Optional<Location<World>> take(World world) {
+        checkClear();
+        Deque<Vector3d> pool = pools.get(world.getUniqueId());
+        if (pool != null) {
+            Vector3d position;
+            while ((position = pool.poll()) != null) {
+                Location<World> location = new Location<>(world, position);
+                try {
+                    // Things may have changed since the location was found.
+                    if (isSafe(location) && Util.isLocationInWorldBorder(location)) {
+                        poolHits++;
+                        return Optional.of(location);
+                    }
+                } catch (PositionOutOfBoundsException e) {
+                    // Swallow - discard the location.
+                }
+            }
+        }
+
+        poolMisses++;
+        return Optional.empty();
+    }
+
+    /**
+     * Tops up the pools of all loaded worlds until they are full, or the time budget has been used.
+     *
+     * @param budgetNanos The time that may be spent, in nanoseconds.
+     */
+    public void refill(long budgetNanos) {
+        checkClear();
+        RTPConfig config = rca.getNodeOrDefault();
+        int size = config.getPoolSize();
+        if (size <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long deadline = now + budgetNanos;
+        for (World world : Sponge.getServer().getWorlds()) {
+            UUID uuid = world.getUniqueId();
+            Long until = backoffUntil.get(uuid);
+            if (until != null) {
+                if (now - until < 0) {
+                    continue;
+                }
+
+                backoffUntil.remove(uuid);
+            }
+
+            Deque<Vector3d> pool = pools.computeIfAbsent(uuid, k -> new ArrayDeque<>());
+            while (pool.size() < size) {
+                if (System.nanoTime() >= deadline) {
+                    return;
+                }
+
+                Optional<Location<World>> location = findSafeLocation(world, config, true);
+                if (location.isPresent()) {
+                    pool.add(location.get().getPosition());
+                    failures.remove(uuid);
+                } else if (failures.merge(uuid, 1, Integer::sum) >= MAX_FAILURES) {
+                    failures.remove(uuid);
+                    backoffUntil.put(uuid, System.nanoTime() + BACKOFF_NANOS);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Empties the pools the next time they are used, for when the config has changed. May be called from any thread.
+     */
+    public void clearPools() {
+        clearRequested = true;
+    }
+
+    /**
+     * Makes one attempt to find a safe location in the given world.
+     *
+     * @param world The {@link World} to search.
+     * @param loadedOnly If <code>true</code>, only chunks that are already loaded are considered.
+     * @return The {@link Location}, if the attempt was successful.
+     */
+    public Optional<Location<World>> findSafeLocation(World world, boolean loadedOnly) {
+        return findSafeLocation(world, rca.getNodeOrDefault(), loadedOnly);
+    }
+
+    public int getPooledCount() {
+        return pools.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    public long getPoolHits() {
+        return poolHits;
+    }
+
+    public long getPoolMisses() {
+        return poolMisses;
+    }
+
+    public long getSearches() {
+        return searches;
+    }
+
+    public long getSearchesFound() {
+        return searchesFound;
+    }
+
+    public long getSearchesSkipped() {
+        return searchesSkipped;
+    }
+
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    private void checkClear() {
+        if (clearRequested) {
+            clearRequested = false;
+            pools.clear();
+            failures.clear();
+            backoffUntil.clear();
+        }
+    }
+
+    private Optional<Location<World>> findSafeLocation(World world, RTPConfig config, boolean loadedOnly) {
+        long start = System.nanoTime();
+        searches++;
+        try {
+            Optional<Location<World>> result = search(world, config, loadedOnly);
+            if (result.isPresent()) {
+                searchesFound++;
+            }
+
+            return result;
+        } finally {
+            searchNanos += System.nanoTime() - start;
+        }
+    }
+
+    private Optional<Location<World>> search(World world, RTPConfig config, boolean loadedOnly) {
+        WorldBorder wb = world.getWorldBorder();
+        int diameter = Math.max(1, Math.min(Math.abs(config.getRadius(world.getName()) * 2), (int) wb.getDiameter()));
+        Vector3d centre = wb.getCenter();
+
+        // Generate random co-ords. To get within the world border, add the centre on.
+        int x = random.nextInt(diameter) - diameter / 2 + centre.getFloorX();
+        int z = random.nextInt(diameter) - diameter / 2 + centre.getFloorZ();
+
+        if (loadedOnly) {
+            // Loading a chunk from disk, let alone generating it, would stall the server, so only use loaded chunks.
+            if (!world.getChunk(x >> 4, 0, z >> 4).isPresent()) {
+                searchesSkipped++;
+                return Optional.empty();
+            }
+
+            // Keep the safe location search inside this chunk, so that it does not touch the chunks around it.
+            x = (x & ~15) + clamp(x & 15, SAFE_WIDTH, 15 - SAFE_WIDTH);
+            z = (z & ~15) + clamp(z & 15, SAFE_WIDTH, 15 - SAFE_WIDTH);
+        }
+
+        int minY = config.getMinY();
+        int maxY = config.getMaxY();
+
+        // We remove 11 to avoid getting a location too high up for the safe location teleporter to handle.
+        int worldMaxY = world.getBlockMax().getY() - 11;
+        int y;
+        if (config.isMustSeeSky()) {
+            // From the x and z co-ordinates, scan down from the top to get the next block.
+            Optional<BlockRayHit<World>> blockRayHitOptional = BlockRay
+                    .from(new Location<>(world, new Vector3d(x, Math.min(worldMaxY, maxY), z)))
+                    .to(new Vector3d(x, Math.min(worldMaxY, minY), z))
+                    .filter(BlockRay.onlyAirFilter()).end();
+            if (blockRayHitOptional.isPresent()) {
+                y = blockRayHitOptional.get().getBlockY();
+            } else {
+                return Optional.empty();
+            }
+        } else {
+            y = Math.min(worldMaxY, random.nextInt(maxY - minY + 1) + minY);
+        }
+
+        final Location<World> test = new Location<>(world, new Vector3d(x, y, z));
+        Optional<Location<World>> oSafeLocation = Sponge.getGame().getTeleportHelper().getSafeLocation(test, SAFE_HEIGHT, SAFE_WIDTH);
+
+        // getSafeLocation might have put us out of the world border. Best to check.
+        // We also check to see that it's not in water or lava, and if enabled, we see if the player would end up on the surface.
+        try {
+            if (oSafeLocation.isPresent() && isSafe(oSafeLocation.get()) && Util.isLocationInWorldBorder(oSafeLocation.get())
+                    && (!config.isMustSeeSky() || isOnSurface(oSafeLocation.get()))) {
+                return oSafeLocation;
+            }
+        } catch (PositionOutOfBoundsException e) {
+            // Swallow - we treat it as a fail.
+        }
+
+        return Optional.empty();
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private boolean isSafe(Location<World> location) {
+        return !location.hasBlock() || !isSolid(location) || !prohibitedTypes.contains(location.getBlockType());
+    }
+
+    private boolean isSolid(Location<World> location) {
+        Optional<MatterProperty> pp = location.getBlockType().getProperty(MatterProperty.class);
+        return pp.isPresent() && pp.get().getValue() != MatterProperty.Matter.SOLID;
+    }
+
+    private boolean isOnSurface(Location<World> location) {
+        SurfaceCheckPredicate predicate = new SurfaceCheckPredicate();
+        Optional<BlockRayHit<World>> blockRayHitOptional = BlockRay.from(location).to(
+                new Vector3d(location.getPosition().getX(), location.getExtent().getBlockMax().toDouble().getY(), location.getPosition().getZ()))
+                .filter(predicate).end();
+
+        // If we have no hit, then this is the top of the world and we should allow it.
+        return !blockRayHitOptional.isPresent();
+    }
+
+    private static class SurfaceCheckPredicate implements Predicate<BlockRayHit<World>> {
+
+        private int count = 0;
+
+        @Override
+        public boolean test(BlockRayHit<World> l) {
+            BlockType type = l.getLocation().getBlockType();
+
+            // If passable - treat it as seeing the sky.
+            if (Boolean.TRUE.equals(type.getProperty(PassableProperty.class).orElse(new PassableProperty(false)).getValue())) {
+                return true;
+            }
+
+            // If leaves, treat it as on the surface.
+            if (count++ > 1 && type.equals(BlockTypes.LEAVES) || type.equals(BlockTypes.LEAVES2)) {
+                return true;
+            }
+
+            // Nope, we're not on the surface
+            return false;
+        }
+    }
+}
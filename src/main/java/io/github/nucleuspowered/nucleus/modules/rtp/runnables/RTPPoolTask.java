@@ -0,0 +1,38 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.runnables;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.rtp.handlers.RTPHandler;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tops up the pools of random teleport locations, spending no more than the configured time each tick.
+ */
+public class RTPPoolTask extends TaskBase {
+
+    @Inject private RTPHandler handler;
+    @Inject private RTPConfigAdapter rca;
+
+    @Override
+    public void accept(Task task) {
+        handler.refill(TimeUnit.MILLISECONDS.toNanos(rca.getNodeOrDefault().getPoolRefillBudget()));
+    }
+
+    @Override
+    public boolean isAsync() {
+        // The world can only be inspected on the main thread.
+        return false;
+    }
+
+    @Override
+    public TimePerRun interval() {
+        return new TimePerRun(50, TimeUnit.MILLISECONDS);
+    }
+}
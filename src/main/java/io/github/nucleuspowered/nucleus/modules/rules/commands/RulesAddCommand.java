@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.rules.commands;
 
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.argumentparsers.PositiveIntegerArgument;
 import io.github.nucleuspowered.nucleus.internal.annotations.*;
@@ -50,8 +51,9 @@ public class RulesAddCommand extends io.github.nucleuspowered.nucleus.internal.c
         Text r = TextSerializers.FORMATTING_CODE.deserialize(rule);
 
         // If that worked, show the user when done!
-        RulesConfig rc = rca.getNodeOrDefault();
-        List<String> rules = rc.getRuleSet();
+        // Change a fresh copy, the one from getNodeOrDefault is shared.
+        RulesConfig rc = rca.getNode();
+        List<String> rules = Lists.newArrayList(rc.getRuleSet());
 
         int position;
         if (pos.isPresent() && pos.get() <= rules.size()) {
@@ -66,7 +68,7 @@ public class RulesAddCommand extends io.github.nucleuspowered.nucleus.internal.c
         }
 
         rc.setRuleSet(rules);
-        rca.setNode(rc);
+        rca.update(rc);
         plugin.saveSystemConfig();
 
         src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.rules.add.success", String.valueOf(position)));
@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.rules.commands;
 
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.argumentparsers.PositiveIntegerArgument;
 import io.github.nucleuspowered.nucleus.internal.annotations.*;
@@ -71,14 +72,16 @@ public class RulesDeleteCommand extends io.github.nucleuspowered.nucleus.interna
     }
 
     private CommandResult actuallyRemove(int rule, String ruleToDelete, CommandSource src) {
-        RulesConfig rc = rca.getNodeOrDefault();
-        List<String> rules = rc.getRuleSet();
+        List<String> rules = rca.getNodeOrDefault().getRuleSet();
         String toDelete = rules.get(rule);
         if (toDelete.equalsIgnoreCase(ruleToDelete)) {
-            rules.remove(rule);
-            rc.setRuleSet(rules);
             try {
-                rca.setNode(rc);
+                // Change a fresh copy, the one above is shared.
+                RulesConfig rc = rca.getNode();
+                List<String> newRules = Lists.newArrayList(rc.getRuleSet());
+                newRules.remove(rule);
+                rc.setRuleSet(newRules);
+                rca.update(rc);
                 plugin.saveSystemConfig();
             } catch (ObjectMappingException | IOException e) {
                 src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.rules.del.fail"));
@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.staffchat;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.ChatUtil;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.modules.staffchat.commands.StaffChatCommand;
@@ -24,6 +25,10 @@ import uk.co.drnaylor.quickstart.exceptions.NoModuleException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -38,11 +43,19 @@ public class StaffChatMessageChannel implements MessageChannel {
         return INSTANCE;
     }
 
+    // Rendering the prefix is the same for every recipient of a message, so the last one is kept.
+    private static final long MEMO_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final NucleusPlugin plugin;
     private final ChatUtil chatUtil;
     private StaffChatConfigAdapter scca;
     private String basePerm;
 
+    // Online players with the staff chat permission.
+    private final Set<UUID> members = ConcurrentHashMap.newKeySet();
+
+    @Nullable private volatile Transformed lastTransformed = null;
+
     StaffChatMessageChannel(NucleusPlugin plugin) {
         this.plugin = plugin;
         chatUtil = plugin.getChatUtil();
@@ -65,23 +78,64 @@ public class StaffChatMessageChannel implements MessageChannel {
     @Override
     @Nonnull
     public Optional<Text> transformMessage(@Nullable Object sender, MessageReceiver recipient, Text original, ChatType type) {
-        if (!(sender instanceof Player)) {
-            sender = Sponge.getServer().getConsole();
+        long now = System.nanoTime();
+        Transformed last = lastTransformed;
+        if (last != null && last.sender == sender && last.original == original && now - last.time < MEMO_NANOS) {
+            return Optional.of(last.result);
         }
 
+        CommandSource source = sender instanceof Player ? (Player) sender : Sponge.getServer().getConsole();
         StaffChatConfig c = getConfig();
-        Text prefix = chatUtil.getPlayerMessageFromTemplate(c.getMessageTemplate(), (CommandSource)sender, false);
-        return Optional.of(Text.of(prefix, TextSerializers.FORMATTING_CODE.deserialize(String.format("&%s%s", c.getMessageColour(), original.toPlain()))));
+        Text prefix = chatUtil.getPlayerMessageFromTemplate(c.getMessageTemplate(), source, false);
+        Text result = Text.of(prefix, TextSerializers.FORMATTING_CODE.deserialize(String.format("&%s%s", c.getMessageColour(), original.toPlain())));
+        lastTransformed = new Transformed(sender, original, result, now);
+        return Optional.of(result);
     }
 
     @Override
     @Nonnull
     public Collection<MessageReceiver> getMembers() {
-        List<MessageReceiver> c = Sponge.getServer().getOnlinePlayers().stream().filter(x -> x.hasPermission(getPermission())).collect(Collectors.toList());
+        List<MessageReceiver> c = Lists.newArrayListWithCapacity(members.size() + 1);
+        for (UUID uuid : members) {
+            Sponge.getServer().getPlayer(uuid).ifPresent(c::add);
+        }
+
         c.add(Sponge.getServer().getConsole());
         return c;
     }
 
+    /**
+     * Adds the player to, or removes them from, the channel, depending on whether they have permission.
+     *
+     * @param player The {@link Player}.
+     */
+    public void updateMember(Player player) {
+        if (player.isOnline() && player.hasPermission(getPermission())) {
+            members.add(player.getUniqueId());
+        } else {
+            members.remove(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Removes a player who has left from the channel.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void removeMember(UUID uuid) {
+        members.remove(uuid);
+    }
+
+    /**
+     * Checks the permissions of all online players again, so that permission changes are picked up.
+     */
+    public void refreshMembers() {
+        Collection<Player> online = Sponge.getServer().getOnlinePlayers();
+        online.forEach(this::updateMember);
+        Set<UUID> uuids = online.stream().map(Player::getUniqueId).collect(Collectors.toSet());
+        members.retainAll(uuids);
+    }
+
     private String getPermission() {
         if (basePerm == null) {
             basePerm = plugin.getPermissionRegistry().getService(StaffChatCommand.class).getBase();
@@ -89,4 +143,19 @@ public class StaffChatMessageChannel implements MessageChannel {
 
         return basePerm;
     }
+
+    private static final class Transformed {
+
+        @Nullable private final Object sender;
+        private final Text original;
+        private final Text result;
+        private final long time;
+
+        private Transformed(@Nullable Object sender, Text original, Text result, long time) {
+            this.sender = sender;
+            this.original = original;
+            this.result = result;
+            this.time = time;
+        }
+    }
 }
@@ -23,5 +23,6 @@ public class StaffChatModule extends ConfigurableModule<StaffChatConfigAdapter>
         super.performPreTasks();
 
         StaffChatMessageChannel.INSTANCE = new StaffChatMessageChannel(plugin);
+        plugin.registerReloadable(StaffChatMessageChannel.INSTANCE::refreshMembers);
     }
 }
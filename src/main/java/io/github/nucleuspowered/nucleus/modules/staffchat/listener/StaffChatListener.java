@@ -7,23 +7,40 @@ package io.github.nucleuspowered.nucleus.modules.staffchat.listener;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
 import io.github.nucleuspowered.nucleus.modules.staffchat.StaffChatMessageChannel;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 
 public class StaffChatListener extends ListenerBase {
 
+    private final Profiler.Timer chatTimer = createTimer("onMessage");
+
     @Inject private UserDataManager loader;
 
+    @Listener
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        StaffChatMessageChannel.getInstance().updateMember(player);
+    }
+
+    @Listener
+    public void onPlayerLeave(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        StaffChatMessageChannel.getInstance().removeMember(player.getUniqueId());
+    }
+
     @Listener(order = Order.FIRST)
     public void onMessage(MessageChannelEvent.Chat event, @Root Player player) {
-        if (inAdminChat(player)) {
-            event.setMessage(event.getRawMessage());
-            event.setChannel(StaffChatMessageChannel.getInstance());
-        }
+        time(chatTimer, () -> {
+            if (inAdminChat(player)) {
+                event.setMessage(event.getRawMessage());
+                event.setChannel(StaffChatMessageChannel.getInstance());
+            }
+        });
     }
 
     private boolean inAdminChat(Player player) {
@@ -2,18 +2,23 @@
  * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
  * at the root of this project for more details.
  */
-package io.github.nucleuspowered.nucleus.modules.afk.runnables;
+package io.github.nucleuspowered.nucleus.modules.staffchat.runnables;
 
 import io.github.nucleuspowered.nucleus.internal.TaskBase;
-import io.github.nucleuspowered.nucleus.modules.afk.handlers.AFKHandler;
+import io.github.nucleuspowered.nucleus.modules.staffchat.StaffChatMessageChannel;
 import org.spongepowered.api.scheduler.Task;
 
-import javax.inject.Inject;
 import java.util.concurrent.TimeUnit;
 
-public class UpdateAFKTask extends TaskBase {
+/**
+ * Checks who should be in staff chat every so often, so that permission changes are picked up.
+ */
+public class StaffChatMembershipTask extends TaskBase {
 
-    @Inject private AFKHandler handler;
+    @Override
+    public void accept(Task task) {
+        StaffChatMessageChannel.getInstance().refreshMembers();
+    }
 
     @Override
     public boolean isAsync() {
@@ -22,11 +27,6 @@ public class UpdateAFKTask extends TaskBase {
 
     @Override
     public TimePerRun interval() {
-        return new TimePerRun(500, TimeUnit.MILLISECONDS);
-    }
-
-    @Override
-    public void accept(Task task) {
-        handler.updateUserActivity();
+        return new TimePerRun(30, TimeUnit.SECONDS);
     }
 }
@@ -8,6 +8,7 @@ import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarnService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
 import io.github.nucleuspowered.nucleus.modules.warn.commands.CheckWarningsCommand;
 import io.github.nucleuspowered.nucleus.modules.warn.config.WarnConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.warn.handlers.WarnHandler;
@@ -37,6 +38,7 @@ public class WarnModule extends ConfigurableModule<WarnConfigAdapter> {
             plugin.getInjector().injectMembers(warnHandler);
             game.getServiceManager().setProvider(plugin, NucleusWarnService.class, warnHandler);
             serviceManager.registerService(WarnHandler.class, warnHandler);
+            serviceManager.getService(ExpiryScheduler.class).get().registerAction(ExpiryScheduler.Type.WARNING, warnHandler::onExpiry);
         } catch (Exception ex) {
             logger.warn("Could not load the warn module for the reason below.");
             ex.printStackTrace();
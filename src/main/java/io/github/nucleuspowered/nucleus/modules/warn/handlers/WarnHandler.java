@@ -12,12 +12,16 @@ import io.github.nucleuspowered.nucleus.api.data.WarnData;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarnService;
 import io.github.nucleuspowered.nucleus.dataservices.UserService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
 import io.github.nucleuspowered.nucleus.modules.warn.config.WarnConfigAdapter;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.service.user.UserStorageService;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class WarnHandler implements NucleusWarnService {
@@ -25,6 +29,7 @@ public class WarnHandler implements NucleusWarnService {
     private final NucleusPlugin nucleus;
     @Inject private UserDataManager userDataManager;
     @Inject private WarnConfigAdapter wca;
+    @Inject private ExpiryScheduler expiryScheduler;
 
     public WarnHandler(NucleusPlugin nucleus) {
         this.nucleus = nucleus;
@@ -67,6 +72,7 @@ public class WarnHandler implements NucleusWarnService {
         }
 
         userService.addWarning(warning);
+        scheduleExpiry(user);
         return true;
     }
 
@@ -83,6 +89,8 @@ public class WarnHandler implements NucleusWarnService {
             if (wca.getNodeOrDefault().isExpireWarnings() && !warning.isExpired() && !permanent) {
                 userService.get().addWarning(new WarnData(warning.getDate(), warning.getWarner(), warning.getReason(), true));
             }
+
+            scheduleExpiry(user);
             return true;
         }
 
@@ -132,4 +140,31 @@ public class WarnHandler implements NucleusWarnService {
         }
         return true;
     }
+
+    /**
+     * Sets the next warning for the user to run out, or forgets it if none of their active warnings have an end time.
+     *
+     * @param user The {@link User}.
+     */
+    public void scheduleExpiry(User user) {
+        Optional<Instant> next = getWarnings(user, true, false).stream().map(WarnData::getEndTimestamp).filter(Optional::isPresent)
+                .map(Optional::get).min(Instant::compareTo);
+        if (next.isPresent()) {
+            expiryScheduler.schedule(user.getUniqueId(), ExpiryScheduler.Type.WARNING, next.get());
+        } else {
+            expiryScheduler.cancel(user.getUniqueId(), ExpiryScheduler.Type.WARNING);
+        }
+    }
+
+    /**
+     * Expires the warnings of a user that have run out.
+     *
+     * @param uuid The {@link UUID} of the user.
+     */
+    public void onExpiry(UUID uuid) {
+        Sponge.getServiceManager().provideUnchecked(UserStorageService.class).get(uuid).ifPresent(x -> {
+            updateWarnings(x);
+            scheduleExpiry(x);
+        });
+    }
 }
@@ -64,6 +64,9 @@ public class WarnListener extends ListenerBase {
                     }
                 }
 
+                // Expire the rest when they run out.
+                handler.scheduleExpiry(player);
+
                 // Now, let's check again
                 if (wca.getNodeOrDefault().isShowOnLogin()) {
                     List<WarnData> lwd = warnings.stream().filter(x -> !x.isExpired()).collect(Collectors.toList());
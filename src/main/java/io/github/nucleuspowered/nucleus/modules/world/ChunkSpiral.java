@@ -0,0 +1,109 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.world;
+
+/**
+ * Maps an index to a position in a square spiral around the origin, so that a position can be found directly from
+ * a saved index. Index 0 is the origin, and each ring around it is completed before the next is started.
+ */
+public final class ChunkSpiral {
+
+    private ChunkSpiral() {}
+
+    /**
+     * Gets the number of positions in a spiral that covers a square of the given radius.
+     *
+     * @param radius The radius, where 0 is just the origin.
+     * @return The number of positions.
+     */
+    public static long getSize(int radius) {
+        long side = 2L * radius + 1;
+        return side * side;
+    }
+
+    /**
+     * Gets the offset from the origin for the given index.
+     *
+     * @param index The index, from 0.
+     * @return The x and z offsets.
+     */
+    public static int[] getOffset(long index) {
+        if (index == 0) {
+            return new int[] { 0, 0 };
+        }
+
+        // Ring k holds the indices from (2k - 1)^2 to (2k + 1)^2 - 1.
+        long k = (long) Math.ceil((Math.sqrt(index + 1) - 1) / 2);
+        while ((2 * k - 1) * (2 * k - 1) > index) {
+            k--;
+        }
+
+        while ((2 * k + 1) * (2 * k + 1) <= index) {
+            k++;
+        }
+
+        // Position along the ring, starting just above the bottom right corner and going anticlockwise.
+        long side = 2 * k;
+        long position = index - (2 * k - 1) * (2 * k - 1);
+        int ring = (int) k;
+        int along = (int) (position % side);
+        switch ((int) (position / side)) {
+            case 0:
+                return new int[] { ring, -ring + 1 + along };
+            case 1:
+                return new int[] { ring - 1 - along, ring };
+            case 2:
+                return new int[] { -ring, ring - 1 - along };
+            default:
+                return new int[] { -ring + 1 + along, -ring };
+        }
+    }
+
+    /**
+     * Gets the index of the given offset from the origin. This is the inverse of {@link #getOffset(long)}.
+     *
+     * @param x The x offset.
+     * @param z The z offset.
+     * @return The index.
+     */
+    public static long getIndex(int x, int z) {
+        long k = Math.max(Math.abs((long) x), Math.abs((long) z));
+        if (k == 0) {
+            return 0;
+        }
+
+        long side = 2 * k;
+        long start = (2 * k - 1) * (2 * k - 1);
+        if (x == k && z > -k) {
+            return start + z + k - 1;
+        } else if (z == k) {
+            return start + side + k - 1 - x;
+        } else if (x == -k) {
+            return start + 2 * side + k - 1 - z;
+        }
+
+        return start + 3 * side + x + k - 1;
+    }
+
+    /**
+     * Gets the highest index of the given offset and its eight neighbours that are within the spiral. Once the spiral
+     * has passed this index, every neighbour of the offset has been visited.
+     *
+     * @param x The x offset.
+     * @param z The z offset.
+     * @param radius The radius of the spiral.
+     * @return The index.
+     */
+    public static long getLastNeighbourIndex(int x, int z, int radius) {
+        long last = 0;
+        for (int nx = Math.max(-radius, x - 1); nx <= Math.min(radius, x + 1); nx++) {
+            for (int nz = Math.max(-radius, z - 1); nz <= Math.min(radius, z + 1); nz++) {
+                last = Math.max(last, getIndex(nx, nz));
+            }
+        }
+
+        return last;
+    }
+}
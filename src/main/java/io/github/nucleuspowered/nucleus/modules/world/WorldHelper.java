@@ -6,83 +6,304 @@ package io.github.nucleuspowered.nucleus.modules.world;
 
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
-import io.github.nucleuspowered.nucleus.LoggerWrapper;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
-import org.slf4j.Logger;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.PregenDataNode;
+import io.github.nucleuspowered.nucleus.dataservices.WorldService;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
+import io.github.nucleuspowered.nucleus.modules.world.config.WorldConfig;
+import io.github.nucleuspowered.nucleus.modules.world.config.WorldConfigAdapter;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.storage.WorldProperties;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * Pre-generates the chunks inside world borders.
+ *
+ * <p>Chunks are generated in a spiral out from the centre of the border, so that the area players are most likely to
+ * visit is done first. A chunk is only populated once its neighbours exist, so each chunk that is loaded here is kept
+ * loaded until the spiral has generated all of its neighbours, which keeps a trailing window about one ring wide.
+ * {@link #tick()} is called every tick and spends no more than the configured time budget, which is scaled down as
+ * the TPS falls and is not used at all below the configured minimum. The position in the spiral is saved with the
+ * world data every few seconds, so that a run that is cancelled, or is stopped by a restart, can carry on where it
+ * left off. Everything here must be used on the main thread.</p>
+ */
 public class WorldHelper {
 
+    private static final long CHECKPOINT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long LOG_NANOS = TimeUnit.SECONDS.toNanos(30);
+
     @Inject private NucleusPlugin plugin;
+    @Inject private WorldConfigAdapter wca;
+    @Inject private WorldDataManager worldDataManager;
 
-    private final Map<UUID, Task> pregen = Maps.newHashMap();
+    private final Map<UUID, Pregen> pregen = Maps.newLinkedHashMap();
 
     public boolean isPregenRunningForWorld(UUID uuid) {
-        cleanup();
         return pregen.containsKey(uuid);
     }
 
-    public boolean startPregenningForWorld(World world) {
-        cleanup();
-        if (!isPregenRunningForWorld(world.getUniqueId())) {
-            WorldProperties wp = world.getProperties();
-            pregen.put(world.getUniqueId(), world.newChunkPreGenerate(wp.getWorldBorderCenter(), wp.getWorldBorderDiameter())
-                    .owner(plugin).logger(new GenerationLogger(plugin.getLogger(), world.getName())).start());
-            return true;
+    /**
+     * Starts pre-generating the chunks within the border of the given world, resuming from the last checkpoint if the
+     * border has not changed since.
+     *
+     * @param world The {@link World}.
+     * @param reset If <code>true</code>, any checkpoint is ignored and generation starts from the centre.
+     * @return <code>false</code> if generation was already running for the world.
+     */
+    public boolean startPregenningForWorld(World world, boolean reset) {
+        if (isPregenRunningForWorld(world.getUniqueId())) {
+            return false;
         }
 
-        return false;
+        WorldProperties wp = world.getProperties();
+        int centreX = wp.getWorldBorderCenter().getFloorX() >> 4;
+        int centreZ = wp.getWorldBorderCenter().getFloorZ() >> 4;
+        int radius = (int) Math.ceil(wp.getWorldBorderDiameter() / 32);
+
+        long index = 0;
+        if (!reset) {
+            Optional<PregenDataNode> checkpoint = worldDataManager.get(world.getUniqueId()).flatMap(WorldService::getPregenProgress);
+            if (checkpoint.isPresent() && checkpoint.get().getCentreX() == centreX && checkpoint.get().getCentreZ() == centreZ
+                    && checkpoint.get().getRadius() == radius) {
+                index = checkpoint.get().getIndex();
+            }
+        }
+
+        pregen.put(world.getUniqueId(), new Pregen(world.getUniqueId(), world.getName(), centreX, centreZ, radius, index));
+        return true;
     }
 
     public boolean cancelPregenRunningForWorld(UUID uuid) {
-        cleanup();
-        if (pregen.containsKey(uuid)) {
-            pregen.remove(uuid).cancel();
+        Pregen p = pregen.remove(uuid);
+        if (p != null) {
+            checkpoint(p);
+            Sponge.getServer().getWorld(uuid).ifPresent(p::releaseAll);
             return true;
         }
 
         return false;
     }
 
-    private synchronized void cleanup() {
-        pregen.entrySet().removeIf(x -> !Sponge.getScheduler().getTaskById(x.getValue().getUniqueId()).isPresent());
+    public Optional<Status> getStatus(UUID uuid) {
+        return Optional.ofNullable(pregen.get(uuid)).map(Pregen::getStatus);
+    }
+
+    public Collection<Status> getStatuses() {
+        return pregen.values().stream().map(Pregen::getStatus).collect(Collectors.toList());
     }
 
     /**
-     * This logger allows us to log some of the generation messages, but removes most of the spam.
-     * We use it to just gently remind the user what's going on every couple of seconds.
+     * Generates chunks for the running tasks until this tick's budget has been used.
      */
-    private static class GenerationLogger extends LoggerWrapper {
+    public void tick() {
+        if (pregen.isEmpty()) {
+            return;
+        }
+
+        WorldConfig config = wca.getNodeOrDefault();
+        double minimumTps = config.getPregenMinimumTps();
+        double tps = Sponge.getServer().getTicksPerSecond();
+        if (tps < minimumTps) {
+            return;
+        }
+
+        // Use the full budget at 20 TPS, less as it approaches the minimum. The budget is shared between the worlds.
+        double scale = Math.min(1, (tps - minimumTps) / (20 - minimumTps));
+        long budget = (long) (TimeUnit.MILLISECONDS.toNanos(config.getPregenTickBudget()) * scale) / pregen.size();
+
+        Iterator<Pregen> iterator = pregen.values().iterator();
+        while (iterator.hasNext()) {
+            Pregen p = iterator.next();
+            Optional<World> world = Sponge.getServer().getWorld(p.world);
+            if (!world.isPresent()) {
+                checkpoint(p);
+                iterator.remove();
+                continue;
+            }
+
+            if (p.generate(world.get(), budget)) {
+                p.releaseAll(world.get());
+                worldDataManager.get(p.world).ifPresent(WorldService::clearPregenProgress);
+                plugin.getLogger().info(plugin.getMessageProvider().getMessageWithFormat("command.world.gen.complete", p.worldName));
+                iterator.remove();
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (now - p.lastCheckpoint >= CHECKPOINT_NANOS) {
+                checkpoint(p);
+            }
+
+            if (now - p.lastLog >= LOG_NANOS) {
+                p.lastLog = now;
+                Status status = p.getStatus();
+                plugin.getLogger().info(plugin.getMessageProvider().getMessageWithFormat("command.world.gen.progress", p.worldName,
+                        String.format("%.1f", status.getPercentage()), String.valueOf(status.getGenerated()), String.valueOf(status.getTotal()),
+                        String.format("%.1f", status.getChunksPerSecond()), status.getEtaString()));
+            }
+        }
+    }
+
+    private void checkpoint(Pregen p) {
+        p.lastCheckpoint = System.nanoTime();
+        worldDataManager.get(p.world).ifPresent(x -> x.setPregenProgress(new PregenDataNode(p.centreX, p.centreZ, p.radius, p.index)));
+    }
+
+    private static final class Pregen {
+
+        private final UUID world;
         private final String worldName;
-        private int count = 0;
+        private final int centreX;
+        private final int centreZ;
+        private final int radius;
+        private final long total;
+        private final long startIndex;
+        private final long started = System.nanoTime();
 
-        private boolean sendLog() {
-            if (++count % 20 == 0) {
-                count = 0;
-                wrappedLogger.info(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("command.world.gen.continue", worldName));
-                return true;
+        // The chunks that were loaded here, ordered by the index after which all of their neighbours exist.
+        private final PriorityQueue<Loaded> loaded = new PriorityQueue<>(Comparator.comparingLong(x -> x.releaseIndex));
+
+        private long index;
+        private double tickCost = 0;
+        private long lastCheckpoint = System.nanoTime();
+        private long lastLog = System.nanoTime();
+
+        private Pregen(UUID world, String worldName, int centreX, int centreZ, int radius, long index) {
+            this.world = world;
+            this.worldName = worldName;
+            this.centreX = centreX;
+            this.centreZ = centreZ;
+            this.radius = radius;
+            this.total = ChunkSpiral.getSize(radius);
+            this.startIndex = index;
+            this.index = index;
+        }
+
+        /**
+         * Generates chunks until the budget has been used. At least one chunk is always attempted, so that progress is
+         * made even with a small budget.
+         *
+         * @return <code>true</code> if every chunk has been generated.
+         */
+        private boolean generate(World w, long budget) {
+            long start = System.nanoTime();
+            do {
+                if (index >= total) {
+                    return true;
+                }
+
+                int[] offset = ChunkSpiral.getOffset(index++);
+                int x = centreX + offset[0];
+                int z = centreZ + offset[1];
+                if (!w.getChunk(x, 0, z).isPresent() && w.loadChunk(x, 0, z, true).isPresent()) {
+                    // Chunks that were not already loaded are unloaded again once their neighbours have been
+                    // generated, so that they are populated but a run does not fill the memory.
+                    loaded.add(new Loaded(x, z, ChunkSpiral.getLastNeighbourIndex(offset[0], offset[1], radius)));
+                }
+
+                while (!loaded.isEmpty() && loaded.peek().releaseIndex < index) {
+                    loaded.poll().unload(w);
+                }
+            } while (System.nanoTime() - start < budget);
+
+            tickCost = tickCost * 0.9 + (System.nanoTime() - start) * 0.1;
+            return index >= total;
+        }
+
+        /**
+         * Unloads every chunk that is still held, such as when the run is finished or cancelled.
+         */
+        private void releaseAll(World w) {
+            while (!loaded.isEmpty()) {
+                loaded.poll().unload(w);
             }
+        }
 
-            return false;
+        private Status getStatus() {
+            double seconds = (System.nanoTime() - started) / 1e9;
+            double rate = seconds > 0 ? (index - startIndex) / seconds : 0;
+            return new Status(worldName, index, total, rate, tickCost / 1e6);
         }
+    }
+
+    private static final class Loaded {
+
+        private final int x;
+        private final int z;
+        private final long releaseIndex;
+
+        private Loaded(int x, int z, long releaseIndex) {
+            this.x = x;
+            this.z = z;
+            this.releaseIndex = releaseIndex;
+        }
+
+        private void unload(World w) {
+            w.getChunk(x, 0, z).ifPresent(Chunk::unloadChunk);
+        }
+    }
+
+    /**
+     * A snapshot of the progress of a pre-generation task.
+     */
+    public static final class Status {
 
-        private GenerationLogger(Logger wrappedLogger, String worldName) {
-            super(wrappedLogger);
+        private final String worldName;
+        private final long generated;
+        private final long total;
+        private final double chunksPerSecond;
+        private final double tickCostMillis;
+
+        private Status(String worldName, long generated, long total, double chunksPerSecond, double tickCostMillis) {
             this.worldName = worldName;
+            this.generated = generated;
+            this.total = total;
+            this.chunksPerSecond = chunksPerSecond;
+            this.tickCostMillis = tickCostMillis;
         }
 
-        @Override
-        public void info(String format, Object... arguments) {
-            // Ugly, but hey...
-            if (sendLog()) {
-                wrappedLogger.info(format, arguments);
+        public String getWorldName() {
+            return worldName;
+        }
+
+        public long getGenerated() {
+            return generated;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public double getPercentage() {
+            return total == 0 ? 100 : generated * 100.0 / total;
+        }
+
+        public double getChunksPerSecond() {
+            return chunksPerSecond;
+        }
+
+        public double getTickCostMillis() {
+            return tickCostMillis;
+        }
+
+        public String getEtaString() {
+            if (chunksPerSecond <= 0) {
+                return "-";
             }
+
+            return Util.getTimeStringFromSeconds((long) ((total - generated) / chunksPerSecond));
         }
     }
 }
@@ -35,7 +35,8 @@ public class GenerateChunksCommand extends io.github.nucleuspowered.nucleus.inte
     @Override
     public CommandElement[] getArguments() {
         return new CommandElement[] {
-                GenericArguments.optional(GenericArguments.onlyOne(new NucleusWorldPropertiesArgument(Text.of(worldKey), NucleusWorldPropertiesArgument.Type.ENABLED_ONLY)))
+                GenericArguments.flags().flag("r", "-reset").buildWith(
+                        GenericArguments.optional(GenericArguments.onlyOne(new NucleusWorldPropertiesArgument(Text.of(worldKey), NucleusWorldPropertiesArgument.Type.ENABLED_ONLY))))
         };
     }
 
@@ -53,9 +54,15 @@ public class GenerateChunksCommand extends io.github.nucleuspowered.nucleus.inte
             return CommandResult.empty();
         }
 
-        // Create the task.
-        worldHelper.startPregenningForWorld(w.get());
-        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.world.gen.started", wp.getWorldName()));
+        // Create the task, carrying on from where the last one stopped unless asked not to.
+        worldHelper.startPregenningForWorld(w.get(), args.hasAny("r"));
+        WorldHelper.Status status = worldHelper.getStatus(wp.getUniqueId()).get();
+        if (status.getGenerated() > 0) {
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.world.gen.resumed", wp.getWorldName(),
+                    String.format("%.1f", status.getPercentage())));
+        } else {
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.world.gen.started", wp.getWorldName()));
+        }
 
         return CommandResult.success();
     }
@@ -0,0 +1,49 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.world.commands.border;
+
+import io.github.nucleuspowered.nucleus.internal.annotations.NoCooldown;
+import io.github.nucleuspowered.nucleus.internal.annotations.NoCost;
+import io.github.nucleuspowered.nucleus.internal.annotations.NoWarmup;
+import io.github.nucleuspowered.nucleus.internal.annotations.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.modules.world.WorldHelper;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+
+import java.util.Collection;
+
+import javax.inject.Inject;
+
+@NoCooldown
+@NoCost
+@NoWarmup
+@Permissions(prefix = "world.border", mainOverride = "gen")
+@RegisterCommand(value = "status", subcommandOf = GenerateChunksCommand.class)
+public class GenerateChunksStatusCommand extends AbstractCommand<CommandSource> {
+
+    @Inject
+    private WorldHelper worldHelper;
+
+    @Override
+    public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        Collection<WorldHelper.Status> statuses = worldHelper.getStatuses();
+        if (statuses.isEmpty()) {
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.world.gen.status.none"));
+            return CommandResult.empty();
+        }
+
+        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.world.gen.status.title"));
+        for (WorldHelper.Status status : statuses) {
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.world.gen.status.entry", status.getWorldName(),
+                    String.format("%.1f", status.getPercentage()), String.valueOf(status.getGenerated()), String.valueOf(status.getTotal()),
+                    String.format("%.1f", status.getChunksPerSecond()), status.getEtaString(), String.format("%.2f", status.getTickCostMillis())));
+        }
+
+        return CommandResult.success();
+    }
+}
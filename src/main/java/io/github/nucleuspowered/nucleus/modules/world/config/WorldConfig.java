@@ -0,0 +1,26 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.world.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class WorldConfig {
+
+    @Setting(value = "pregen-tick-budget-ms", comment = "loc:config.world.pregen.budget")
+    private int pregenTickBudget = 10;
+
+    @Setting(value = "pregen-minimum-tps", comment = "loc:config.world.pregen.tps")
+    private double pregenMinimumTps = 15;
+
+    public int getPregenTickBudget() {
+        return Math.max(1, pregenTickBudget);
+    }
+
+    public double getPregenMinimumTps() {
+        return Math.max(0, Math.min(19, pregenMinimumTps));
+    }
+}
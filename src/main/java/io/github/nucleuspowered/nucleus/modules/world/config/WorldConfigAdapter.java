@@ -0,0 +1,30 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.world.config;
+
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+public class WorldConfigAdapter extends NucleusConfigAdapter<WorldConfig> {
+
+    private final TypeToken<WorldConfig> tt = TypeToken.of(WorldConfig.class);
+
+    @Override
+    protected WorldConfig getDefaultObject() {
+        return new WorldConfig();
+    }
+
+    @Override
+    protected WorldConfig convertFromConfigurateNode(ConfigurationNode node) throws ObjectMappingException {
+        return node.getValue(tt, getDefaultObject());
+    }
+
+    @Override
+    protected ConfigurationNode insertIntoConfigurateNode(WorldConfig data) throws ObjectMappingException {
+        return getNewNode().setValue(tt, data);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.world.runnables;
+
+import com.google.inject.Inject;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.modules.world.WorldHelper;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates chunks for any running world border pre-generation, within the configured time budget for each tick.
+ */
+public class PregenTask extends TaskBase {
+
+    @Inject private WorldHelper worldHelper;
+
+    @Override
+    public void accept(Task task) {
+        worldHelper.tick();
+    }
+
+    @Override
+    public boolean isAsync() {
+        // Chunks can only be loaded on the main thread.
+        return false;
+    }
+
+    @Override
+    public TimePerRun interval() {
+        return new TimePerRun(50, TimeUnit.MILLISECONDS);
+    }
+}
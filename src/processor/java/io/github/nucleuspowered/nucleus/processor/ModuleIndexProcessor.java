@@ -0,0 +1,107 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of the commands, listeners and tasks in the modules when the plugin is compiled, so that modules do
+ * not have to search every class that was found on the classpath for their own when the server starts.
+ *
+ * <p>The index is a list of binary class names, one per line, in {@link #INDEX_FILE}. It is only complete when every
+ * source file is compiled together, which is what the Gradle build does.</p>
+ */
+@SupportedAnnotationTypes("*")
+public class ModuleIndexProcessor extends AbstractProcessor {
+
+    public static final String INDEX_FILE = "META-INF/nucleus/module-index";
+
+    private static final String MODULES_PACKAGE = "io.github.nucleuspowered.nucleus.modules.";
+    private static final String[] INDEXED_TYPES = {
+            "io.github.nucleuspowered.nucleus.internal.command.AbstractCommand",
+            "io.github.nucleuspowered.nucleus.internal.ListenerBase",
+            "io.github.nucleuspowered.nucleus.internal.TaskBase"
+    };
+
+    private final Set<String> classes = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            write();
+            return false;
+        }
+
+        Types types = processingEnv.getTypeUtils();
+        List<TypeMirror> indexed = Stream.of(INDEXED_TYPES).map(x -> processingEnv.getElementUtils().getTypeElement(x))
+                .filter(x -> x != null).map(x -> types.erasure(x.asType())).collect(Collectors.toList());
+        if (indexed.isEmpty()) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getRootElements()) {
+            if (!(element instanceof TypeElement)) {
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+            if (!name.startsWith(MODULES_PACKAGE)) {
+                continue;
+            }
+
+            TypeMirror erased = types.erasure(type.asType());
+            if (indexed.stream().anyMatch(x -> types.isSubtype(erased, x))) {
+                classes.add(name);
+            }
+        }
+
+        // Other processors do not need to know about this.
+        return false;
+    }
+
+    private void write() {
+        // Nothing to index, such as when compiling the tests. No file is better than an empty one, which would hide
+        // the real index.
+        if (classes.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String name : classes) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not write the module index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.modules.world.ChunkSpiral;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+
+public class ChunkSpiralTests {
+
+    @Test
+    public void testSpiralCoversTheSquareOnceInRingOrder() {
+        int radius = 20;
+        Set<Long> seen = Sets.newHashSet();
+        int lastRing = 0;
+        int[] last = ChunkSpiral.getOffset(0);
+        Assert.assertEquals(0, last[0]);
+        Assert.assertEquals(0, last[1]);
+        for (long i = 0; i < ChunkSpiral.getSize(radius); i++) {
+            int[] offset = ChunkSpiral.getOffset(i);
+            int ring = Math.max(Math.abs(offset[0]), Math.abs(offset[1]));
+            Assert.assertTrue(ring <= radius);
+            Assert.assertTrue(ring >= lastRing);
+            Assert.assertTrue(seen.add(((long) offset[0] << 32) | (offset[1] & 0xFFFFFFFFL)));
+
+            // Each step moves to a neighbouring chunk, except when moving out to the next ring.
+            if (i > 0 && ring == lastRing) {
+                Assert.assertEquals(1, Math.abs(offset[0] - last[0]) + Math.abs(offset[1] - last[1]));
+            }
+
+            lastRing = ring;
+            last = offset;
+        }
+
+        Assert.assertEquals(ChunkSpiral.getSize(radius), seen.size());
+    }
+
+    @Test
+    public void testIndexIsTheInverseOfOffset() {
+        for (long i = 0; i < ChunkSpiral.getSize(20); i++) {
+            int[] offset = ChunkSpiral.getOffset(i);
+            Assert.assertEquals(i, ChunkSpiral.getIndex(offset[0], offset[1]));
+        }
+    }
+
+    @Test
+    public void testLastNeighbourIndexIsVisitedAfterEveryNeighbour() {
+        int radius = 6;
+        for (long i = 0; i < ChunkSpiral.getSize(radius); i++) {
+            int[] offset = ChunkSpiral.getOffset(i);
+            long last = ChunkSpiral.getLastNeighbourIndex(offset[0], offset[1], radius);
+            Assert.assertTrue(last >= i);
+            Assert.assertTrue(last < ChunkSpiral.getSize(radius));
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    int nx = offset[0] + dx;
+                    int nz = offset[1] + dz;
+                    if (Math.abs(nx) <= radius && Math.abs(nz) <= radius) {
+                        Assert.assertTrue(ChunkSpiral.getIndex(nx, nz) <= last);
+                    }
+                }
+            }
+        }
+    }
+}
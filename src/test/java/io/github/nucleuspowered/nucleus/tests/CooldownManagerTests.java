@@ -0,0 +1,62 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownManager;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public class CooldownManagerTests {
+
+    @Test
+    public void testCooldownIsOnlyAppliedToTheSameCommand() {
+        CooldownManager manager = new CooldownManager(Mockito.mock(NucleusPlugin.class));
+        UUID uuid = UUID.randomUUID();
+
+        manager.setCooldown(uuid, "home", Duration.ofSeconds(30));
+        Assert.assertTrue(manager.getCooldown(uuid, "home").isPresent());
+        Assert.assertFalse(manager.getCooldown(uuid, "warp").isPresent());
+        Assert.assertFalse(manager.getCooldown(UUID.randomUUID(), "home").isPresent());
+    }
+
+    @Test
+    public void testRemovedCooldownIsNoLongerApplied() {
+        CooldownManager manager = new CooldownManager(Mockito.mock(NucleusPlugin.class));
+        UUID uuid = UUID.randomUUID();
+
+        manager.setCooldown(uuid, "home", Duration.ofSeconds(30));
+        Assert.assertTrue(manager.removeCooldown(uuid, "home"));
+        Assert.assertFalse(manager.getCooldown(uuid, "home").isPresent());
+        Assert.assertFalse(manager.removeCooldown(uuid, "home"));
+    }
+
+    @Test
+    public void testExpiredCooldownIsNotApplied() throws Exception {
+        CooldownManager manager = new CooldownManager(Mockito.mock(NucleusPlugin.class));
+        UUID uuid = UUID.randomUUID();
+
+        manager.setCooldown(uuid, "home", Duration.ofMillis(1));
+        manager.setCooldown(uuid, "warp", Duration.ofSeconds(30));
+        Thread.sleep(10);
+        Assert.assertFalse(manager.getCooldown(uuid, "home").isPresent());
+        Assert.assertTrue(manager.getCooldown(uuid, "warp").isPresent());
+    }
+
+    @Test
+    public void testReplacedCooldownIsNotExpiredEarly() throws Exception {
+        CooldownManager manager = new CooldownManager(Mockito.mock(NucleusPlugin.class));
+        UUID uuid = UUID.randomUUID();
+
+        manager.setCooldown(uuid, "home", Duration.ofMillis(1));
+        manager.setCooldown(uuid, "home", Duration.ofSeconds(30));
+        Thread.sleep(10);
+        Assert.assertTrue(manager.getCooldown(uuid, "home").isPresent());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.dataservices.DataSaveQueue;
+import io.github.nucleuspowered.nucleus.dataservices.Service;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class DataSaveQueueTests {
+
+    @Test
+    public void testDataCanChangeWhileItIsWritten() throws Exception {
+        TestProvider provider = new TestProvider();
+        TestService service = new TestService(provider);
+        DataSaveQueue queue = new DataSaveQueue(LoggerFactory.getLogger(DataSaveQueueTests.class), 16);
+
+        service.add("first");
+        queue.offer(service);
+        Assert.assertTrue(provider.writing.await(10, TimeUnit.SECONDS));
+
+        // Let the writer thread carry on, and change the data while it writes.
+        provider.release.countDown();
+        for (int i = 0; i < 10000; i++) {
+            service.add("later" + i);
+        }
+
+        queue.drain(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, queue.getWrittenCount());
+        Assert.assertEquals(0, queue.getFailedCount());
+        Assert.assertEquals(Lists.newArrayList("first"), provider.written);
+
+        // The changes made during the write are still waiting to be written.
+        Assert.assertTrue(service.isDirty());
+        Assert.assertTrue(service.save());
+        Assert.assertEquals(10001, provider.written.size());
+        Assert.assertFalse(service.isDirty());
+    }
+
+    @Test
+    public void testAnOlderSnapshotIsNotWrittenOverANewerOne() throws Exception {
+        TestProvider provider = new TestProvider();
+        provider.release.countDown();
+        TestService service = new TestService(provider);
+
+        service.add("first");
+        Service<List<String>>.PendingWrite older = service.snapshot();
+        service.add("second");
+        Assert.assertTrue(service.save());
+        Assert.assertTrue(older.write());
+
+        Assert.assertEquals(Lists.newArrayList("first", "second"), provider.written);
+    }
+
+    private static final class TestService extends Service<List<String>> {
+
+        private TestService(DataProvider<List<String>> dataProvider) throws Exception {
+            super(dataProvider);
+        }
+
+        private void add(String value) {
+            data.add(value);
+            markDirty();
+        }
+    }
+
+    private static final class TestProvider implements DataProvider<List<String>> {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile List<String> written = null;
+
+        @Override
+        public List<String> load() throws Exception {
+            return Lists.newArrayList();
+        }
+
+        @Override
+        public Snapshot snapshot(List<String> info) throws Exception {
+            List<String> copy = Lists.newArrayList(info);
+            return () -> {
+                writing.countDown();
+                release.await();
+
+                // Go through the list slowly, as serialising a large file would.
+                List<String> result = Lists.newArrayList();
+                for (String s : copy) {
+                    result.add(s);
+                    Thread.yield();
+                }
+
+                written = result;
+            };
+        }
+
+        @Override
+        public void delete() throws Exception {
+        }
+    }
+}
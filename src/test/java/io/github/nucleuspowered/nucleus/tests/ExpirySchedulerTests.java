@@ -0,0 +1,68 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryScheduler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public class ExpirySchedulerTests {
+
+    @Test
+    public void testOnlyDeadlinesThatHavePassedAreRun() {
+        ExpiryScheduler scheduler = new ExpiryScheduler();
+        List<UUID> expired = Lists.newArrayList();
+        scheduler.registerAction(ExpiryScheduler.Type.MUTE, expired::add);
+
+        UUID past = UUID.randomUUID();
+        UUID future = UUID.randomUUID();
+        scheduler.schedule(future, ExpiryScheduler.Type.MUTE, Instant.now().plusSeconds(60));
+        scheduler.schedule(past, ExpiryScheduler.Type.MUTE, Instant.now().minusSeconds(1));
+        scheduler.tick();
+        scheduler.tick();
+
+        Assert.assertEquals(Lists.newArrayList(past), expired);
+    }
+
+    @Test
+    public void testReplacedAndCancelledDeadlinesAreNotRun() {
+        ExpiryScheduler scheduler = new ExpiryScheduler();
+        List<UUID> expired = Lists.newArrayList();
+        scheduler.registerAction(ExpiryScheduler.Type.JAIL, expired::add);
+
+        UUID replaced = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        scheduler.schedule(replaced, ExpiryScheduler.Type.JAIL, Instant.now().minusSeconds(1));
+        scheduler.schedule(replaced, ExpiryScheduler.Type.JAIL, Instant.now().plusSeconds(60));
+        scheduler.schedule(cancelled, ExpiryScheduler.Type.JAIL, Instant.now().minusSeconds(1));
+        scheduler.cancel(cancelled, ExpiryScheduler.Type.JAIL);
+        scheduler.tick();
+
+        Assert.assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    public void testTypesAreKeptApart() {
+        ExpiryScheduler scheduler = new ExpiryScheduler();
+        List<UUID> jails = Lists.newArrayList();
+        List<UUID> mutes = Lists.newArrayList();
+        scheduler.registerAction(ExpiryScheduler.Type.JAIL, jails::add);
+        scheduler.registerAction(ExpiryScheduler.Type.MUTE, mutes::add);
+
+        UUID uuid = UUID.randomUUID();
+        scheduler.schedule(uuid, ExpiryScheduler.Type.JAIL, Instant.now().minusSeconds(1));
+        scheduler.schedule(uuid, ExpiryScheduler.Type.MUTE, Instant.now().minusSeconds(1));
+        scheduler.cancel(uuid, ExpiryScheduler.Type.MUTE);
+        scheduler.tick();
+
+        Assert.assertEquals(1, jails.size());
+        Assert.assertTrue(mutes.isEmpty());
+    }
+}
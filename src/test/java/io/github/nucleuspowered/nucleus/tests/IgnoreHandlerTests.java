@@ -0,0 +1,64 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class IgnoreHandlerTests {
+
+    @Test
+    public void testOnlyOnlinePlayersIgnoringTheSenderAreReturned() {
+        IgnoreHandler handler = new IgnoreHandler();
+        UUID sender = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        List<UUID> recipients = Lists.newArrayList();
+        for (int i = 0; i < 500; i++) {
+            UUID recipient = UUID.randomUUID();
+            recipients.add(recipient);
+            handler.load(recipient, i % 50 == 0 ? ImmutableList.of(sender) : ImmutableList.of(other));
+        }
+
+        Set<UUID> ignoredBy = handler.getIgnoredBy(sender);
+        Assert.assertEquals(10, ignoredBy.size());
+        Assert.assertEquals(490, handler.getIgnoredBy(other).size());
+        Assert.assertTrue(handler.getIgnoredBy(UUID.randomUUID()).isEmpty());
+        for (int i = 0; i < recipients.size(); i++) {
+            Assert.assertEquals(i % 50 == 0, ignoredBy.contains(recipients.get(i)));
+        }
+
+        handler.unload(recipients.get(0));
+        Assert.assertEquals(9, handler.getIgnoredBy(sender).size());
+        Assert.assertFalse(handler.isLoaded(recipients.get(0)));
+    }
+
+    @Test
+    public void testIgnoringAndUnignoringUpdatesTheIndex() {
+        IgnoreHandler handler = new IgnoreHandler();
+        UUID player = UUID.randomUUID();
+        UUID target = UUID.randomUUID();
+
+        // Not online, so not tracked.
+        handler.add(player, target);
+        Assert.assertFalse(handler.isIgnoring(player, target));
+
+        handler.load(player, ImmutableList.of());
+        Assert.assertTrue(handler.isLoaded(player));
+        handler.add(player, target);
+        Assert.assertTrue(handler.isIgnoring(player, target));
+
+        handler.remove(player, target);
+        Assert.assertFalse(handler.isIgnoring(player, target));
+        Assert.assertTrue(handler.getIgnoredBy(target).isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.api.data.mail.MailData;
+import io.github.nucleuspowered.nucleus.modules.mail.handlers.MailStore;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class MailStoreTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final UUID recipient = UUID.randomUUID();
+    private final UUID senderOne = UUID.randomUUID();
+    private final UUID senderTwo = UUID.randomUUID();
+
+    @Test
+    public void testMailIsReturnedInPagesOldestFirst() throws Exception {
+        MailStore store = new MailStore(folder.getRoot().toPath(), new TestSource());
+        for (int i = 0; i < 10; i++) {
+            store.add(recipient, new MailData(senderOne, Instant.ofEpochMilli(1000 + i), "mail " + i));
+        }
+
+        Assert.assertEquals(10, store.count(recipient, MailStore.Query.ALL));
+        Assert.assertEquals(ImmutableList.of("mail 3", "mail 4", "mail 5"), messages(store.query(recipient, MailStore.Query.ALL, 3, 3)));
+        Assert.assertEquals(ImmutableList.of("mail 9"), messages(store.query(recipient, MailStore.Query.ALL, 9, 3)));
+        Assert.assertTrue(store.query(recipient, MailStore.Query.ALL, 10, 3).isEmpty());
+    }
+
+    @Test
+    public void testFiltersAreApplied() throws Exception {
+        MailStore store = new MailStore(folder.getRoot().toPath(), new TestSource());
+        store.add(recipient, new MailData(senderOne, Instant.ofEpochMilli(1000), "Hello there"));
+        store.add(recipient, new MailData(senderTwo, Instant.ofEpochMilli(2000), "HELLO again"));
+        store.add(recipient, new MailData(senderOne, Instant.ofEpochMilli(3000), "Goodbye"));
+        store.add(recipient, new MailData(senderTwo, Instant.ofEpochMilli(4000), "hello, goodbye"));
+
+        Assert.assertEquals(ImmutableList.of("Hello there", "Goodbye"),
+                messages(store.query(recipient, query(ImmutableList.of(senderOne), null, null), 0, 10)));
+        Assert.assertEquals(ImmutableList.of("Hello there", "HELLO again", "hello, goodbye"),
+                messages(store.query(recipient, query(ImmutableList.of(), null, null, "hello"), 0, 10)));
+        Assert.assertEquals(ImmutableList.of("HELLO again", "Goodbye"),
+                messages(store.query(recipient, query(ImmutableList.of(senderOne, senderTwo), Instant.ofEpochMilli(1000), Instant.ofEpochMilli(4000)), 0, 10)));
+        Assert.assertEquals(ImmutableList.of("hello, goodbye"),
+                messages(store.query(recipient, query(ImmutableList.of(senderTwo), null, null, "HELLO", "bye"), 0, 10)));
+        Assert.assertEquals(1, store.count(recipient, query(ImmutableList.of(senderTwo), null, null, "bye")));
+    }
+
+    @Test
+    public void testMailSurvivesReloading() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        MailStore store = new MailStore(directory, new TestSource());
+        MailData first = new MailData(senderOne, Instant.ofEpochMilli(1000), "first");
+        MailData second = new MailData(senderTwo, Instant.ofEpochMilli(2000), "second");
+        store.add(recipient, first);
+        store.add(recipient, second);
+        Assert.assertTrue(store.remove(recipient, new MailData(senderOne, Instant.ofEpochMilli(1000), "first")));
+        Assert.assertFalse(store.remove(recipient, first));
+
+        // Nothing has been read yet, so the mail is only appended.
+        UUID other = UUID.randomUUID();
+        store.add(other, first);
+
+        MailStore reloaded = new MailStore(directory, new TestSource());
+        Assert.assertEquals(ImmutableList.of("second"), messages(reloaded.query(recipient, MailStore.Query.ALL, 0, 10)));
+        Assert.assertEquals(ImmutableList.of("first"), messages(reloaded.query(other, MailStore.Query.ALL, 0, 10)));
+
+        Assert.assertTrue(reloaded.clear(recipient));
+        Assert.assertFalse(reloaded.clear(recipient));
+        Assert.assertEquals(0, new MailStore(directory, new TestSource()).count(recipient, MailStore.Query.ALL));
+    }
+
+    @Test
+    public void testMailAfterAPartialWriteIsKept() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        MailStore store = new MailStore(directory, new TestSource());
+        store.add(recipient, new MailData(senderOne, Instant.ofEpochMilli(1000), "before"));
+
+        // Half of a mail record, as if the server stopped part way through writing it.
+        Path file = directory.resolve(recipient.toString() + ".mail");
+        byte[] full = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(full, full.length / 2), StandardOpenOption.APPEND);
+
+        MailStore reloaded = new MailStore(directory, new TestSource());
+        reloaded.add(recipient, new MailData(senderTwo, Instant.ofEpochMilli(2000), "after"));
+        Assert.assertEquals(ImmutableList.of("before", "after"), messages(reloaded.query(recipient, MailStore.Query.ALL, 0, 10)));
+        Assert.assertEquals(ImmutableList.of("before", "after"),
+                messages(new MailStore(directory, new TestSource()).query(recipient, MailStore.Query.ALL, 0, 10)));
+    }
+
+    @Test
+    public void testLegacyMailIsImportedOnce() throws Exception {
+        TestSource source = new TestSource();
+        source.mail.add(new MailData(senderOne, Instant.ofEpochMilli(1000), "old"));
+        MailStore store = new MailStore(folder.getRoot().toPath(), source);
+
+        store.add(recipient, new MailData(senderTwo, Instant.ofEpochMilli(2000), "new"));
+        Assert.assertTrue(source.mail.isEmpty());
+
+        source.mail.add(new MailData(senderOne, Instant.ofEpochMilli(3000), "ignored"));
+        Assert.assertEquals(ImmutableList.of("old", "new"),
+                messages(new MailStore(folder.getRoot().toPath(), source).query(recipient, MailStore.Query.ALL, 0, 10)));
+    }
+
+    private static MailStore.Query query(Collection<UUID> senders, Instant after, Instant before, String... terms) {
+        return new MailStore.Query(senders, after, before, ImmutableList.copyOf(terms));
+    }
+
+    private static List<String> messages(List<MailData> mail) {
+        return mail.stream().map(MailData::getMessage).collect(Collectors.toList());
+    }
+
+    private static class TestSource implements MailStore.LegacyMailSource {
+
+        private final List<MailData> mail = Lists.newArrayList();
+
+        @Override
+        public Collection<MailData> getMail(UUID uuid) {
+            return ImmutableList.copyOf(mail);
+        }
+
+        @Override
+        public void clearMail(UUID uuid) {
+            mail.clear();
+        }
+    }
+}
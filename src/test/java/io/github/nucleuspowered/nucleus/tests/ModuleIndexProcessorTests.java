@@ -0,0 +1,69 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.ImmutableList;
+import io.github.nucleuspowered.nucleus.processor.ModuleIndexProcessor;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+public class ModuleIndexProcessorTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCommandsListenersAndTasksInModulesAreIndexed() throws Exception {
+        Path source = folder.newFolder("src").toPath();
+        Path output = folder.newFolder("out").toPath();
+        write(source, "io.github.nucleuspowered.nucleus.internal.command.AbstractCommand",
+                "public abstract class AbstractCommand<T> {}");
+        write(source, "io.github.nucleuspowered.nucleus.internal.ListenerBase", "public abstract class ListenerBase {}");
+        write(source, "io.github.nucleuspowered.nucleus.internal.TaskBase", "public abstract class TaskBase {}");
+        write(source, "io.github.nucleuspowered.nucleus.modules.test.commands.TestCommand",
+                "public class TestCommand extends io.github.nucleuspowered.nucleus.internal.command.AbstractCommand<String> {}");
+        write(source, "io.github.nucleuspowered.nucleus.modules.test.listeners.TestListener",
+                "public class TestListener extends io.github.nucleuspowered.nucleus.internal.ListenerBase {}");
+        write(source, "io.github.nucleuspowered.nucleus.modules.test.runnables.TestTask",
+                "public class TestTask extends io.github.nucleuspowered.nucleus.internal.TaskBase {}");
+        write(source, "io.github.nucleuspowered.nucleus.modules.test.TestHelper", "public class TestHelper {}");
+        write(source, "io.github.nucleuspowered.nucleus.other.OtherListener",
+                "public class OtherListener extends io.github.nucleuspowered.nucleus.internal.ListenerBase {}");
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<File> files = ImmutableList.copyOf(Files.walk(source).filter(x -> x.toString().endsWith(".java")).map(Path::toFile).iterator());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, ImmutableList.of("-d", output.toString()), null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(ImmutableList.of(new ModuleIndexProcessor()));
+            Assert.assertTrue(task.call());
+        }
+
+        Assert.assertEquals(ImmutableList.of(
+                "io.github.nucleuspowered.nucleus.modules.test.commands.TestCommand",
+                "io.github.nucleuspowered.nucleus.modules.test.listeners.TestListener",
+                "io.github.nucleuspowered.nucleus.modules.test.runnables.TestTask"),
+                Files.readAllLines(output.resolve(ModuleIndexProcessor.INDEX_FILE), StandardCharsets.UTF_8));
+    }
+
+    private static void write(Path root, String className, String body) throws Exception {
+        int dot = className.lastIndexOf('.');
+        Path file = root.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.write(file, ("package " + className.substring(0, dot) + ";\n" + body + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
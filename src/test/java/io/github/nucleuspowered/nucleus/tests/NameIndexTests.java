@@ -0,0 +1,77 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class NameIndexTests {
+
+    @Test
+    public void testPrefixLookupsIgnoreCaseAndAreSorted() {
+        NameIndex index = new NameIndex();
+        index.setName(UUID.randomUUID(), "testtest");
+        index.setName(UUID.randomUUID(), "Test");
+        index.setName(UUID.randomUUID(), "other");
+
+        Assert.assertEquals("Test,testtest", names(index.getNames("TES", 10)));
+        Assert.assertEquals("Test", names(index.getNamesExactly("test")));
+        Assert.assertEquals("Test", names(index.getNames("tes", 1)));
+        Assert.assertTrue(index.getNames("x", 10).isEmpty());
+    }
+
+    @Test
+    public void testChangingANameReplacesTheOldOne() {
+        NameIndex index = new NameIndex();
+        UUID uuid = UUID.randomUUID();
+        index.setName(uuid, "old");
+        index.setName(uuid, "new");
+
+        Assert.assertTrue(index.getNames("old", 10).isEmpty());
+        Assert.assertEquals("new", names(index.getNames("n", 10)));
+        Assert.assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testNamesFromStorageDoNotReplaceNamesFromLogins() {
+        NameIndex index = new NameIndex();
+        UUID uuid = UUID.randomUUID();
+        index.setName(uuid, "new");
+        index.addNameIfAbsent(uuid, "old");
+
+        Assert.assertEquals("new", names(index.getNames("", 10)));
+    }
+
+    @Test
+    public void testNicknamesCanBeRemoved() {
+        NameIndex index = new NameIndex();
+        UUID uuid = UUID.randomUUID();
+        index.setNickname(uuid, "Nick");
+        Assert.assertEquals("Nick", names(index.getNicknamesExactly("nick")));
+
+        index.setNickname(uuid, null);
+        Assert.assertTrue(index.getNicknames("n", 10).isEmpty());
+    }
+
+    @Test
+    public void testUsersWithTheSameNameAreAllFound() {
+        NameIndex index = new NameIndex();
+        index.setName(UUID.randomUUID(), "same");
+        index.setName(UUID.randomUUID(), "Same");
+        index.setName(UUID.randomUUID(), "samey");
+
+        Assert.assertEquals(2, index.getNamesExactly("SAME").size());
+        Assert.assertEquals(3, index.getNames("same", 10).size());
+    }
+
+    private static String names(List<NameIndex.Entry> entries) {
+        return entries.stream().map(NameIndex.Entry::getName).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.services.PlayerSpatialIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PlayerSpatialIndexTests {
+
+    private final UUID world = UUID.randomUUID();
+    private final UUID otherWorld = UUID.randomUUID();
+
+    @Test
+    public void testPlayersAreListedByWorld() {
+        PlayerSpatialIndex index = new PlayerSpatialIndex();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.update(first, world, 0, 0);
+        index.update(second, otherWorld, 0, 0);
+
+        Assert.assertEquals(1, index.getPlayersInWorld(world).size());
+        Assert.assertTrue(index.getPlayersInWorld(world).contains(first));
+
+        index.update(second, world, 500, -500);
+        Assert.assertEquals(2, index.getPlayersInWorld(world).size());
+        Assert.assertTrue(index.getPlayersInWorld(otherWorld).isEmpty());
+
+        index.remove(first);
+        index.remove(second);
+        Assert.assertTrue(index.getPlayersInWorld(world).isEmpty());
+        Assert.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testPlayersNearAPointIncludeThoseInRange() {
+        PlayerSpatialIndex index = new PlayerSpatialIndex();
+        UUID near = UUID.randomUUID();
+        UUID far = UUID.randomUUID();
+        index.update(near, world, -20, 10);
+        index.update(far, world, 1000, 1000);
+
+        Assert.assertTrue(index.getPlayersNear(world, 0, 0, 32).contains(near));
+        Assert.assertFalse(index.getPlayersNear(world, 0, 0, 32).contains(far));
+        Assert.assertFalse(index.getPlayersNear(otherWorld, 0, 0, 32).contains(near));
+    }
+
+    @Test
+    public void testNearestPlayerMatchesAFullSearch() {
+        PlayerSpatialIndex index = new PlayerSpatialIndex();
+        Map<UUID, double[]> positions = new ConcurrentHashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            UUID uuid = UUID.randomUUID();
+            double[] position = { random.nextGaussian() * 300, random.nextGaussian() * 300 };
+            positions.put(uuid, position);
+            index.update(uuid, world, position[0], position[1]);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            double x = random.nextGaussian() * 500;
+            double z = random.nextGaussian() * 500;
+            UUID expected = null;
+            double best = Double.MAX_VALUE;
+            for (Map.Entry<UUID, double[]> entry : positions.entrySet()) {
+                double d = distanceSquared(entry.getValue(), x, z);
+                if (d < best) {
+                    best = d;
+                    expected = entry.getKey();
+                }
+            }
+
+            Optional<UUID> nearest = index.getNearestPlayer(world, x, z, u -> true, u -> distanceSquared(positions.get(u), x, z));
+            Assert.assertEquals(expected, nearest.orElse(null));
+        }
+    }
+
+    @Test
+    public void testNearestPlayerSkipsFilteredPlayers() {
+        PlayerSpatialIndex index = new PlayerSpatialIndex();
+        UUID self = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        index.update(self, world, 0, 0);
+        index.update(other, world, 100, 100);
+
+        Assert.assertEquals(other, index.getNearestPlayer(world, 0, 0, u -> !u.equals(self), u -> u.equals(self) ? 0 : 20000).orElse(null));
+        Assert.assertFalse(index.getNearestPlayer(world, 0, 0, u -> false, u -> 0).isPresent());
+        Assert.assertFalse(index.getNearestPlayer(otherWorld, 0, 0, u -> true, u -> 0).isPresent());
+    }
+
+    private static double distanceSquared(double[] position, double x, double z) {
+        double dx = position[0] - x;
+        double dz = position[1] - z;
+        return dx * dx + dz * dz;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.modules.kit.handlers.PreparedKit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.item.inventory.Inventory;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.item.inventory.ItemStackSnapshot;
+import org.spongepowered.api.item.inventory.transaction.InventoryTransactionResult;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class PreparedKitTests {
+
+    @Test
+    public void testStacksLargerThanTheMaximumNeedMoreThanOneSlot() {
+        PreparedKit kit = new PreparedKit(Lists.newArrayList(snapshot(128, 64), snapshot(1, 1), snapshot(10, 64)));
+        Assert.assertEquals(4, kit.getSlotsRequired());
+        Assert.assertTrue(kit.fitsInto(4));
+        Assert.assertFalse(kit.fitsInto(3));
+    }
+
+    @Test
+    public void testStacksLargerThanTheMaximumAreSplit() {
+        ItemStackSnapshot snapshot = snapshot(130, 64);
+        List<ItemStack> created = Lists.newArrayList();
+        Mockito.when(snapshot.createStack()).then(x -> {
+            ItemStack stack = Mockito.mock(ItemStack.class);
+            created.add(stack);
+            return stack;
+        });
+
+        List<ItemStack> stacks = new PreparedKit(Lists.newArrayList(snapshot)).createStacks();
+        Assert.assertEquals(3, stacks.size());
+        Assert.assertEquals(created, stacks);
+        Mockito.verify(stacks.get(0)).setQuantity(64);
+        Mockito.verify(stacks.get(1)).setQuantity(64);
+        Mockito.verify(stacks.get(2)).setQuantity(2);
+    }
+
+    @Test
+    public void testKitThatFitsIntoEmptySlotsIsGivenWithoutChangingTheInventory() {
+        Inventory target = inventory(36, 30);
+        Inventory slot = slot(null);
+        Mockito.when(target.<Inventory>slots()).thenReturn(Lists.newArrayList(slot));
+        offerResults(target, true);
+
+        Assert.assertTrue(new PreparedKit(Lists.newArrayList(snapshot(1, 64))).giveTo(target));
+        Mockito.verify(slot, Mockito.never()).set(Mockito.any());
+        Mockito.verify(slot, Mockito.never()).clear();
+    }
+
+    @Test
+    public void testInventoryIsPutBackWhenTheKitIsRejectedDespiteFittingIntoEmptySlots() {
+        Inventory target = inventory(36, 1);
+        ItemStack original = Mockito.mock(ItemStack.class);
+        Inventory full = slot(original);
+        Inventory empty = slot(null);
+        Mockito.when(target.<Inventory>slots()).thenReturn(Lists.newArrayList(full, empty));
+        offerResults(target, true, false);
+
+        PreparedKit kit = new PreparedKit(Lists.newArrayList(snapshot(10, 64), snapshot(10, 64)));
+        Assert.assertTrue(kit.fitsInto(35));
+        Assert.assertFalse(kit.giveTo(target));
+        Mockito.verify(full).set(original);
+        Mockito.verify(empty).clear();
+    }
+
+    @Test
+    public void testKitThatMergesIntoPartialStacksIsGivenToAFullInventory() {
+        Inventory target = inventory(2, 2);
+        Inventory slot = slot(Mockito.mock(ItemStack.class));
+        Mockito.when(target.<Inventory>slots()).thenReturn(Lists.newArrayList(slot, slot));
+        offerResults(target, true);
+
+        Assert.assertTrue(new PreparedKit(Lists.newArrayList(snapshot(32, 64))).giveTo(target));
+        Mockito.verify(slot, Mockito.never()).set(Mockito.any());
+        Mockito.verify(slot, Mockito.never()).clear();
+    }
+
+    @Test
+    public void testInventoryIsPutBackWhenTheKitDoesNotFit() {
+        Inventory target = inventory(2, 1);
+        ItemStack original = Mockito.mock(ItemStack.class);
+        Inventory full = slot(original);
+        Inventory empty = slot(null);
+        Mockito.when(target.<Inventory>slots()).thenReturn(Lists.newArrayList(full, empty));
+        offerResults(target, true, false);
+
+        Assert.assertFalse(new PreparedKit(Lists.newArrayList(snapshot(10, 64), snapshot(10, 64))).giveTo(target));
+        Mockito.verify(full).set(original);
+        Mockito.verify(empty).clear();
+    }
+
+    private static ItemStackSnapshot snapshot(int count, int max) {
+        ItemType type = Mockito.mock(ItemType.class);
+        Mockito.when(type.getMaxStackQuantity()).thenReturn(max);
+        ItemStackSnapshot snapshot = Mockito.mock(ItemStackSnapshot.class);
+        Mockito.when(snapshot.getType()).thenReturn(type);
+        Mockito.when(snapshot.getCount()).thenReturn(count);
+        Mockito.when(snapshot.createStack()).thenReturn(Mockito.mock(ItemStack.class));
+        return snapshot;
+    }
+
+    private static Inventory inventory(int capacity, int size) {
+        Inventory inventory = Mockito.mock(Inventory.class);
+        Mockito.when(inventory.capacity()).thenReturn(capacity);
+        Mockito.when(inventory.size()).thenReturn(size);
+        return inventory;
+    }
+
+    private static Inventory slot(ItemStack stack) {
+        Inventory slot = Mockito.mock(Inventory.class);
+        Mockito.when(slot.peek()).thenReturn(Optional.ofNullable(stack));
+        return slot;
+    }
+
+    private static void offerResults(Inventory target, boolean first, Boolean... rest) {
+        // The results are mocked before the offer is stubbed, as Mockito does not allow stubbing to be nested.
+        InventoryTransactionResult firstResult = result(first);
+        InventoryTransactionResult[] restResults = Lists.newArrayList(rest).stream().map(PreparedKitTests::result)
+                .toArray(InventoryTransactionResult[]::new);
+        Mockito.when(target.offer(Mockito.any())).thenReturn(firstResult, restResults);
+    }
+
+    private static InventoryTransactionResult result(boolean accepted) {
+        InventoryTransactionResult result = Mockito.mock(InventoryTransactionResult.class);
+        Mockito.when(result.getRejectedItems()).thenReturn(accepted ? Collections.<ItemStackSnapshot>emptyList()
+                : Lists.newArrayList(Mockito.mock(ItemStackSnapshot.class)));
+        return result;
+    }
+}
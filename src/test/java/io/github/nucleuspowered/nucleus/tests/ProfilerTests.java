@@ -0,0 +1,52 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProfilerTests {
+
+    @Test
+    public void testOnlySomeCallsAreTimedWhenDisabled() {
+        Profiler profiler = new Profiler();
+        Profiler.Timer timer = profiler.getTimer(Profiler.Category.TASK, "test");
+        for (int i = 0; i < Profiler.SAMPLE_RATE * 10; i++) {
+            timer.stop(timer.start());
+        }
+
+        Assert.assertEquals(Profiler.SAMPLE_RATE * 10, timer.getCalls());
+        Assert.assertEquals(10, timer.getTimedCalls());
+
+        profiler.setEnabled(true);
+        Assert.assertEquals(0, timer.getCalls());
+        for (int i = 0; i < 10; i++) {
+            timer.stop(timer.start());
+        }
+
+        Assert.assertEquals(10, timer.getTimedCalls());
+        Assert.assertTrue(timer == profiler.getTimer(Profiler.Category.TASK, "test"));
+    }
+
+    @Test
+    public void testPercentilesAreWithinABucket() {
+        Profiler profiler = new Profiler();
+        profiler.setEnabled(true);
+        Profiler.Timer timer = profiler.getTimer(Profiler.Category.COMMAND, "test");
+
+        // stop() measures from the value it is given, so pretend each call started the given time ago.
+        for (int i = 1; i <= 1000; i++) {
+            timer.stop(System.nanoTime() - i * 1000L);
+        }
+
+        double p50 = timer.getPercentileNanos(0.5);
+        double p99 = timer.getPercentileNanos(0.99);
+        Assert.assertTrue(String.valueOf(p50), p50 >= 500_000 && p50 <= 500_000 * 1.25 + 1000);
+        Assert.assertTrue(String.valueOf(p99), p99 >= 990_000 && p99 <= timer.getMaxNanos());
+        Assert.assertEquals(1, profiler.getTimers(Profiler.Category.COMMAND).size());
+        Assert.assertTrue(profiler.getTimers(Profiler.Category.LISTENER).isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.SingleFileStore;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+public class SingleFileStoreTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLatestRecordIsReturnedAfterReopening() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("store.db");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            store.put(first, bytes("one"));
+            store.put(second, bytes("two"));
+            store.put(first, bytes("three"));
+            Assert.assertEquals("three", string(store.get(first).get()));
+        }
+
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            Assert.assertEquals("three", string(store.get(first).get()));
+            Assert.assertEquals("two", string(store.get(second).get()));
+            Assert.assertEquals(2, store.keys().size());
+        }
+    }
+
+    @Test
+    public void testDeletedRecordsStayDeletedAfterReopening() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("store.db");
+        UUID uuid = UUID.randomUUID();
+
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            store.put(uuid, bytes("data"));
+            Assert.assertTrue(store.delete(uuid));
+            Assert.assertFalse(store.get(uuid).isPresent());
+            Assert.assertFalse(store.delete(uuid));
+        }
+
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            Assert.assertFalse(store.contains(uuid));
+        }
+    }
+
+    @Test
+    public void testPartialRecordAtEndIsDiscarded() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("store.db");
+        UUID uuid = UUID.randomUUID();
+
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            store.put(uuid, bytes("data"));
+        }
+
+        long size = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+        }
+
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            Assert.assertEquals("data", string(store.get(uuid).get()));
+            store.put(UUID.randomUUID(), bytes("more"));
+        }
+
+        Assert.assertTrue(Files.size(file) > size);
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            Assert.assertEquals(2, store.keys().size());
+        }
+    }
+
+    @Test
+    public void testStoreIsCompactedWhenMostlyUnused() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("store.db");
+        UUID uuid = UUID.randomUUID();
+        byte[] payload = new byte[64 * 1024];
+
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            for (int i = 0; i < 64; i++) {
+                store.put(uuid, payload);
+            }
+        }
+
+        Assert.assertTrue(Files.size(file) > 64 * payload.length);
+        try (SingleFileStore store = new SingleFileStore(file)) {
+            Assert.assertEquals(payload.length, store.get(uuid).get().length);
+        }
+
+        Assert.assertTrue(Files.size(file) < 2 * payload.length);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] b) {
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -16,6 +16,8 @@ import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
+import io.github.nucleuspowered.nucleus.internal.profiling.Profiler;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import org.junit.BeforeClass;
 import org.slf4j.Logger;
@@ -106,6 +108,8 @@ public abstract class TestBase {
 
         private MessageProvider mp = new ResourceMessageProvider(ResourceMessageProvider.messagesBundle);
         private PermissionRegistry permissionRegistry = new PermissionRegistry();
+        private Profiler profiler = new Profiler();
+        private NameIndex nameIndex = new NameIndex();
 
         @Override
         public void saveData() {
@@ -152,6 +156,16 @@ public abstract class TestBase {
             return permissionRegistry;
         }
 
+        @Override
+        public Profiler getProfiler() {
+            return profiler;
+        }
+
+        @Override
+        public NameIndex getNameIndex() {
+            return nameIndex;
+        }
+
         @Override
         public DiscoveryModuleContainer getModuleContainer() {
             return null;
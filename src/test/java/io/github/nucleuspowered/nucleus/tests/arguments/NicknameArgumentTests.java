@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.tests.arguments;
 
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.argumentparsers.NicknameArgument;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndex;
 import io.github.nucleuspowered.nucleus.tests.TestBase;
 import org.junit.Assert;
 import org.junit.Test;
@@ -19,6 +20,7 @@ import org.spongepowered.api.service.user.UserStorageService;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public class NicknameArgumentTests extends TestBase {
 
@@ -53,8 +55,13 @@ public class NicknameArgumentTests extends TestBase {
         // Setup the mock UserStorageService
         UserStorageService mockUss = getMockUserStorageService();
 
+        // The index that is built from the UserStorageService at startup.
+        NameIndex nameIndex = new NameIndex();
+        mockUss.getAll().forEach(x -> nameIndex.addNameIfAbsent(x.getUniqueId(), x.getName().get()));
+        nameIndex.setReady();
+
         // We're testing the UserParser
-        return new NicknameArgument.UserParser(false, () -> mockUss);
+        return new NicknameArgument.UserParser(false, () -> mockUss, nameIndex);
     }
 
     private UserStorageService getMockUserStorageService() {
@@ -62,6 +69,8 @@ public class NicknameArgumentTests extends TestBase {
         GameProfile gp2 = Mockito.mock(GameProfile.class);
         Mockito.when(gp1.getName()).thenReturn(Optional.of("test"));
         Mockito.when(gp2.getName()).thenReturn(Optional.of("testtest"));
+        Mockito.when(gp1.getUniqueId()).thenReturn(UUID.randomUUID());
+        Mockito.when(gp2.getUniqueId()).thenReturn(UUID.randomUUID());
 
         UserStorageService mockUss = Mockito.mock(UserStorageService.class);
         Mockito.when(mockUss.getAll()).thenReturn(Lists.newArrayList(gp1, gp2));
@@ -73,6 +82,8 @@ public class NicknameArgumentTests extends TestBase {
 
         Mockito.when(mockUss.get(gp1)).thenReturn(Optional.of(u1));
         Mockito.when(mockUss.get(gp2)).thenReturn(Optional.of(u2));
+        Mockito.when(mockUss.get(gp1.getUniqueId())).thenReturn(Optional.of(u1));
+        Mockito.when(mockUss.get(gp2.getUniqueId())).thenReturn(Optional.of(u2));
         return mockUss;
     }
 